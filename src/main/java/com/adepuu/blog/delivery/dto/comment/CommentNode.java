@@ -0,0 +1,18 @@
+package com.adepuu.blog.delivery.dto.comment;
+
+import com.adepuu.blog.domain.entity.Comment;
+
+import java.util.List;
+
+/**
+ * A comment with the first replies of its branch
+ */
+public record CommentNode(
+        Comment comment,
+        List<CommentNode> replies,
+        int repliesCount,
+        boolean hasMoreReplies,
+        String repliesCursor, // Pass as `after` to commentReplies for this comment; null to start from the first reply
+        boolean deleted // Tombstone of a deleted comment kept for its live replies; content is blank
+) {
+}
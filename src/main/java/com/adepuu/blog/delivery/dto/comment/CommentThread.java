@@ -0,0 +1,11 @@
+package com.adepuu.blog.delivery.dto.comment;
+
+import java.util.List;
+
+public record CommentThread(
+        List<CommentNode> nodes,
+        int totalCount, // Comments at this level: top-level comments of the post, or replies of the parent
+        boolean hasNextPage,
+        String endCursor // Pass as `after` to load the next comments at this level
+) {
+}
@@ -0,0 +1,16 @@
+package com.adepuu.blog.delivery.dto.feed;
+
+public enum FeedFormat {
+    RSS("application/rss+xml"),
+    ATOM("application/atom+xml");
+
+    private final String contentType;
+
+    FeedFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
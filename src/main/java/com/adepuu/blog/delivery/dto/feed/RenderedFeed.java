@@ -0,0 +1,18 @@
+package com.adepuu.blog.delivery.dto.feed;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * A serialized feed with its validators; {@code lastModified} is -1 for a feed without entries
+ */
+public record RenderedFeed(
+        FeedFormat format,
+        byte[] body,
+        String etag,
+        long lastModified
+) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
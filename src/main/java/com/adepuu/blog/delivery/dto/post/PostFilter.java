@@ -0,0 +1,13 @@
+package com.adepuu.blog.delivery.dto.post;
+
+import com.adepuu.blog.domain.entity.Post;
+
+import java.util.List;
+
+public record PostFilter(
+        Post.PostStatus status,
+        String authorId,
+        List<String> tagSlugs,
+        String search // Full-text query over title, excerpt and body
+) {
+}
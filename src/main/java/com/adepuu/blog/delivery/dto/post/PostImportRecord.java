@@ -0,0 +1,21 @@
+package com.adepuu.blog.delivery.dto.post;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * One line of an NDJSON post import
+ */
+public record PostImportRecord(
+        String authorId,
+        String title,
+        String content, // Markdown
+        String excerpt,
+        String coverImageUrl,
+        String canonicalUrl,
+        List<String> tags, // Tag names; missing tags are created
+        String status, // DRAFT (default), PUBLISHED or ARCHIVED
+        OffsetDateTime publishedAt, // Defaults to the import time for published posts
+        OffsetDateTime createdAt
+) {
+}
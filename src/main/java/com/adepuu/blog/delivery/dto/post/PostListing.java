@@ -0,0 +1,13 @@
+package com.adepuu.blog.delivery.dto.post;
+
+import com.adepuu.blog.domain.entity.Post;
+
+import java.util.List;
+
+public record PostListing(
+        List<Post> posts,
+        Integer totalCount, // Null unless requested
+        boolean hasNextPage,
+        String endCursor // Pass as `after` to continue by keyset instead of page number
+) {
+}
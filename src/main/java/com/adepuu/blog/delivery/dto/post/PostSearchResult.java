@@ -0,0 +1,28 @@
+package com.adepuu.blog.delivery.dto.post;
+
+import com.adepuu.blog.domain.entity.Post;
+
+import java.util.List;
+
+/**
+ * One page of ranked search hits. totalCount and facets cover all matches; facets are only computed for
+ * the first page (no cursor), later pages return none.
+ */
+public record PostSearchResult(
+        List<Edge> edges,
+        List<TagFacet> facets,
+        int totalCount,
+        boolean hasNextPage,
+        String endCursor
+) {
+
+    public static PostSearchResult empty() {
+        return new PostSearchResult(List.of(), List.of(), 0, false, null);
+    }
+
+    public record Edge(Post node, String cursor, float rank, String snippet) {
+    }
+
+    public record TagFacet(String slug, String name, int count) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.adepuu.blog.delivery.dto.post;
+
+import java.util.UUID;
+
+/**
+ * Current counters of a post: active comments and reactions to the post itself
+ */
+public record PostStats(
+        UUID postId,
+        int reactionsCount,
+        int commentsCount
+) {
+}
@@ -0,0 +1,12 @@
+package com.adepuu.blog.delivery.dto.suggest;
+
+import java.util.UUID;
+
+public record TagSuggestion(
+        UUID id,
+        String name,
+        String slug,
+        String color,
+        int postsCount
+) {
+}
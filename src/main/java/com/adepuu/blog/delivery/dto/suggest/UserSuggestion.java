@@ -0,0 +1,11 @@
+package com.adepuu.blog.delivery.dto.suggest;
+
+import java.util.UUID;
+
+public record UserSuggestion(
+        UUID id,
+        String username,
+        String displayName,
+        String profileImageUrl
+) {
+}
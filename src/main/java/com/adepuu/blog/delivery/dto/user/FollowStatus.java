@@ -0,0 +1,19 @@
+package com.adepuu.blog.delivery.dto.user;
+
+import java.util.UUID;
+
+/**
+ * Follow relation between the viewer and one user
+ */
+public record FollowStatus(
+        boolean isFollowing,
+        boolean followsYou) {
+
+    public static final FollowStatus NONE = new FollowStatus(false, false);
+
+    /**
+     * The viewer and the user whose follow status is requested
+     */
+    public record Key(UUID viewerId, UUID userId) {
+    }
+}
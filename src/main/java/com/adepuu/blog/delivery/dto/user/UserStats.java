@@ -0,0 +1,14 @@
+package com.adepuu.blog.delivery.dto.user;
+
+import java.util.UUID;
+
+/**
+ * Profile counters of one user
+ */
+public record UserStats(
+        UUID userId,
+        int postsCount,
+        int followersCount,
+        int followingCount,
+        int reactionsReceivedCount) {
+}
@@ -1,23 +1,29 @@
 package com.adepuu.blog.delivery.graphql;
 
+import com.adepuu.blog.delivery.dto.comment.CommentThread;
 import com.adepuu.blog.delivery.dto.comment.CreateCommentInput;
 import com.adepuu.blog.domain.entity.Comment;
 import com.adepuu.blog.domain.service.CommentService;
+import com.adepuu.blog.infrastructure.live.CommentBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dataloader.DataLoader;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Controller
@@ -25,6 +31,7 @@ import java.util.UUID;
 public class CommentResolver {
 
     private final CommentService commentService;
+    private final CommentBroadcaster commentBroadcaster;
 
     // Comment queries
     @QueryMapping("comments")
@@ -53,11 +60,37 @@ public class CommentResolver {
         return commentService.getComment(UUID.fromString(id));
     }
 
-    // Comment field resolvers
+    @QueryMapping("commentThread")
+    public CommentThread commentThread(
+            @Argument("postId") String postId,
+            @Argument("first") Integer first,
+            @Argument("after") String after,
+            @Argument("replies") Integer replies) {
+        return commentService.getThread(UUID.fromString(postId), threadPageSize(first), after, replies);
+    }
+
+    @QueryMapping("commentReplies")
+    public CommentThread commentReplies(
+            @Argument("commentId") String commentId,
+            @Argument("first") Integer first,
+            @Argument("after") String after,
+            @Argument("replies") Integer replies) {
+        return commentService.getReplyThread(UUID.fromString(commentId), threadPageSize(first), after, replies);
+    }
+
+    @SchemaMapping(typeName = "CommentThread", field = "pageInfo")
+    public PageInfo pageInfo(CommentThread thread) {
+        return PageInfo.builder()
+                .hasNextPage(thread.hasNextPage())
+                .hasPreviousPage(false)
+                .endCursor(thread.endCursor())
+                .build();
+    }
+
+    // Comment field resolvers; reply counts of all comments in a response are loaded together
     @SchemaMapping(typeName = "Comment", field = "repliesCount")
-    public int repliesCount(Comment comment) {
-        // TODO: Implement proper replies count
-        return 0;
+    public CompletableFuture<Integer> repliesCount(Comment comment, DataLoader<UUID, Integer> commentRepliesCount) {
+        return commentRepliesCount.load(comment.getId()).thenApply(count -> count != null ? count : 0);
     }
 
     @SchemaMapping(typeName = "Comment", field = "reactionsCount")
@@ -94,6 +127,16 @@ public class CommentResolver {
         return commentService.deleteComment(UUID.fromString(id), userId);
     }
 
+    private static int threadPageSize(Integer first) {
+        return first != null && first > 0 && first <= 100 ? first : 10;
+    }
+
+    // Comment subscriptions
+    @SubscriptionMapping("commentAdded")
+    public Flux<Comment> commentAdded(@Argument("postId") String postId) {
+        return commentBroadcaster.subscribe(UUID.fromString(postId));
+    }
+
     // Inner classes for GraphQL types
     @lombok.Data
     @lombok.Builder
@@ -1,66 +1,172 @@
 package com.adepuu.blog.delivery.graphql;
 
 import com.adepuu.blog.delivery.dto.post.CreatePostInput;
+import com.adepuu.blog.delivery.dto.post.PostFilter;
+import com.adepuu.blog.delivery.dto.post.PostListing;
+import com.adepuu.blog.delivery.dto.post.PostSearchResult;
+import com.adepuu.blog.delivery.dto.post.PostStats;
 import com.adepuu.blog.delivery.dto.post.UpdatePostInput;
 import com.adepuu.blog.domain.entity.Post;
 import com.adepuu.blog.domain.entity.Tag;
 import com.adepuu.blog.domain.entity.User;
 import com.adepuu.blog.domain.repository.PostRepository;
 import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.domain.service.FeedService;
+import com.adepuu.blog.domain.service.PostListingService;
+import com.adepuu.blog.domain.service.PostSearchService;
+import com.adepuu.blog.domain.service.ReadingListService;
 import com.adepuu.blog.domain.service.TagService;
+import com.adepuu.blog.infrastructure.cache.PostSlugCache;
+import com.adepuu.blog.infrastructure.content.ContentAnalyzer;
+import com.adepuu.blog.infrastructure.live.PostStatsBroadcaster;
+import com.adepuu.blog.infrastructure.markdown.MarkdownRenderer;
 import com.adepuu.blog.infrastructure.service.ContentSanitizationService;
 import com.adepuu.blog.infrastructure.service.RateLimitingService;
+import com.adepuu.blog.infrastructure.service.SlugAllocator;
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dataloader.DataLoader;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Controller
 @RequiredArgsConstructor
 public class PostResolver {
 
+    private static final int POST_SLUG_MAX_LENGTH = 350;
+    private static final String BOOKMARKED_POST_IDS_KEY = PostResolver.class.getName() + ".bookmarkedPostIds";
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final TagService tagService;
     private final ContentSanitizationService sanitizationService;
     private final RateLimitingService rateLimitingService;
+    private final PostSlugCache postSlugCache;
+    private final SlugAllocator slugAllocator;
+    private final PostSearchService postSearchService;
+    private final PostListingService postListingService;
+    private final ReadingListService readingListService;
+    private final PostStatsBroadcaster postStatsBroadcaster;
+    private final FeedService feedService;
 
     @QueryMapping("posts")
     public PostConnection posts(
+            @Argument("filter") PostFilter filter,
             @Argument("page") Integer page,
-            @Argument("size") Integer size) {
+            @Argument("size") Integer size,
+            @Argument("after") String after,
+            DataFetchingFieldSelectionSet selectionSet) {
         int pageNumber = page != null ? page : 0;
         int pageSize = size != null && size <= 100 ? size : 10;
 
-        Page<Post> postPage = postRepository.findPublishedPosts(PageRequest.of(pageNumber, pageSize));
-        
+        if (filter != null && filter.search() != null && !filter.search().isBlank()) {
+            // Search results are ranked, so they page by cursor only
+            if (pageNumber > 0) {
+                throw new RuntimeException("Search results are paged with after, not page");
+            }
+            PostFilter visible = visibleFilter(filter);
+            PostSearchResult result = postSearchService.search(visible.search(), visible.tagSlugs(), visible.status(),
+                    visible.authorId() != null ? UUID.fromString(visible.authorId()) : null, pageSize, after);
+            return PostConnection.builder()
+                    .nodes(result.edges().stream().map(PostSearchResult.Edge::node).toList())
+                    .pageInfo(PostPageInfo.builder()
+                            .hasNextPage(result.hasNextPage())
+                            .hasPreviousPage(after != null)
+                            .endCursor(result.endCursor())
+                            .build())
+                    .totalCount(result.totalCount())
+                    .build();
+        }
+
+        PostListing listing = postListingService.list(visibleFilter(filter), pageNumber, pageSize, after,
+                selectionSet.contains("totalCount"));
         return PostConnection.builder()
-                .nodes(postPage.getContent())
+                .nodes(listing.posts())
                 .pageInfo(PostPageInfo.builder()
-                        .hasNextPage(postPage.hasNext())
-                        .hasPreviousPage(postPage.hasPrevious())
+                        .hasNextPage(listing.hasNextPage())
+                        .hasPreviousPage(after != null || pageNumber > 0)
+                        .endCursor(listing.endCursor())
                         .build())
-                .totalCount((int) postPage.getTotalElements())
+                .totalCount(listing.totalCount() != null ? listing.totalCount() : 0)
+                .build();
+    }
+
+    // Unpublished posts are only listed for their author, or for moderators and admins
+    private PostFilter visibleFilter(PostFilter filter) {
+        if (filter == null || filter.status() == null || filter.status() == Post.PostStatus.PUBLISHED) {
+            return filter;
+        }
+        String currentUserId = getCurrentUserId();
+        String currentUserRole = getCurrentUserRole();
+        String authorId = filter.authorId() != null ? filter.authorId() : currentUserId;
+        if (!authorId.equals(currentUserId) && !"MODERATOR".equals(currentUserRole) && !"ADMIN".equals(currentUserRole)) {
+            throw new RuntimeException("You can only list your own unpublished posts");
+        }
+        return new PostFilter(filter.status(), authorId, filter.tagSlugs(), filter.search());
+    }
+
+    @QueryMapping("searchPosts")
+    public PostSearchResult searchPosts(
+            @Argument("query") String query,
+            @Argument("tagSlugs") List<String> tagSlugs,
+            @Argument("first") Integer first,
+            @Argument("after") String after) {
+        return postSearchService.search(query, tagSlugs, first != null ? first : 10, after);
+    }
+
+    @SchemaMapping(typeName = "PostSearchConnection", field = "pageInfo")
+    public PostPageInfo postSearchPageInfo(PostSearchResult result) {
+        return PostPageInfo.builder()
+                .hasNextPage(result.hasNextPage())
+                .hasPreviousPage(false)
+                .endCursor(result.endCursor())
                 .build();
     }
 
     @QueryMapping("post")
     public Post getPost(@Argument("slug") String slug) {
-        return postRepository.findBySlug(slug).orElse(null);
+        return postSlugCache.get(slug);
+    }
+
+    @QueryMapping("myReadingList")
+    @PreAuthorize("hasRole('USER')")
+    public PostConnection myReadingList(@Argument("page") Integer page, @Argument("size") Integer size) {
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null && size <= 100 ? size : 10;
+
+        Page<Post> posts = readingListService.getReadingList(UUID.fromString(getCurrentUserId()),
+                PageRequest.of(pageNumber, pageSize));
+        return PostConnection.builder()
+                .nodes(posts.getContent())
+                .pageInfo(PostPageInfo.builder()
+                        .hasNextPage(posts.hasNext())
+                        .hasPreviousPage(posts.hasPrevious())
+                        .build())
+                .totalCount((int) posts.getTotalElements())
+                .build();
     }
 
     @QueryMapping("myPosts")
@@ -95,13 +201,14 @@ public class PostResolver {
         // Content sanitization
         String sanitizedTitle = sanitizationService.sanitizeText(input.title());
         String sanitizedContent = sanitizationService.markdownToHtml(input.content());
+        ContentAnalyzer.Analysis analysis = sanitizationService.analyzeContent(sanitizedContent, 200);
         String sanitizedExcerpt = input.excerpt() != null ? 
             sanitizationService.sanitizeText(input.excerpt()) : 
-            sanitizationService.extractExcerpt(input.content(), 200);
+            sanitizationService.excerpt(analysis);
         
-        // Profanity check
+        // Profanity check on the title and the markdown source
         if (sanitizationService.containsProfanity(sanitizedTitle) || 
-            sanitizationService.containsProfanity(sanitizedContent)) {
+            sanitizationService.containsProfanity(input.content())) {
             throw new RuntimeException("Content contains inappropriate language");
         }
         
@@ -113,29 +220,31 @@ public class PostResolver {
             throw new RuntimeException("Invalid canonical URL");
         }
         
-        String slug = sanitizationService.sanitizeSlug(sanitizedTitle);
-        // Ensure slug uniqueness
-        String finalSlug = ensureUniqueSlug(slug);
-        
         // Get or create tags
         List<Tag> tags = input.tagNames() != null ? 
             tagService.getTagsByNames(input.tagNames()) : 
             List.of();
 
-        Post post = Post.builder()
-                .title(sanitizedTitle)
-                .slug(finalSlug)
-                .content(sanitizedContent)
-                .excerpt(sanitizedExcerpt)
-                .coverImageUrl(input.coverImageUrl())
-                .canonicalUrl(input.canonicalUrl())
-                .status(Post.PostStatus.DRAFT)
-                .author(currentUser)
-                .readingTimeMinutes(sanitizationService.calculateReadingTime(sanitizedContent))
-                .tags(tags)
-                .build();
-
-        Post savedPost = postRepository.save(post);
+        // A fresh entity per attempt: a failed persist leaves the previous instance unusable
+        Post savedPost = slugAllocator.save(sanitizationService.sanitizeSlug(sanitizedTitle), POST_SLUG_MAX_LENGTH,
+                postRepository::findSlugsStartingWith,
+                slug -> postRepository.saveAndFlush(Post.builder()
+                        .title(sanitizedTitle)
+                        .slug(slug)
+                        .content(sanitizedContent)
+                        .contentMarkdown(input.content())
+                        .rendererVersion(MarkdownRenderer.VERSION)
+                        .excerpt(sanitizedExcerpt)
+                        .coverImageUrl(input.coverImageUrl())
+                        .canonicalUrl(input.canonicalUrl())
+                        .status(Post.PostStatus.DRAFT)
+                        .author(currentUser)
+                        .readingTimeMinutes(analysis.readingTimeMinutes())
+                        .tags(new ArrayList<>(tags))
+                        .build()));
+        userRepository.adjustPostsCount(currentUser.getId(), 1);
+        // The slug may have been looked up, and remembered as unknown, before the post existed
+        postSlugCache.invalidate(savedPost.getSlug());
         log.info("Post created successfully: {} by user: {}", savedPost.getId(), currentUserId);
         return savedPost;
     }
@@ -153,10 +262,16 @@ public class PostResolver {
             throw new RuntimeException("You can only publish your own posts");
         }
 
+        List<UUID> previousTagIds = listedTagIds(post);
         post.setStatus(Post.PostStatus.PUBLISHED);
         post.setPublishedAt(OffsetDateTime.now());
 
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        List<UUID> currentTagIds = listedTagIds(savedPost);
+        tagService.updatePostsCounts(previousTagIds, currentTagIds);
+        postSlugCache.invalidate(savedPost.getSlug());
+        feedService.postsChanged(savedPost.getAuthor().getUsername(), currentTagIds);
+        return savedPost;
     }
 
     @MutationMapping("deletePost")
@@ -175,8 +290,13 @@ public class PostResolver {
             throw new RuntimeException("You can only delete your own posts");
         }
 
+        List<UUID> previousTagIds = listedTagIds(post);
         post.setDeletedAt(OffsetDateTime.now());
         postRepository.save(post);
+        tagService.updatePostsCounts(previousTagIds, List.of());
+        userRepository.adjustPostsCount(post.getAuthor().getId(), -1);
+        postSlugCache.invalidate(post.getSlug());
+        feedService.postsChanged(post.getAuthor().getUsername(), previousTagIds);
 
         return true;
     }
@@ -187,27 +307,30 @@ public class PostResolver {
         Post post = postRepository.findActiveById(UUID.fromString(id))
                 .orElseThrow(() -> new RuntimeException("Post not found"));
 
+        List<UUID> previousTagIds = listedTagIds(post);
         post.setStatus(Post.PostStatus.ARCHIVED);
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        tagService.updatePostsCounts(previousTagIds, List.of());
+        postSlugCache.invalidate(savedPost.getSlug());
+        feedService.postsChanged(savedPost.getAuthor().getUsername(), previousTagIds);
+        return savedPost;
     }
 
-    // Add field resolvers for Post
+    // Post field resolvers; counts of all posts in a response are loaded together
     @SchemaMapping(typeName = "Post", field = "commentsCount")
-    public int commentsCount(Post post) {
-        // TODO: Implement when comment system is created
-        return 0;
+    public CompletableFuture<Integer> commentsCount(Post post, DataLoader<UUID, Integer> postCommentsCount) {
+        return postCommentsCount.load(post.getId()).thenApply(count -> count != null ? count : 0);
     }
 
     @SchemaMapping(typeName = "Post", field = "reactionsCount")
-    public int reactionsCount(Post post) {
-        // TODO: Implement when reaction system is created
-        return 0;
+    public CompletableFuture<Integer> reactionsCount(Post post, DataLoader<UUID, Integer> postReactionsCount) {
+        return postReactionsCount.load(post.getId()).thenApply(count -> count != null ? count : 0);
     }
 
     @SchemaMapping(typeName = "Post", field = "isBookmarked")
-    public boolean isBookmarked(Post post) {
-        // TODO: Implement when bookmark system is created
-        return false;
+    public boolean isBookmarked(Post post, GraphQLContext context) {
+        return ViewerIdSets.contains(context, BOOKMARKED_POST_IDS_KEY, readingListService::getBookmarkedPostIds,
+                post.getId());
     }
 
     // Additional query mappings
@@ -241,15 +364,31 @@ public class PostResolver {
             throw new RuntimeException("Not authorized to update this post");
         }
 
+        if (sanitizationService.containsProfanity(input.title()) ||
+            sanitizationService.containsProfanity(input.content())) {
+            throw new RuntimeException("Content contains inappropriate language");
+        }
+
+        String previousSlug = post.getSlug();
+        List<UUID> previousTagIds = listedTagIds(post);
+        List<UUID> currentTagIds = previousTagIds;
+
         // Update fields if provided
         if (input.title() != null) {
             post.setTitle(sanitizationService.sanitizeText(input.title()));
-            post.setSlug(ensureUniqueSlug(generateSlug(input.title())));
         }
         if (input.content() != null) {
             String sanitizedContent = sanitizationService.markdownToHtml(input.content());
+            ContentAnalyzer.Analysis analysis = sanitizationService.analyzeContent(sanitizedContent, 200);
+            // An excerpt generated from the previous content follows the content; one the author wrote stays
+            if (input.excerpt() == null && Objects.equals(post.getExcerpt(),
+                    sanitizationService.extractExcerpt(post.getContent(), 200))) {
+                post.setExcerpt(sanitizationService.excerpt(analysis));
+            }
             post.setContent(sanitizedContent);
-            post.setReadingTimeMinutes(calculateReadingTime(sanitizedContent));
+            post.setContentMarkdown(input.content());
+            post.setRendererVersion(MarkdownRenderer.VERSION);
+            post.setReadingTimeMinutes(analysis.readingTimeMinutes());
         }
         if (input.excerpt() != null) {
             post.setExcerpt(sanitizationService.sanitizeText(input.excerpt()));
@@ -265,27 +404,45 @@ public class PostResolver {
         if (input.tagNames() != null) {
             List<Tag> tags = tagService.getTagsByNames(input.tagNames());
             post.setTags(tags);
+            if (isListed(post)) {
+                currentTagIds = tags.stream().map(Tag::getId).toList();
+            }
         }
 
-        return postRepository.save(post);
+        // A new title means a new slug; the post's own current slug does not count as taken
+        Post savedPost = input.title() != null
+                ? slugAllocator.save(sanitizationService.sanitizeSlug(post.getTitle()), POST_SLUG_MAX_LENGTH,
+                        base -> postRepository.findSlugsStartingWith(base).stream()
+                                .filter(slug -> !slug.equals(previousSlug))
+                                .toList(),
+                        slug -> {
+                            post.setSlug(slug);
+                            return postRepository.saveAndFlush(post);
+                        })
+                : postRepository.save(post);
+        tagService.updatePostsCounts(previousTagIds, currentTagIds);
+        postSlugCache.invalidate(previousSlug);
+        postSlugCache.invalidate(savedPost.getSlug());
+        if (isListed(savedPost)) {
+            Set<UUID> changedTagIds = new HashSet<>(previousTagIds);
+            changedTagIds.addAll(currentTagIds);
+            feedService.postsChanged(savedPost.getAuthor().getUsername(), changedTagIds);
+        }
+        return savedPost;
     }
 
     @MutationMapping("addToReadingList")
     @PreAuthorize("hasRole('USER')")
     public Boolean addToReadingList(@Argument("postId") String postId) {
-        // Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        // String userId = (String) auth.getPrincipal();
-        // TODO: Implement reading list functionality
-        return true;
+        String userId = getCurrentUserId();
+        return readingListService.addToReadingList(UUID.fromString(userId), UUID.fromString(postId));
     }
 
     @MutationMapping("removeFromReadingList")
     @PreAuthorize("hasRole('USER')")
     public Boolean removeFromReadingList(@Argument("postId") String postId) {
-        // Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        // String userId = (String) auth.getPrincipal();
-        // TODO: Implement reading list functionality
-        return true;
+        String userId = getCurrentUserId();
+        return readingListService.removeFromReadingList(UUID.fromString(userId), UUID.fromString(postId));
     }
 
     // PostConnection field resolvers
@@ -331,6 +488,20 @@ public class PostResolver {
         return posts.getContent();
     }
 
+    @SubscriptionMapping("postStats")
+    public Flux<PostStats> postStats(@Argument("postId") String postId) {
+        return postStatsBroadcaster.subscribe(UUID.fromString(postId));
+    }
+
+    // Tags whose posts_count includes this post: only published, non-deleted posts are counted
+    private List<UUID> listedTagIds(Post post) {
+        return isListed(post) ? postRepository.findTagIds(post.getId()) : List.of();
+    }
+
+    private static boolean isListed(Post post) {
+        return post.getStatus() == Post.PostStatus.PUBLISHED && post.getDeletedAt() == null;
+    }
+
     private String getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -346,30 +517,4 @@ public class PostResolver {
         }
         return authentication.getAuthorities().iterator().next().getAuthority().replace("ROLE_", "");
     }
-
-    private String generateSlug(String title) {
-        return title.toLowerCase()
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-+", "-")
-                .replaceAll("^-|-$", "");
-    }
-
-    private Integer calculateReadingTime(String content) {
-        int wordCount = content.split("\\s+").length;
-        int wordsPerMinute = 200;
-        return Math.max(1, (int) Math.ceil((double) wordCount / wordsPerMinute));
-    }
-    
-    private String ensureUniqueSlug(String baseSlug) {
-        String slug = baseSlug;
-        int counter = 1;
-        
-        while (postRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + counter;
-            counter++;
-        }
-        
-        return slug;
-    }
 }
@@ -1,7 +1,10 @@
 package com.adepuu.blog.delivery.graphql;
 
+import com.adepuu.blog.delivery.dto.suggest.TagSuggestion;
 import com.adepuu.blog.domain.entity.Tag;
+import com.adepuu.blog.domain.service.SuggestionService;
 import com.adepuu.blog.domain.service.TagService;
+import graphql.GraphQLContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -23,7 +26,10 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TagResolver {
 
+    private static final String FOLLOWED_TAG_IDS_KEY = TagResolver.class.getName() + ".followedTagIds";
+
     private final TagService tagService;
+    private final SuggestionService suggestionService;
 
     // Tag queries
     @QueryMapping("tags")
@@ -54,6 +60,11 @@ public class TagResolver {
         return tagService.getPopularTags(20);
     }
 
+    @QueryMapping("suggestTags")
+    public List<TagSuggestion> suggestTags(@Argument("prefix") String prefix, @Argument("limit") Integer limit) {
+        return suggestionService.suggestTags(prefix, limit != null ? limit : 10);
+    }
+
     @QueryMapping("myFollowedTags")
     @PreAuthorize("hasRole('USER')")
     public List<Tag> myFollowedTags() {
@@ -64,17 +75,8 @@ public class TagResolver {
 
     // Tag field resolvers
     @SchemaMapping(typeName = "Tag", field = "isFollowing")
-    public Boolean isFollowing(Tag tag) {
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth == null || !auth.isAuthenticated()) {
-                return false;
-            }
-            String userId = (String) auth.getPrincipal();
-            return tagService.isUserFollowingTag(tag.getId(), userId);
-        } catch (Exception e) {
-            return false;
-        }
+    public Boolean isFollowing(Tag tag, GraphQLContext context) {
+        return ViewerIdSets.contains(context, FOLLOWED_TAG_IDS_KEY, tagService::getFollowedTagIds, tag.getId());
     }
 
     // Tag mutations
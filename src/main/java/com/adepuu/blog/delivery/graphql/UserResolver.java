@@ -1,11 +1,17 @@
 package com.adepuu.blog.delivery.graphql;
 
+import com.adepuu.blog.delivery.dto.suggest.UserSuggestion;
+import com.adepuu.blog.delivery.dto.user.FollowStatus;
 import com.adepuu.blog.delivery.dto.user.UpdateProfileInput;
+import com.adepuu.blog.delivery.dto.user.UserStats;
 import com.adepuu.blog.domain.entity.User;
 import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.domain.service.SuggestionService;
 import com.adepuu.blog.domain.service.UserService;
+import com.adepuu.blog.infrastructure.cache.UserByUsernameCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dataloader.DataLoader;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.graphql.data.method.annotation.Argument;
@@ -13,12 +19,15 @@ import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToIntFunction;
 
 @Slf4j
 @Controller
@@ -27,6 +36,8 @@ public class UserResolver {
 
     private final UserRepository userRepository;
     private final UserService userService;
+    private final SuggestionService suggestionService;
+    private final UserByUsernameCache userByUsernameCache;
 
     @QueryMapping("me")
     @PreAuthorize("hasRole('USER')")
@@ -38,7 +49,7 @@ public class UserResolver {
 
     @QueryMapping("user")
     public User user(@Argument("username") String username) {
-        return userRepository.findByUsernameAndIsActiveTrue(username).orElse(null);
+        return userByUsernameCache.get(username);
     }
 
     @QueryMapping("users")
@@ -51,20 +62,17 @@ public class UserResolver {
 
         Page<User> userPage;
         if (search != null && !search.trim().isEmpty()) {
-            userPage = userRepository.findByUsernameContainingIgnoreCaseAndIsActiveTrue(
-                search.trim(), PageRequest.of(pageNumber, pageSize));
+            userPage = userService.searchUsers(search.trim(), PageRequest.of(pageNumber, pageSize));
         } else {
             userPage = userRepository.findByIsActiveTrue(PageRequest.of(pageNumber, pageSize));
         }
 
-        return UserConnection.builder()
-                .nodes(userPage.getContent())
-                .pageInfo(PageInfo.builder()
-                        .hasNextPage(userPage.hasNext())
-                        .hasPreviousPage(userPage.hasPrevious())
-                        .build())
-                .totalCount((int) userPage.getTotalElements())
-                .build();
+        return toConnection(userPage);
+    }
+
+    @QueryMapping("suggestUsers")
+    public List<UserSuggestion> suggestUsers(@Argument("prefix") String prefix, @Argument("limit") Integer limit) {
+        return suggestionService.suggestUsers(prefix, limit != null ? limit : 10);
     }
 
     // User field resolvers
@@ -133,19 +141,51 @@ public class UserResolver {
         return user.getUpdatedAt() != null ? user.getUpdatedAt().toString() : null;
     }
 
+    // Counters of all users in a response are loaded together through the UserStats batch loader
     @SchemaMapping(typeName = "User", field = "followersCount")
-    public int followersCount(User user) {
-        return userService.getFollowersCount(user.getId());
+    public CompletableFuture<Integer> followersCount(User user, DataLoader<UUID, UserStats> userStats) {
+        return stat(user, userStats, UserStats::followersCount);
     }
 
     @SchemaMapping(typeName = "User", field = "followingCount")
-    public int followingCount(User user) {
-        return userService.getFollowingCount(user.getId());
+    public CompletableFuture<Integer> followingCount(User user, DataLoader<UUID, UserStats> userStats) {
+        return stat(user, userStats, UserStats::followingCount);
     }
 
     @SchemaMapping(typeName = "User", field = "postsCount")
-    public int postsCount(User user) {
-        return userService.getPostsCount(user.getId());
+    public CompletableFuture<Integer> postsCount(User user, DataLoader<UUID, UserStats> userStats) {
+        return stat(user, userStats, UserStats::postsCount);
+    }
+
+    @SchemaMapping(typeName = "User", field = "reactionsReceivedCount")
+    public CompletableFuture<Integer> reactionsReceivedCount(User user, DataLoader<UUID, UserStats> userStats) {
+        return stat(user, userStats, UserStats::reactionsReceivedCount);
+    }
+
+    @SchemaMapping(typeName = "User", field = "followers")
+    public UserConnection followers(User user, @Argument("page") Integer page, @Argument("size") Integer size) {
+        return toConnection(userService.getFollowers(user.getId(), pageRequest(page, size)));
+    }
+
+    @SchemaMapping(typeName = "User", field = "following")
+    public UserConnection following(User user, @Argument("page") Integer page, @Argument("size") Integer size) {
+        return toConnection(userService.getFollowing(user.getId(), pageRequest(page, size)));
+    }
+
+    @SchemaMapping(typeName = "User", field = "mutualFollows")
+    public UserConnection mutualFollows(User user, @Argument("page") Integer page, @Argument("size") Integer size) {
+        return toConnection(userService.getMutualFollows(user.getId(), pageRequest(page, size)));
+    }
+
+    // Follow flags of all users in a response are loaded together through the FollowStatus batch loader
+    @SchemaMapping(typeName = "User", field = "isFollowing")
+    public CompletableFuture<Boolean> isFollowing(User user, DataLoader<FollowStatus.Key, FollowStatus> followStatus) {
+        return followStatus(user, followStatus).thenApply(FollowStatus::isFollowing);
+    }
+
+    @SchemaMapping(typeName = "User", field = "followsYou")
+    public CompletableFuture<Boolean> followsYou(User user, DataLoader<FollowStatus.Key, FollowStatus> followStatus) {
+        return followStatus(user, followStatus).thenApply(FollowStatus::followsYou);
     }
 
     // User mutations
@@ -175,6 +215,47 @@ public class UserResolver {
         return true;
     }
 
+    private static CompletableFuture<Integer> stat(User user, DataLoader<UUID, UserStats> userStats,
+                                                   ToIntFunction<UserStats> counter) {
+        return userStats.load(user.getId()).thenApply(stats -> stats != null ? counter.applyAsInt(stats) : 0);
+    }
+
+    // Anonymous viewers follow nobody and are followed by nobody
+    private static CompletableFuture<FollowStatus> followStatus(User user,
+                                                                DataLoader<FollowStatus.Key, FollowStatus> followStatus) {
+        UUID viewerId = currentUserIdOrNull();
+        if (viewerId == null) {
+            return CompletableFuture.completedFuture(FollowStatus.NONE);
+        }
+        return followStatus.load(new FollowStatus.Key(viewerId, user.getId()))
+                .thenApply(status -> status != null ? status : FollowStatus.NONE);
+    }
+
+    private static PageRequest pageRequest(Integer page, Integer size) {
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null && size <= 100 ? size : 10;
+        return PageRequest.of(pageNumber, pageSize);
+    }
+
+    private static UserConnection toConnection(Page<User> userPage) {
+        return UserConnection.builder()
+                .nodes(userPage.getContent())
+                .pageInfo(PageInfo.builder()
+                        .hasNextPage(userPage.hasNext())
+                        .hasPreviousPage(userPage.hasPrevious())
+                        .build())
+                .totalCount((int) userPage.getTotalElements())
+                .build();
+    }
+
+    private static UUID currentUserIdOrNull() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return UUID.fromString((String) auth.getPrincipal());
+    }
+
     // Inner classes for GraphQL types
     @lombok.Data
     @lombok.Builder
@@ -0,0 +1,35 @@
+package com.adepuu.blog.delivery.graphql;
+
+import graphql.GraphQLContext;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Resolves per-item viewer flags such as {@code Tag.isFollowing} and {@code Post.isBookmarked}. The
+ * viewer's id set is loaded once per request and shared, through the GraphQL context, by every item in
+ * the response.
+ */
+final class ViewerIdSets {
+
+    private ViewerIdSets() {
+    }
+
+    /**
+     * Whether the signed-in viewer's set stored under {@code key} contains {@code id}; always false for
+     * anonymous requests
+     */
+    static boolean contains(GraphQLContext context, String key, Function<UUID, Set<UUID>> loader, UUID id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return false;
+        }
+        UUID userId = UUID.fromString((String) auth.getPrincipal());
+        Set<UUID> ids = context.computeIfAbsent(key, ignored -> loader.apply(userId));
+        return ids.contains(id);
+    }
+}
@@ -1,13 +1,27 @@
 package com.adepuu.blog.delivery.rest;
 
+import com.adepuu.blog.domain.service.FeedService;
+import com.adepuu.blog.infrastructure.markdown.MarkdownRenderer;
+import com.adepuu.blog.infrastructure.markdown.PostRerenderJob;
+import com.adepuu.blog.infrastructure.moderation.Blocklist;
+import com.adepuu.blog.infrastructure.service.PostImporter;
 import com.adepuu.blog.infrastructure.service.TokenBlacklistService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 @Slf4j
@@ -17,6 +31,11 @@ import java.util.Map;
 public class AdminController {
     
     private final TokenBlacklistService tokenBlacklistService;
+    private final PostRerenderJob postRerenderJob;
+    private final Blocklist blocklist;
+    private final PostImporter postImporter;
+    private final ObjectMapper objectMapper;
+    private final FeedService feedService;
     
     @GetMapping("/token-blacklist/status")
     @PreAuthorize("hasRole('ADMIN')")
@@ -46,4 +65,81 @@ public class AdminController {
             "remainingTokens", afterCount
         );
     }
+    
+    @PostMapping("/posts/rerender")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> rerenderPosts() {
+        boolean started = postRerenderJob.trigger();
+        
+        return Map.of(
+            "started", started,
+            "running", postRerenderJob.isRunning(),
+            "rendererVersion", MarkdownRenderer.VERSION
+        );
+    }
+    
+    @PostMapping("/moderation/blocklist/reload")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> reloadBlocklist() throws IOException {
+        int terms = blocklist.reload();
+        
+        log.warn("Admin reloaded moderation blocklist: {} terms", terms);
+        
+        return Map.of(
+            "message", "Blocklist reloaded",
+            "terms", terms
+        );
+    }
+    
+    /**
+     * Imports posts from an NDJSON body, one post per line. The response is NDJSON too: an "error" line
+     * per rejected record, a "progress" line after every chunk and a final "done" line.
+     */
+    @PostMapping(value = "/posts/import", consumes = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void importPosts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter writer = response.getWriter();
+        
+        PostImporter.Summary summary = postImporter.importPosts(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8),
+                new PostImporter.Listener() {
+                    @Override
+                    public void failed(long line, String message) {
+                        writeLine(writer, Map.of("type", "error", "line", line, "message", message));
+                    }
+                    
+                    @Override
+                    public void progress(PostImporter.Summary progress) {
+                        writeLine(writer, summaryLine("progress", progress));
+                        writer.flush();
+                    }
+                });
+        
+        log.warn("Admin imported posts: {} imported, {} failed", summary.imported(), summary.failed());
+        if (summary.imported() > 0) {
+            feedService.allChanged();
+        }
+        writeLine(writer, summaryLine("done", summary));
+        writer.flush();
+    }
+    
+    private static Map<String, Object> summaryLine(String type, PostImporter.Summary summary) {
+        return Map.of(
+            "type", type,
+            "processed", summary.processed(),
+            "imported", summary.imported(),
+            "failed", summary.failed()
+        );
+    }
+    
+    private void writeLine(PrintWriter writer, Map<String, Object> line) {
+        try {
+            writer.write(objectMapper.writeValueAsString(line));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package com.adepuu.blog.delivery.rest;
+
+import com.adepuu.blog.delivery.dto.feed.FeedFormat;
+import com.adepuu.blog.delivery.dto.feed.RenderedFeed;
+import com.adepuu.blog.domain.service.FeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * RSS and Atom feeds, e.g. {@code /feeds/rss.xml}, {@code /feeds/tags/java/atom.xml} and
+ * {@code /feeds/authors/alice/rss.xml}. Readers revalidate with If-None-Match or If-Modified-Since.
+ */
+@RestController
+@RequestMapping("/feeds")
+@RequiredArgsConstructor
+public class FeedController {
+
+    private final FeedService feedService;
+
+    @GetMapping("/{format:rss|atom}.xml")
+    public ResponseEntity<byte[]> getSiteFeed(@PathVariable("format") String format, WebRequest request) {
+        return respond(feedService.getSiteFeed(parse(format)), request);
+    }
+
+    @GetMapping("/tags/{slug}/{format:rss|atom}.xml")
+    public ResponseEntity<byte[]> getTagFeed(@PathVariable("slug") String slug,
+                                             @PathVariable("format") String format, WebRequest request) {
+        return respond(feedService.getTagFeed(slug, parse(format)), request);
+    }
+
+    @GetMapping("/authors/{username}/{format:rss|atom}.xml")
+    public ResponseEntity<byte[]> getAuthorFeed(@PathVariable("username") String username,
+                                                @PathVariable("format") String format, WebRequest request) {
+        return respond(feedService.getAuthorFeed(username, parse(format)), request);
+    }
+
+    private static FeedFormat parse(String format) {
+        return FeedFormat.valueOf(format.toUpperCase(Locale.ROOT));
+    }
+
+    private static ResponseEntity<byte[]> respond(RenderedFeed feed, WebRequest request) {
+        if (feed == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(feed.etag(), feed.lastModified())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.parseMediaType(feed.format().getContentType()),
+                        StandardCharsets.UTF_8))
+                .eTag(feed.etag())
+                // Cached until changed, so every poll revalidates
+                .cacheControl(CacheControl.noCache());
+        if (feed.lastModified() >= 0) {
+            response.lastModified(feed.lastModified());
+        }
+        return response.body(feed.body());
+    }
+}
@@ -0,0 +1,53 @@
+package com.adepuu.blog.delivery.rest;
+
+import com.adepuu.blog.infrastructure.sitemap.SitemapGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Serves the sitemap files rendered by {@link SitemapGenerator}; requests never query the database
+ * once the first render is done.
+ */
+@RestController
+@RequiredArgsConstructor
+public class SitemapController {
+
+    private final SitemapGenerator sitemapGenerator;
+
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<Resource> getIndex(WebRequest request) throws IOException {
+        return xml(sitemapGenerator.index(), request);
+    }
+
+    @GetMapping("/sitemaps/sitemap-{shard:\\d+}.xml")
+    public ResponseEntity<Resource> getShard(@PathVariable("shard") int shard, WebRequest request) throws IOException {
+        Optional<Path> file = sitemapGenerator.shard(shard);
+        if (file.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return xml(file.get(), request);
+    }
+
+    private static ResponseEntity<Resource> xml(Path file, WebRequest request) throws IOException {
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        if (request.checkNotModified(lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_XML)
+                .lastModified(lastModified)
+                .body(new FileSystemResource(file));
+    }
+}
@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -18,7 +20,10 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Post {
+public class Post implements Serializable {
+    
+    @Serial
+    private static final long serialVersionUID = 1L;
     
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -30,9 +35,19 @@ public class Post {
     @Column(unique = true, nullable = false, length = 350)
     private String slug;
     
+    // Rendered, safe HTML served to readers
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
     
+    // Markdown source as written by the author; null for posts created before sources were kept
+    @Column(name = "content_markdown", columnDefinition = "TEXT")
+    private String contentMarkdown;
+    
+    // MarkdownRenderer.VERSION that produced content
+    @Column(name = "renderer_version", nullable = false)
+    @Builder.Default
+    private Integer rendererVersion = 0;
+    
     @Column(columnDefinition = "TEXT")
     private String excerpt;
     
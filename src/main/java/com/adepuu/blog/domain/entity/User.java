@@ -10,6 +10,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import com.adepuu.blog.domain.entity.converter.UserRoleConverter;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
@@ -19,7 +21,10 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class User {
+public class User implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -77,6 +82,25 @@ public class User {
     @Column(name = "deleted_at")
     private OffsetDateTime deletedAt;
 
+    // Maintained by UPDATE statements only, so saving a stale entity cannot overwrite a concurrent change
+    @Column(name = "followers_count", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer followersCount = 0;
+
+    @Column(name = "following_count", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer followingCount = 0;
+
+    // Live (non-deleted) posts written by the user
+    @Column(name = "posts_count", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer postsCount = 0;
+
+    // Reactions on the user's posts and comments
+    @Column(name = "reactions_received_count", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer reactionsReceivedCount = 0;
+
     public enum UserRole {
         USER, MODERATOR, ADMIN
     }
@@ -3,11 +3,13 @@ package com.adepuu.blog.domain.repository;
 import com.adepuu.blog.domain.entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,12 +23,19 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
     @Query("SELECT c FROM Comment c WHERE c.deletedAt IS NULL AND c.post.id = :postId ORDER BY c.createdAt ASC")
     List<Comment> findActiveByPostId(@Param("postId") UUID postId);
     
-    @Query("SELECT c FROM Comment c WHERE c.deletedAt IS NULL AND c.post.id = :postId")
+    @Query("SELECT c FROM Comment c WHERE c.deletedAt IS NULL AND c.post.id = :postId ORDER BY c.createdAt ASC, c.id")
     Page<Comment> findActiveByPostId(@Param("postId") UUID postId, Pageable pageable);
     
     @Query("SELECT c FROM Comment c WHERE c.deletedAt IS NULL AND c.parentComment.id = :parentId ORDER BY c.createdAt ASC")
     List<Comment> findRepliesByParentId(@Param("parentId") UUID parentId);
     
+    @Query("SELECT c FROM Comment c WHERE c.deletedAt IS NULL AND c.parentComment.id = :parentId ORDER BY c.createdAt ASC, c.id")
+    Page<Comment> findRepliesByParentId(@Param("parentId") UUID parentId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"author"})
+    @Query("SELECT c FROM Comment c WHERE c.id IN :ids")
+    List<Comment> findWithAuthorByIdIn(@Param("ids") Collection<UUID> ids);
+    
     @Query("SELECT c FROM Comment c WHERE c.deletedAt IS NULL AND c.author.id = :authorId ORDER BY c.createdAt DESC")
     Page<Comment> findActiveByAuthorId(@Param("authorId") UUID authorId, Pageable pageable);
     
@@ -35,4 +44,22 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
     
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.deletedAt IS NULL AND c.parentComment.id = :parentId")
     long countRepliesByParentId(@Param("parentId") UUID parentId);
+    
+    @Query("SELECT c.parentComment.id AS parentId, COUNT(c) AS count FROM Comment c " +
+           "WHERE c.deletedAt IS NULL AND c.parentComment.id IN :parentIds GROUP BY c.parentComment.id")
+    List<ReplyCount> countRepliesByParentIdIn(@Param("parentIds") Collection<UUID> parentIds);
+    
+    @Query("SELECT c.post.id AS postId, COUNT(c) AS count FROM Comment c " +
+           "WHERE c.deletedAt IS NULL AND c.post.id IN :postIds GROUP BY c.post.id")
+    List<PostCount> countActiveByPostIdIn(@Param("postIds") Collection<UUID> postIds);
+    
+    interface ReplyCount {
+        UUID getParentId();
+        Long getCount();
+    }
+    
+    interface PostCount {
+        UUID getPostId();
+        Long getCount();
+    }
 }
@@ -4,31 +4,93 @@ import com.adepuu.blog.domain.entity.Post;
 import com.adepuu.blog.domain.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, UUID> {
     
-    @Query("SELECT p FROM Post p WHERE p.status = 'PUBLISHED' AND p.deletedAt IS NULL ORDER BY p.publishedAt DESC")
+    // Served by idx_posts_published_feed
+    @Query("SELECT p FROM Post p WHERE p.status = 'PUBLISHED' AND p.deletedAt IS NULL ORDER BY p.publishedAt DESC, p.id")
     Page<Post> findPublishedPosts(Pageable pageable);
     
     @Query("SELECT p FROM Post p WHERE p.author = :author AND p.deletedAt IS NULL ORDER BY p.createdAt DESC")
     Page<Post> findByAuthor(User author, Pageable pageable);
     
+    // Author and tags are fetched eagerly so the post cached by PostSlugCache is usable outside the loading session
+    @EntityGraph(attributePaths = {"author", "tags"})
     @Query("SELECT p FROM Post p WHERE p.slug = :slug AND p.deletedAt IS NULL")
     Optional<Post> findBySlug(String slug);
     
     @Query("SELECT p FROM Post p WHERE p.id = :id AND p.deletedAt IS NULL")
     Optional<Post> findActiveById(UUID id);
     
+    @EntityGraph(attributePaths = {"author", "tags"})
+    @Query("SELECT p FROM Post p WHERE p.id IN :ids AND p.deletedAt IS NULL")
+    List<Post> findWithAuthorAndTagsByIdIn(Collection<UUID> ids);
+    
     @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Post p WHERE p.slug = :slug AND p.deletedAt IS NULL")
     boolean existsBySlug(String slug);
     
-    @Query("SELECT COUNT(p) FROM Post p WHERE p.author.id = :authorId AND p.deletedAt IS NULL")
-    long countByAuthorIdAndDeletedAtIsNull(UUID authorId);
+    // Includes soft-deleted posts because the unique constraint on slug does
+    @Query(value = "SELECT slug FROM posts WHERE slug = :base OR (slug LIKE CONCAT(:base, '-%') " +
+           "AND LTRIM(SUBSTRING(slug FROM CHAR_LENGTH(:base) + 2), '0123456789') = '')",
+           nativeQuery = true)
+    List<String> findSlugsStartingWith(String base);
+    
+    @Query("SELECT t.id FROM Post p JOIN p.tags t WHERE p.id = :postId")
+    List<UUID> findTagIds(UUID postId);
+    
+    // Keyset-paged scan of posts whose stored HTML was produced by an older renderer
+    @Query("SELECT p.id AS id, p.slug AS slug, p.contentMarkdown AS contentMarkdown FROM Post p " +
+           "WHERE p.rendererVersion < :version AND p.contentMarkdown IS NOT NULL AND p.id > :afterId ORDER BY p.id")
+    List<MarkdownSource> findOutdatedRenders(int version, UUID afterId, Pageable pageable);
+    
+    // Only overwrites rows still on an older version, so a concurrent edit is never clobbered
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.content = :content, p.rendererVersion = :version WHERE p.id = :id AND p.rendererVersion < :version")
+    int updateRenderedContent(UUID id, String content, int version);
+    
+    // Newest listed posts as feed entries, without loading content
+    @Query("SELECT p.id AS id, p.title AS title, p.slug AS slug, p.excerpt AS excerpt, p.publishedAt AS publishedAt, " +
+           "p.updatedAt AS updatedAt, a.displayName AS authorName FROM Post p JOIN p.author a " +
+           "WHERE p.status = 'PUBLISHED' AND p.deletedAt IS NULL ORDER BY p.publishedAt DESC, p.id")
+    List<FeedEntry> findFeedEntries(Pageable pageable);
+    
+    @Query("SELECT p.id AS id, p.title AS title, p.slug AS slug, p.excerpt AS excerpt, p.publishedAt AS publishedAt, " +
+           "p.updatedAt AS updatedAt, a.displayName AS authorName FROM Post p JOIN p.author a JOIN p.tags t " +
+           "WHERE t.id = :tagId AND p.status = 'PUBLISHED' AND p.deletedAt IS NULL ORDER BY p.publishedAt DESC, p.id")
+    List<FeedEntry> findFeedEntriesByTag(UUID tagId, Pageable pageable);
+    
+    @Query("SELECT p.id AS id, p.title AS title, p.slug AS slug, p.excerpt AS excerpt, p.publishedAt AS publishedAt, " +
+           "p.updatedAt AS updatedAt, a.displayName AS authorName FROM Post p JOIN p.author a " +
+           "WHERE a.id = :authorId AND p.status = 'PUBLISHED' AND p.deletedAt IS NULL ORDER BY p.publishedAt DESC, p.id")
+    List<FeedEntry> findFeedEntriesByAuthor(UUID authorId, Pageable pageable);
+    
+    interface MarkdownSource {
+        UUID getId();
+        String getSlug();
+        String getContentMarkdown();
+    }
+    
+    interface FeedEntry {
+        UUID getId();
+        String getTitle();
+        String getSlug();
+        String getExcerpt();
+        OffsetDateTime getPublishedAt();
+        OffsetDateTime getUpdatedAt();
+        String getAuthorName();
+    }
 }
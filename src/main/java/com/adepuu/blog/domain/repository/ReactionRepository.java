@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -48,4 +49,12 @@ public interface ReactionRepository extends JpaRepository<Reaction, UUID> {
     
     @Query("SELECT COUNT(r) FROM Reaction r WHERE r.comment.id = :commentId AND r.reactionType.name = :reactionTypeName")
     long countCommentReactionsByType(@Param("commentId") UUID commentId, @Param("reactionTypeName") String reactionTypeName);
+    
+    @Query("SELECT r.post.id AS postId, COUNT(r) AS count FROM Reaction r WHERE r.post.id IN :postIds GROUP BY r.post.id")
+    List<PostCount> countByPostIdIn(@Param("postIds") Collection<UUID> postIds);
+    
+    interface PostCount {
+        UUID getPostId();
+        Long getCount();
+    }
 }
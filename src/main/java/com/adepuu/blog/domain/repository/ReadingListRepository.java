@@ -0,0 +1,34 @@
+package com.adepuu.blog.domain.repository;
+
+import com.adepuu.blog.domain.entity.ReadingList;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReadingListRepository extends JpaRepository<ReadingList, UUID> {
+    
+    boolean existsByUserIdAndPostId(UUID userId, UUID postId);
+    
+    @Modifying
+    @Query("DELETE FROM ReadingList rl WHERE rl.user.id = :userId AND rl.post.id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") UUID userId, @Param("postId") UUID postId);
+    
+    @Query("SELECT rl.post.id FROM ReadingList rl WHERE rl.user.id = :userId")
+    List<UUID> findPostIdsByUserId(@Param("userId") UUID userId);
+    
+    // Most recently saved first; posts that were unpublished or deleted since are skipped
+    @Query(value = "SELECT rl.post.id FROM ReadingList rl " +
+                   "WHERE rl.user.id = :userId AND rl.post.status = 'PUBLISHED' AND rl.post.deletedAt IS NULL " +
+                   "ORDER BY rl.createdAt DESC, rl.id",
+           countQuery = "SELECT COUNT(rl) FROM ReadingList rl " +
+                        "WHERE rl.user.id = :userId AND rl.post.status = 'PUBLISHED' AND rl.post.deletedAt IS NULL")
+    Page<UUID> findListedPostIdsByUserId(@Param("userId") UUID userId, Pageable pageable);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,9 +16,14 @@ public interface TagFollowRepository extends JpaRepository<TagFollow, UUID> {
     
     Optional<TagFollow> findByTagIdAndUserId(UUID tagId, UUID userId);
     
+    @Query("SELECT tf.tag.id FROM TagFollow tf WHERE tf.user.id = :userId AND tf.isFollowing = true")
+    List<UUID> findFollowedTagIdsByUserId(@Param("userId") UUID userId);
+    
+    // Only touches a row whose state differs, so the return value tells whether the follow state changed
     @Modifying
-    @Query("UPDATE TagFollow tf SET tf.isFollowing = :isFollowing WHERE tf.tag.id = :tagId AND tf.user.id = :userId")
-    int updateFollowStatus(@Param("tagId") UUID tagId, @Param("userId") UUID userId, @Param("isFollowing") boolean isFollowing);
+    @Query("UPDATE TagFollow tf SET tf.isFollowing = :isFollowing " +
+           "WHERE tf.tag.id = :tagId AND tf.user.id = :userId AND tf.isFollowing <> :isFollowing")
+    int changeFollowStatus(@Param("tagId") UUID tagId, @Param("userId") UUID userId, @Param("isFollowing") boolean isFollowing);
     
     @Query("SELECT COUNT(tf) FROM TagFollow tf WHERE tf.tag.id = :tagId AND tf.isFollowing = true")
     long countActiveFollowersByTagId(@Param("tagId") UUID tagId);
@@ -4,10 +4,13 @@ import com.adepuu.blog.domain.entity.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,17 +22,17 @@ public interface TagRepository extends JpaRepository<Tag, UUID> {
     
     Optional<Tag> findByName(String name);
     
+    @Query(value = "SELECT slug FROM tags WHERE slug = :base OR (slug LIKE CONCAT(:base, '-%') " +
+           "AND LTRIM(SUBSTRING(slug FROM CHAR_LENGTH(:base) + 2), '0123456789') = '')",
+           nativeQuery = true)
+    List<String> findSlugsStartingWith(@Param("base") String base);
+    
     List<Tag> findByNameIn(List<String> names);
     
     @Query("SELECT t FROM Tag t WHERE t.deletedAt IS NULL AND t.name IN :names")
     List<Tag> findActiveByNameIn(@Param("names") List<String> names);
     
-    @Query("SELECT t FROM Tag t WHERE t.deletedAt IS NULL AND " +
-           "(LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<Tag> searchTags(@Param("searchTerm") String searchTerm, Pageable pageable);
-    
-    @Query("SELECT t FROM Tag t WHERE t.deletedAt IS NULL ORDER BY t.postsCount DESC, t.followersCount DESC")
+    @Query("SELECT t FROM Tag t WHERE t.deletedAt IS NULL ORDER BY t.postsCount DESC, t.followersCount DESC, t.name")
     List<Tag> findPopularTags(Pageable pageable);
     
     @Query("SELECT t FROM Tag t WHERE t.deletedAt IS NULL AND t.isOfficial = true ORDER BY t.name")
@@ -44,4 +47,50 @@ public interface TagRepository extends JpaRepository<Tag, UUID> {
     @Query("SELECT COUNT(tf) > 0 FROM TagFollow tf " +
            "WHERE tf.tag.id = :tagId AND tf.user.id = :userId AND tf.isFollowing = true")
     boolean isUserFollowingTag(@Param("tagId") UUID tagId, @Param("userId") UUID userId);
+    
+    @Query("SELECT t.slug FROM Tag t WHERE t.id IN :ids")
+    List<String> findSlugsByIdIn(Collection<UUID> ids);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Tag t SET t.postsCount = t.postsCount + :delta WHERE t.id IN :ids")
+    int adjustPostsCount(Collection<UUID> ids, int delta);
+    
+    // Rewrites posts_count where it differs from the number of published, non-deleted posts carrying the
+    // tag; returns the corrected count
+    @Transactional
+    @Modifying
+    @Query("UPDATE Tag t SET t.postsCount = (SELECT CAST(COUNT(p) AS Integer) FROM Post p JOIN p.tags pt " +
+           "WHERE pt.id = t.id AND p.status = 'PUBLISHED' AND p.deletedAt IS NULL) " +
+           "WHERE t.postsCount <> (SELECT CAST(COUNT(p) AS Integer) FROM Post p JOIN p.tags pt " +
+           "WHERE pt.id = t.id AND p.status = 'PUBLISHED' AND p.deletedAt IS NULL)")
+    int recountPostsCounts();
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Tag t SET t.followersCount = t.followersCount + :delta WHERE t.id IN :ids")
+    int adjustFollowersCount(Collection<UUID> ids, int delta);
+    
+    // Rewrites followers_count where it differs from the active follow rows; returns the corrected count
+    @Transactional
+    @Modifying
+    @Query("UPDATE Tag t SET t.followersCount = " +
+           "(SELECT CAST(COUNT(tf) AS Integer) FROM TagFollow tf WHERE tf.tag.id = t.id AND tf.isFollowing = true) " +
+           "WHERE t.followersCount <> " +
+           "(SELECT CAST(COUNT(tf) AS Integer) FROM TagFollow tf WHERE tf.tag.id = t.id AND tf.isFollowing = true)")
+    int recountFollowersCounts();
+    
+    // Every live tag, for the in-memory tag name index
+    @Query("SELECT t.id AS id, t.name AS name, t.slug AS slug, t.color AS color, " +
+           "t.postsCount AS postsCount, t.followersCount AS followersCount FROM Tag t WHERE t.deletedAt IS NULL")
+    List<SuggestionSource> findSuggestionSources();
+    
+    interface SuggestionSource {
+        UUID getId();
+        String getName();
+        String getSlug();
+        String getColor();
+        Integer getPostsCount();
+        Integer getFollowersCount();
+    }
 }
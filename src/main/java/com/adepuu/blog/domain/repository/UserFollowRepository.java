@@ -0,0 +1,57 @@
+package com.adepuu.blog.domain.repository;
+
+import com.adepuu.blog.domain.entity.User;
+import com.adepuu.blog.domain.entity.UserFollow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserFollowRepository extends JpaRepository<UserFollow, UUID> {
+    
+    boolean existsByFollowerIdAndFollowingId(UUID followerId, UUID followingId);
+    
+    @Modifying
+    @Query("DELETE FROM UserFollow f WHERE f.follower.id = :followerId AND f.following.id = :followingId")
+    int deleteByFollowerIdAndFollowingId(@Param("followerId") UUID followerId, @Param("followingId") UUID followingId);
+    
+    // Follow lists: active users only, newest follow first, so totals and pages agree
+    @Query(value = "SELECT u FROM UserFollow f JOIN f.follower u WHERE f.following.id = :userId " +
+                   "AND u.isActive = true AND u.deletedAt IS NULL ORDER BY f.createdAt DESC, u.id",
+           countQuery = "SELECT COUNT(f) FROM UserFollow f JOIN f.follower u WHERE f.following.id = :userId " +
+                        "AND u.isActive = true AND u.deletedAt IS NULL")
+    Page<User> findFollowers(@Param("userId") UUID userId, Pageable pageable);
+    
+    @Query(value = "SELECT u FROM UserFollow f JOIN f.following u WHERE f.follower.id = :userId " +
+                   "AND u.isActive = true AND u.deletedAt IS NULL ORDER BY f.createdAt DESC, u.id",
+           countQuery = "SELECT COUNT(f) FROM UserFollow f JOIN f.following u WHERE f.follower.id = :userId " +
+                        "AND u.isActive = true AND u.deletedAt IS NULL")
+    Page<User> findFollowing(@Param("userId") UUID userId, Pageable pageable);
+    
+    @Query(value = "SELECT u FROM UserFollow f JOIN f.following u WHERE f.follower.id = :userId " +
+                   "AND u.isActive = true AND u.deletedAt IS NULL AND EXISTS (SELECT 1 FROM UserFollow b " +
+                   "WHERE b.follower.id = u.id AND b.following.id = :userId) ORDER BY f.createdAt DESC, u.id",
+           countQuery = "SELECT COUNT(f) FROM UserFollow f JOIN f.following u WHERE f.follower.id = :userId " +
+                        "AND u.isActive = true AND u.deletedAt IS NULL AND EXISTS (SELECT 1 FROM UserFollow b " +
+                        "WHERE b.follower.id = u.id AND b.following.id = :userId)")
+    Page<User> findMutualFollows(@Param("userId") UUID userId, Pageable pageable);
+    
+    // Follows between one user and any of the others, in either direction
+    @Query("SELECT f.follower.id AS followerId, f.following.id AS followingId FROM UserFollow f " +
+           "WHERE (f.follower.id = :userId AND f.following.id IN :otherIds) " +
+           "OR (f.following.id = :userId AND f.follower.id IN :otherIds)")
+    List<EdgeSource> findEdgesBetween(@Param("userId") UUID userId, @Param("otherIds") Collection<UUID> otherIds);
+    
+    interface EdgeSource {
+        UUID getFollowerId();
+        UUID getFollowingId();
+    }
+}
@@ -4,9 +4,13 @@ import com.adepuu.blog.domain.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,6 +35,85 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query("SELECT u FROM User u WHERE u.isActive = true AND u.deletedAt IS NULL")
     Page<User> findByIsActiveTrue(Pageable pageable);
     
-    @Query("SELECT u FROM User u WHERE LOWER(u.username) LIKE LOWER(CONCAT('%', :search, '%')) AND u.isActive = true AND u.deletedAt IS NULL")
-    Page<User> findByUsernameContainingIgnoreCaseAndIsActiveTrue(String search, Pageable pageable);
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.followersCount = u.followersCount + :delta WHERE u.id = :userId")
+    int adjustFollowersCount(UUID userId, int delta);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.followingCount = u.followingCount + :delta WHERE u.id = :userId")
+    int adjustFollowingCount(UUID userId, int delta);
+    
+    // Rewrite the follow counters that differ from user_follows; return the number corrected
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.followersCount = (SELECT CAST(COUNT(f) AS Integer) FROM UserFollow f WHERE f.following.id = u.id) " +
+           "WHERE u.followersCount <> (SELECT CAST(COUNT(f) AS Integer) FROM UserFollow f WHERE f.following.id = u.id)")
+    int recountFollowersCounts();
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.followingCount = (SELECT CAST(COUNT(f) AS Integer) FROM UserFollow f WHERE f.follower.id = u.id) " +
+           "WHERE u.followingCount <> (SELECT CAST(COUNT(f) AS Integer) FROM UserFollow f WHERE f.follower.id = u.id)")
+    int recountFollowingCounts();
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.postsCount = u.postsCount + :delta WHERE u.id = :userId")
+    int adjustPostsCount(UUID userId, int delta);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.reactionsReceivedCount = u.reactionsReceivedCount + :delta WHERE u.id = :userId")
+    int adjustReactionsReceivedCount(UUID userId, int delta);
+    
+    // Recounts count every user's rows in one grouped pass and rewrite only the counters that differ
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET posts_count = counted.total FROM (" +
+                   "SELECT u.id, COUNT(p.id) AS total FROM users u " +
+                   "LEFT JOIN posts p ON p.author_id = u.id AND p.deleted_at IS NULL GROUP BY u.id) counted " +
+                   "WHERE users.id = counted.id AND users.posts_count IS DISTINCT FROM counted.total",
+           nativeQuery = true)
+    int recountPostsCounts();
+    
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET reactions_received_count = counted.total FROM (" +
+                   "SELECT u.id, COUNT(received.author_id) AS total FROM users u LEFT JOIN (" +
+                   "SELECT p.author_id FROM reactions r JOIN posts p ON p.id = r.post_id " +
+                   "UNION ALL SELECT c.author_id FROM reactions r JOIN comments c ON c.id = r.comment_id" +
+                   ") received ON received.author_id = u.id GROUP BY u.id) counted " +
+                   "WHERE users.id = counted.id AND users.reactions_received_count IS DISTINCT FROM counted.total",
+           nativeQuery = true)
+    int recountReactionsReceivedCounts();
+    
+    @Query("SELECT u.id AS id, u.postsCount AS postsCount, u.followersCount AS followersCount, " +
+           "u.followingCount AS followingCount, u.reactionsReceivedCount AS reactionsReceivedCount " +
+           "FROM User u WHERE u.id IN :ids")
+    List<StatsSource> findStatsByIdIn(Collection<UUID> ids);
+    
+    // Every active user with its follower count, for the in-memory username index
+    @Query("SELECT u.id AS id, u.username AS username, u.displayName AS displayName, " +
+           "u.profileImageUrl AS profileImageUrl, " +
+           "u.followersCount AS followersCount " +
+           "FROM User u WHERE u.isActive = true AND u.deletedAt IS NULL")
+    List<SuggestionSource> findSuggestionSources();
+    
+    interface SuggestionSource {
+        UUID getId();
+        String getUsername();
+        String getDisplayName();
+        String getProfileImageUrl();
+        Integer getFollowersCount();
+    }
+    
+    interface StatsSource {
+        UUID getId();
+        Integer getPostsCount();
+        Integer getFollowersCount();
+        Integer getFollowingCount();
+        Integer getReactionsReceivedCount();
+    }
 }
@@ -1,10 +1,13 @@
 package com.adepuu.blog.domain.service;
 
+import com.adepuu.blog.delivery.dto.comment.CommentThread;
 import com.adepuu.blog.delivery.dto.comment.CreateCommentInput;
 import com.adepuu.blog.domain.entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 public interface CommentService {
@@ -14,5 +17,26 @@ public interface CommentService {
     Comment getComment(UUID commentId);
     Page<Comment> getCommentsByPost(UUID postId, Pageable pageable);
     Page<Comment> getReplies(UUID parentCommentId, Pageable pageable);
+    /**
+     * Live reply counts of several comments in one query; comments without replies are absent
+     */
+    Map<UUID, Integer> countReplies(Collection<UUID> parentCommentIds);
+    /**
+     * Active comment counts of several posts in one query; posts without comments are absent
+     */
+    Map<UUID, Integer> countByPost(Collection<UUID> postIds);
     boolean reportComment(UUID commentId, String reason, String reporterId);
+
+    /**
+     * Top-level comments of a post with the first replies of each branch, in one query
+     *
+     * @param after   endCursor of the previous thread page
+     * @param replies replies per branch, or null for the configured default
+     */
+    CommentThread getThread(UUID postId, int first, String after, Integer replies);
+
+    /**
+     * Replies of a comment with their own first replies; pass a node's repliesCursor as {@code after}
+     */
+    CommentThread getReplyThread(UUID commentId, int first, String after, Integer replies);
 }
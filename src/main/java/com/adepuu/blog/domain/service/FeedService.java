@@ -0,0 +1,15 @@
+package com.adepuu.blog.domain.service;
+
+import com.adepuu.blog.delivery.dto.feed.FeedFormat;
+import com.adepuu.blog.delivery.dto.feed.RenderedFeed;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface FeedService {
+    RenderedFeed getSiteFeed(FeedFormat format);
+    RenderedFeed getTagFeed(String tagSlug, FeedFormat format);
+    RenderedFeed getAuthorFeed(String username, FeedFormat format);
+    void postsChanged(String authorUsername, Collection<UUID> tagIds);
+    void allChanged();
+}
@@ -0,0 +1,11 @@
+package com.adepuu.blog.domain.service;
+
+import com.adepuu.blog.delivery.dto.post.PostFilter;
+import com.adepuu.blog.delivery.dto.post.PostListing;
+
+public interface PostListingService {
+    /**
+     * @param countTotal whether to also count all matching posts, an extra query over the whole range
+     */
+    PostListing list(PostFilter filter, int page, int size, String after, boolean countTotal);
+}
@@ -0,0 +1,19 @@
+package com.adepuu.blog.domain.service;
+
+import com.adepuu.blog.delivery.dto.post.PostSearchResult;
+import com.adepuu.blog.domain.entity.Post;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface PostSearchService {
+    default PostSearchResult search(String query, List<String> tagSlugs, int first, String after) {
+        return search(query, tagSlugs, Post.PostStatus.PUBLISHED, null, first, after);
+    }
+
+    /**
+     * Searches posts in {@code status}, optionally limited to one author; a null status means published
+     */
+    PostSearchResult search(String query, List<String> tagSlugs, Post.PostStatus status, UUID authorId,
+                            int first, String after);
+}
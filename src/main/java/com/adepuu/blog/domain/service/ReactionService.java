@@ -3,7 +3,9 @@ package com.adepuu.blog.domain.service;
 import com.adepuu.blog.domain.entity.Reaction;
 import com.adepuu.blog.domain.entity.ReactionType;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface ReactionService {
@@ -12,6 +14,10 @@ public interface ReactionService {
     Reaction reactToComment(UUID commentId, String reactionTypeName, String userId);
     boolean removeReactionFromComment(UUID commentId, String reactionTypeName, String userId);
     List<Reaction> getPostReactions(UUID postId);
+    /**
+     * Reaction counts of several posts in one query; posts without reactions are absent
+     */
+    Map<UUID, Integer> countByPost(Collection<UUID> postIds);
     List<Reaction> getCommentReactions(UUID commentId);
     List<ReactionType> getAvailableReactionTypes();
     boolean hasUserReacted(UUID postId, UUID commentId, String reactionTypeName, String userId);
@@ -0,0 +1,15 @@
+package com.adepuu.blog.domain.service;
+
+import com.adepuu.blog.domain.entity.Post;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Set;
+import java.util.UUID;
+
+public interface ReadingListService {
+    boolean addToReadingList(UUID userId, UUID postId);
+    boolean removeFromReadingList(UUID userId, UUID postId);
+    Page<Post> getReadingList(UUID userId, Pageable pageable);
+    Set<UUID> getBookmarkedPostIds(UUID userId);
+}
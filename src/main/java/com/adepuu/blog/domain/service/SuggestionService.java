@@ -0,0 +1,21 @@
+package com.adepuu.blog.domain.service;
+
+import com.adepuu.blog.delivery.dto.suggest.TagSuggestion;
+import com.adepuu.blog.delivery.dto.suggest.UserSuggestion;
+import com.adepuu.blog.domain.entity.Tag;
+import com.adepuu.blog.domain.entity.User;
+
+import java.util.List;
+
+/**
+ * Autocomplete over tag names and usernames, answered from memory
+ */
+public interface SuggestionService {
+    List<TagSuggestion> suggestTags(String prefix, int limit);
+
+    List<UserSuggestion> suggestUsers(String prefix, int limit);
+
+    void tagSaved(Tag tag);
+
+    void userSaved(User user);
+}
@@ -4,7 +4,10 @@ import com.adepuu.blog.domain.entity.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 public interface TagService {
@@ -18,4 +21,7 @@ public interface TagService {
     boolean unfollowTag(UUID tagId, String userId);
     boolean isUserFollowingTag(UUID tagId, String userId);
     List<Tag> getFollowedTagsByUser(String userId);
+    Set<UUID> getFollowedTagIds(UUID userId);
+    void updatePostsCounts(Collection<UUID> previousTagIds, Collection<UUID> currentTagIds);
+    void addPostsCounts(Map<UUID, Integer> deltas);
 }
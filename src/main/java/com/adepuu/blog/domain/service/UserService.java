@@ -1,15 +1,24 @@
 package com.adepuu.blog.domain.service;
 
+import com.adepuu.blog.delivery.dto.user.FollowStatus;
 import com.adepuu.blog.delivery.dto.user.UpdateProfileInput;
+import com.adepuu.blog.delivery.dto.user.UserStats;
 import com.adepuu.blog.domain.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 public interface UserService {
-    int getFollowersCount(UUID userId);
-    int getFollowingCount(UUID userId);
-    int getPostsCount(UUID userId);
+    Map<UUID, UserStats> getStats(Collection<UUID> userIds);
     User updateProfile(UUID userId, UpdateProfileInput input);
     void followUser(UUID followerId, UUID followedId);
     void unfollowUser(UUID followerId, UUID followedId);
+    Page<User> searchUsers(String search, Pageable pageable);
+    Map<FollowStatus.Key, FollowStatus> getFollowStatus(Collection<FollowStatus.Key> keys);
+    Page<User> getFollowers(UUID userId, Pageable pageable);
+    Page<User> getFollowing(UUID userId, Pageable pageable);
+    Page<User> getMutualFollows(UUID userId, Pageable pageable);
 }
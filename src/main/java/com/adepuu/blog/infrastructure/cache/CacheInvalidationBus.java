@@ -0,0 +1,74 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Broadcasts L1 cache invalidations to the other nodes over Redis pub/sub.
+ * Messages have the form {@code <nodeId> <op> <cacheName> <key>}; a node ignores its own messages
+ * because it has already applied the invalidation locally.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    private static final String OP_EVICT = "E";
+    private static final String OP_CLEAR = "C";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final List<LocalCacheInvalidator> invalidators = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public void register(LocalCacheInvalidator invalidator) {
+        invalidators.add(invalidator);
+    }
+
+    /**
+     * Receiving nodes evict the key's string form, so caches invalidated this way must use string keys
+     */
+    public void publishEvict(String cacheName, Object key) {
+        publish(OP_EVICT, cacheName, String.valueOf(key));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(OP_CLEAR, cacheName, "");
+    }
+
+    private void publish(String op, String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + " " + op + " " + cacheName + " " + key);
+        } catch (Exception e) {
+            // Other nodes fall back to their L1 TTL
+            log.warn("Failed to broadcast cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        for (LocalCacheInvalidator invalidator : invalidators) {
+            if (OP_CLEAR.equals(parts[1])) {
+                invalidator.clearLocal(parts[2]);
+            } else if (OP_EVICT.equals(parts[1])) {
+                invalidator.evictLocal(parts[2], parts[3]);
+            }
+        }
+    }
+}
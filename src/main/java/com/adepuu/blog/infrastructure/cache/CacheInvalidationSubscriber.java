@@ -0,0 +1,62 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+/**
+ * Subscribes the {@link CacheInvalidationBus} to its channel once the application is ready. The
+ * listener container is owned here rather than registered as a lifecycle bean so that an unreachable
+ * Redis does not fail startup; the subscription is retried in the background and until it succeeds
+ * L1 entries are only bounded by their TTL.
+ */
+@Slf4j
+public class CacheInvalidationSubscriber implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(10);
+
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    private volatile boolean shutdown;
+
+    public CacheInvalidationSubscriber(RedisConnectionFactory connectionFactory, CacheInvalidationBus bus, String channel) {
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(bus, new ChannelTopic(channel));
+        container.afterPropertiesSet();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        Thread.ofVirtual().name("cache-invalidation-subscriber").start(this::subscribe);
+    }
+
+    private void subscribe() {
+        while (!shutdown && !container.isRunning()) {
+            try {
+                container.start();
+                log.info("Subscribed to cache invalidation channel");
+            } catch (Exception e) {
+                log.warn("Cache invalidation subscription failed, retrying in {}s: {}",
+                        RETRY_INTERVAL.toSeconds(), e.getMessage());
+                container.stop();
+                try {
+                    Thread.sleep(RETRY_INTERVAL);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        shutdown = true;
+        container.destroy();
+    }
+}
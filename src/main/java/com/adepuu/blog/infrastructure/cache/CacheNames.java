@@ -0,0 +1,17 @@
+package com.adepuu.blog.infrastructure.cache;
+
+/**
+ * Names of the application caches, shared by {@code @Cacheable} declarations and cache configuration
+ */
+public final class CacheNames {
+
+    public static final String POSTS_BY_SLUG = "postsBySlug";
+    public static final String USERS_BY_USERNAME = "usersByUsername";
+    public static final String TAGS_BY_SLUG = "tagsBySlug";
+    public static final String FOLLOWED_TAG_IDS = "followedTagIds";
+    public static final String BOOKMARKED_POST_IDS = "bookmarkedPostIds";
+    public static final String FEEDS = "feeds";
+
+    private CacheNames() {
+    }
+}
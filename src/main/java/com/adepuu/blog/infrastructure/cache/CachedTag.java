@@ -0,0 +1,55 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import com.adepuu.blog.domain.entity.Tag;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * What the {@code tagsBySlug} cache holds for a tag: its columns, without the lazy post and follower
+ * collections or any persistence context state
+ */
+public record CachedTag(
+        UUID id,
+        String name,
+        String slug,
+        String description,
+        String color,
+        String backgroundColor,
+        Boolean isOfficial,
+        Integer postsCount,
+        Integer followersCount,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static CachedTag of(Tag tag) {
+        return new CachedTag(tag.getId(), tag.getName(), tag.getSlug(), tag.getDescription(), tag.getColor(),
+                tag.getBackgroundColor(), tag.getIsOfficial(), tag.getPostsCount(), tag.getFollowersCount(),
+                tag.getCreatedAt(), tag.getUpdatedAt());
+    }
+
+    /**
+     * A new detached tag for one reader, who may change it without affecting the cache
+     */
+    public Tag toTag() {
+        return Tag.builder()
+                .id(id)
+                .name(name)
+                .slug(slug)
+                .description(description)
+                .color(color)
+                .backgroundColor(backgroundColor)
+                .isOfficial(isOfficial)
+                .postsCount(postsCount)
+                .followersCount(followersCount)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
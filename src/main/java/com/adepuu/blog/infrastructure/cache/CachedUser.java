@@ -0,0 +1,73 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import com.adepuu.blog.domain.entity.User;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * What the {@code usersByUsername} cache holds for a user: the columns readers need, without the
+ * password hash or any persistence context state
+ */
+public record CachedUser(
+        UUID id,
+        String username,
+        String email,
+        String displayName,
+        String bio,
+        String profileImageUrl,
+        String githubUrl,
+        String twitterUrl,
+        String websiteUrl,
+        String location,
+        User.UserRole role,
+        Boolean emailVerified,
+        Boolean isActive,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt,
+        Integer followersCount,
+        Integer followingCount,
+        Integer postsCount,
+        Integer reactionsReceivedCount
+) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static CachedUser of(User user) {
+        return new CachedUser(user.getId(), user.getUsername(), user.getEmail(), user.getDisplayName(),
+                user.getBio(), user.getProfileImageUrl(), user.getGithubUrl(), user.getTwitterUrl(),
+                user.getWebsiteUrl(), user.getLocation(), user.getRole(), user.getEmailVerified(),
+                user.getIsActive(), user.getCreatedAt(), user.getUpdatedAt(), user.getFollowersCount(),
+                user.getFollowingCount(), user.getPostsCount(), user.getReactionsReceivedCount());
+    }
+
+    /**
+     * A new detached user for one reader, who may change it without affecting the cache
+     */
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .email(email)
+                .displayName(displayName)
+                .bio(bio)
+                .profileImageUrl(profileImageUrl)
+                .githubUrl(githubUrl)
+                .twitterUrl(twitterUrl)
+                .websiteUrl(websiteUrl)
+                .location(location)
+                .role(role)
+                .emailVerified(emailVerified)
+                .isActive(isActive)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .followersCount(followersCount)
+                .followingCount(followingCount)
+                .postsCount(postsCount)
+                .reactionsReceivedCount(reactionsReceivedCount)
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.adepuu.blog.infrastructure.cache;
+
+/**
+ * Receiver of invalidations broadcast by other nodes through the {@link CacheInvalidationBus}
+ */
+public interface LocalCacheInvalidator {
+
+    void evictLocal(String cacheName, Object key);
+
+    void clearLocal(String cacheName);
+}
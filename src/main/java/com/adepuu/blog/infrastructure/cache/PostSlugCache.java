@@ -0,0 +1,148 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import com.adepuu.blog.domain.entity.Post;
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.infrastructure.config.properties.CacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-through cache for {@code post(slug)} built to survive traffic spikes on a single post:
+ * <ul>
+ *   <li>concurrent misses for the same slug share one {@code findBySlug} load</li>
+ *   <li>after the soft TTL the cached post is still served while a single background reload runs</li>
+ *   <li>a failed reload keeps the previous value, so a database outage serves stale posts until the hard TTL</li>
+ *   <li>unknown slugs are remembered for a few seconds, so repeated requests for one do not each query</li>
+ * </ul>
+ * Cold loads have a reader waiting on them and run on a virtual thread each; only background
+ * refreshes share the bounded refresh pool, so a burst of them cannot delay a first read.
+ * Writers call {@link #invalidate(String)}, which is broadcast to the other nodes.
+ */
+@Slf4j
+@Component
+public class PostSlugCache implements LocalCacheInvalidator, DisposableBean {
+
+    private final AsyncLoadingCache<String, Optional<Post>> cache;
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService refreshExecutor;
+    private final CacheInvalidationBus invalidationBus;
+
+    public PostSlugCache(PostRepository postRepository,
+                         CacheProperties cacheProperties,
+                         ObjectProvider<CacheInvalidationBus> invalidationBus,
+                         ObjectProvider<MeterRegistry> meterRegistry) {
+        CacheProperties.PostReads settings = cacheProperties.getPostReads();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = Executors.newFixedThreadPool(settings.getRefreshThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "post-cache-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .refreshAfterWrite(settings.getRefreshAfter())
+                .expireAfter(new Expiry<String, Optional<Post>>() {
+                    @Override
+                    public long expireAfterCreate(String slug, Optional<Post> post, long currentTime) {
+                        return (post.isPresent() ? settings.getExpireAfter() : settings.getMissExpireAfter()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String slug, Optional<Post> post, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(slug, post, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String slug, Optional<Post> post, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<>() {
+                    @Override
+                    public CompletableFuture<Optional<Post>> asyncLoad(String slug, Executor executor) {
+                        return CompletableFuture.supplyAsync(() -> postRepository.findBySlug(slug), loadExecutor);
+                    }
+
+                    @Override
+                    public CompletableFuture<Optional<Post>> asyncReload(String slug, Optional<Post> previous,
+                                                                         Executor executor) {
+                        return CompletableFuture.supplyAsync(() -> postRepository.findBySlug(slug), refreshExecutor);
+                    }
+                });
+
+        meterRegistry.ifAvailable(registry ->
+                CaffeineCacheMetrics.monitor(registry, cache.synchronous(), CacheNames.POSTS_BY_SLUG));
+
+        this.invalidationBus = invalidationBus.getIfAvailable();
+        if (this.invalidationBus != null) {
+            this.invalidationBus.register(this);
+        }
+    }
+
+    /**
+     * Returns the post with the given slug, or {@code null} if there is none
+     */
+    public Post get(String slug) {
+        try {
+            return cache.get(slug).join().orElse(null);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the cached post on this node and on every other node
+     */
+    public void invalidate(String slug) {
+        if (slug == null) {
+            return;
+        }
+        cache.synchronous().invalidate(slug);
+        if (invalidationBus != null) {
+            invalidationBus.publishEvict(CacheNames.POSTS_BY_SLUG, slug);
+        }
+    }
+
+    @Override
+    public void evictLocal(String cacheName, Object key) {
+        if (CacheNames.POSTS_BY_SLUG.equals(cacheName)) {
+            cache.synchronous().invalidate(String.valueOf(key));
+        }
+    }
+
+    @Override
+    public void clearLocal(String cacheName) {
+        if (CacheNames.POSTS_BY_SLUG.equals(cacheName)) {
+            cache.synchronous().invalidateAll();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+        loadExecutor.shutdownNow();
+    }
+}
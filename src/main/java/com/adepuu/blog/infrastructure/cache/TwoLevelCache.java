@@ -0,0 +1,189 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache backed by a bounded in-process Caffeine cache (L1) and an optional shared Redis cache (L2).
+ * Reads fall through L1 to L2 and promote L2 hits into L1. Evictions are applied to both tiers and
+ * broadcast so that other nodes drop their L1 copy; plain puts stay local because a read-through
+ * load produces the same value on every node.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final CaffeineCache local;
+    private final Cache remote;
+    private final CacheInvalidationBus invalidationBus;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteErrors;
+
+    public TwoLevelCache(CaffeineCache local, Cache remote, CacheInvalidationBus invalidationBus, MeterRegistry meterRegistry) {
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        if (remote != null) {
+            this.remoteHits = remoteCounter(meterRegistry, "hit");
+            this.remoteMisses = remoteCounter(meterRegistry, "miss");
+            this.remoteErrors = remoteCounter(meterRegistry, "error");
+        } else {
+            this.remoteHits = null;
+            this.remoteMisses = null;
+            this.remoteErrors = null;
+        }
+    }
+
+    private Counter remoteCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.l2.gets")
+                .tag("cache", getName())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    public CaffeineCache getLocalCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(key);
+        if (value != null || remote == null) {
+            return value;
+        }
+
+        value = getRemote(key);
+        if (value != null && value.get() != null) {
+            local.put(key, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) {
+            return null;
+        }
+        Object result = value.get();
+        if (result != null && type != null && !type.isInstance(result)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + result);
+        }
+        return (T) result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Caffeine runs the loader at most once per key on this node
+        return local.get(key, () -> {
+            ValueWrapper value = getRemote(key);
+            if (value != null) {
+                return (T) value.get();
+            }
+            T loaded = valueLoader.call();
+            putRemote(key, loaded);
+            return loaded;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        putRemote(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = local.putIfAbsent(key, value);
+        if (existing == null) {
+            putRemote(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        if (remote != null) {
+            try {
+                remote.evict(key);
+            } catch (Exception e) {
+                log.warn("Failed to evict {} from L2 cache {}: {}", key, getName(), e.getMessage());
+            }
+        }
+        if (invalidationBus != null) {
+            invalidationBus.publishEvict(getName(), key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        if (remote != null) {
+            try {
+                remote.clear();
+            } catch (Exception e) {
+                log.warn("Failed to clear L2 cache {}: {}", getName(), e.getMessage());
+            }
+        }
+        if (invalidationBus != null) {
+            invalidationBus.publishClear(getName());
+        }
+    }
+
+    /**
+     * Drops the L1 entry only, used when another node has invalidated the key
+     */
+    void evictLocal(Object key) {
+        local.evict(key);
+    }
+
+    void clearLocal() {
+        local.clear();
+    }
+
+    private ValueWrapper getRemote(Object key) {
+        if (remote == null) {
+            return null;
+        }
+        try {
+            ValueWrapper value = remote.get(key);
+            (value != null ? remoteHits : remoteMisses).increment();
+            return value;
+        } catch (Exception e) {
+            // Redis being unavailable degrades to L1-only caching
+            remoteErrors.increment();
+            log.debug("L2 cache {} lookup failed: {}", getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(Object key, Object value) {
+        if (remote == null || value == null) {
+            return;
+        }
+        try {
+            remote.put(key, value);
+        } catch (Exception e) {
+            remoteErrors.increment();
+            log.debug("L2 cache {} write failed: {}", getName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache manager producing {@link TwoLevelCache} instances. Every cache gets its own bounded Caffeine
+ * L1 built from a per-cache spec (or the default spec) with statistics bound to Micrometer, and
+ * optionally a Redis L2 taken from {@code remoteCacheManager}.
+ */
+public class TwoLevelCacheManager implements CacheManager, LocalCacheInvalidator {
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    private final Map<String, String> specs;
+    private final String defaultSpec;
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+
+    public TwoLevelCacheManager(Map<String, String> specs,
+                                String defaultSpec,
+                                CacheManager remoteCacheManager,
+                                CacheInvalidationBus invalidationBus,
+                                MeterRegistry meterRegistry) {
+        this.specs = Map.copyOf(specs);
+        this.defaultSpec = defaultSpec;
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+
+        if (invalidationBus != null) {
+            invalidationBus.register(this);
+        }
+        // Create configured caches eagerly so their metrics are visible before first use
+        this.specs.keySet().forEach(this::getCache);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    @Override
+    public void evictLocal(String cacheName, Object key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    @Override
+    public void clearLocal(String cacheName) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    private TwoLevelCache createCache(String name) {
+        CaffeineSpec spec = CaffeineSpec.parse(specs.getOrDefault(name, defaultSpec));
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = Caffeine.from(spec)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nativeCache, name);
+
+        Cache remote = remoteCacheManager != null ? remoteCacheManager.getCache(name) : null;
+        return new TwoLevelCache(new CaffeineCache(name, nativeCache, false), remote, invalidationBus, meterRegistry);
+    }
+}
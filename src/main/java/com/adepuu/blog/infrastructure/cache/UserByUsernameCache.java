@@ -0,0 +1,52 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import com.adepuu.blog.domain.entity.User;
+import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.infrastructure.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Active users by username, for {@code user(username)} and author feeds. The cache holds
+ * {@link CachedUser} snapshots rather than entities, so no reader is handed an entity that belongs to
+ * another request's persistence context, and every read gets a detached copy of its own.
+ * The services that save a user call {@link #evict(String)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserByUsernameCache {
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Returns the active user with the given username, or {@code null} if there is none
+     */
+    public User get(String username) {
+        Cache cache = cacheManager.getCache(CacheNames.USERS_BY_USERNAME);
+        CachedUser cached = cache != null ? cache.get(username, CachedUser.class) : null;
+        if (cached == null) {
+            User user = userRepository.findByUsernameAndIsActiveTrue(username).orElse(null);
+            if (user == null) {
+                return null;
+            }
+            cached = CachedUser.of(user);
+            if (cache != null) {
+                cache.put(username, cached);
+            }
+        }
+        return cached.toUser();
+    }
+
+    /**
+     * Drops the user's entry once the current transaction commits
+     */
+    public void evict(String username) {
+        Cache cache = cacheManager.getCache(CacheNames.USERS_BY_USERNAME);
+        if (cache != null && username != null) {
+            AfterCommit.run(() -> cache.evict(username));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import com.adepuu.blog.infrastructure.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cached per-user id sets, such as the tags a user follows or the posts they bookmarked, which answer a
+ * per-item viewer flag for a whole response with one lookup. A set is dropped once the write that changed
+ * it commits, so a concurrent read cannot cache the set from before the change. Entries are keyed by the
+ * user id's string form, which is also how {@link CacheInvalidationBus} carries keys to the other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserIdSets {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Returns the user's set from {@code cacheName}, loading and caching it on a miss
+     */
+    public Set<UUID> get(String cacheName, UUID userId, Supplier<? extends Collection<UUID>> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return Set.copyOf(loader.get());
+        }
+        return cache.get(userId.toString(), () -> Set.copyOf(loader.get()));
+    }
+
+    /**
+     * Drops the user's set from {@code cacheName} after the current transaction commits
+     */
+    public void changed(String cacheName, UUID userId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            AfterCommit.run(() -> cache.evict(userId.toString()));
+        }
+    }
+}
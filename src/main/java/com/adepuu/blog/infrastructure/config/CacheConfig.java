@@ -1,52 +1,76 @@
 package com.adepuu.blog.infrastructure.config;
 
-import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import com.adepuu.blog.infrastructure.cache.CacheInvalidationBus;
+import com.adepuu.blog.infrastructure.cache.CacheInvalidationSubscriber;
+import com.adepuu.blog.infrastructure.cache.TwoLevelCacheManager;
+import com.adepuu.blog.infrastructure.config.properties.CacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
-import java.util.List;
-
+/**
+ * Two-tier cache configuration: bounded Caffeine caches per node, an optional Redis L2 shared by
+ * all nodes, and L1 invalidation broadcast over Redis pub/sub.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
-    
+
     @Bean
     @Primary
-    public CacheManager cacheManager() {
-        // Use simple concurrent map cache manager as fallback
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        cacheManager.setCacheNames(List.of("posts", "users", "tags", "comments"));
-        cacheManager.setAllowNullValues(false);
-        return cacheManager;
+    public CacheManager cacheManager(CacheProperties cacheProperties,
+                                     @Value("${spring.cache.caffeine.spec:maximumSize=1000,expireAfterWrite=10m}") String defaultSpec,
+                                     ObjectProvider<RedisConnectionFactory> connectionFactory,
+                                     ObjectProvider<CacheInvalidationBus> invalidationBus,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        CacheManager remoteCacheManager = null;
+        if (cacheProperties.getRedis().isEnabled()) {
+            // Values use JDK serialization so cached entities keep their concrete types
+            RedisCacheConfiguration redisCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                    .entryTtl(cacheProperties.getRedis().getTtl())
+                    .prefixCacheNameWith(cacheProperties.getRedis().getKeyPrefix())
+                    .disableCachingNullValues();
+            RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory.getObject())
+                    .cacheDefaults(redisCacheConfiguration)
+                    .build();
+            redisCacheManager.afterPropertiesSet();
+            remoteCacheManager = redisCacheManager;
+        }
+
+        return new TwoLevelCacheManager(
+                cacheProperties.getSpecs(),
+                defaultSpec,
+                remoteCacheManager,
+                invalidationBus.getIfAvailable(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
     }
-    
-    // Caffeine cache configuration - only if Caffeine is available
+
     @Configuration
-    @ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
-    static class CaffeineConfig {
-        
+    @ConditionalOnProperty(prefix = "blog.cache.invalidation", name = "enabled", havingValue = "true")
+    static class CacheInvalidationConfig {
+
+        @Bean
+        public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate, CacheProperties cacheProperties) {
+            return new CacheInvalidationBus(stringRedisTemplate, cacheProperties.getInvalidation().getChannel());
+        }
+
         @Bean
-        public CacheManager caffeineCacheManager() {
-            try {
-                // Use reflection to avoid compile-time dependency
-                Class<?> caffeineCacheManagerClass = Class.forName("org.springframework.cache.caffeine.CaffeineCacheManager");
-                Object cacheManager = caffeineCacheManagerClass.getDeclaredConstructor().newInstance();
-                
-                // Set cache names
-                java.lang.reflect.Method setCacheNames = caffeineCacheManagerClass.getMethod("setCacheNames", java.util.Collection.class);
-                setCacheNames.invoke(cacheManager, List.of("posts", "users", "tags", "comments"));
-                
-                return (CacheManager) cacheManager;
-            } catch (Exception e) {
-                // Fall back to concurrent map cache manager
-                ConcurrentMapCacheManager fallback = new ConcurrentMapCacheManager();
-                fallback.setCacheNames(List.of("posts", "users", "tags", "comments"));
-                return fallback;
-            }
+        public CacheInvalidationSubscriber cacheInvalidationSubscriber(RedisConnectionFactory connectionFactory,
+                                                                       CacheInvalidationBus cacheInvalidationBus,
+                                                                       CacheProperties cacheProperties) {
+            return new CacheInvalidationSubscriber(connectionFactory, cacheInvalidationBus,
+                    cacheProperties.getInvalidation().getChannel());
         }
     }
 }
@@ -37,6 +37,8 @@ public class SecurityConfig {
                 .requestMatchers("/gql").permitAll()
                 .requestMatchers("/graphiql/**").permitAll()
                 .requestMatchers("/auth/**").permitAll()
+                .requestMatchers("/sitemap.xml", "/sitemaps/**").permitAll()
+                .requestMatchers("/feeds/**").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
                 .requestMatchers("/actuator/prometheus").permitAll()
                 // All other requests require authentication
@@ -0,0 +1,50 @@
+package com.adepuu.blog.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.cache")
+public class CacheProperties {
+
+    // Per-cache Caffeine specs, e.g. usersByUsername=maximumSize=10000,expireAfterWrite=15m.
+    // Caches without an entry fall back to spring.cache.caffeine.spec.
+    private Map<String, String> specs = new HashMap<>();
+
+    private Redis redis = new Redis();
+
+    private Invalidation invalidation = new Invalidation();
+
+    private PostReads postReads = new PostReads();
+
+    @Data
+    public static class Redis {
+        private boolean enabled = false;
+        private Duration ttl = Duration.ofMinutes(30);
+        private String keyPrefix = "cache:";
+    }
+
+    // Stale-while-revalidate settings for post(slug): entries older than refreshAfter are served
+    // while one background reload runs; entries older than expireAfter are dropped. Slugs with no
+    // post are remembered for missExpireAfter.
+    @Data
+    public static class PostReads {
+        private long maximumSize = 5000;
+        private Duration refreshAfter = Duration.ofSeconds(30);
+        private Duration expireAfter = Duration.ofHours(1);
+        private Duration missExpireAfter = Duration.ofSeconds(5);
+        private int refreshThreads = 4;
+    }
+
+    @Data
+    public static class Invalidation {
+        private boolean enabled = false;
+        private String channel = "blog:cache:invalidation";
+    }
+}
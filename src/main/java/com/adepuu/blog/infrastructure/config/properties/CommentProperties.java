@@ -0,0 +1,32 @@
+package com.adepuu.blog.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.comments")
+public class CommentProperties {
+
+    // Reply levels loaded below each top-level comment in one thread query
+    private int threadDepth = 3;
+
+    // Replies shown per branch when the request does not ask for a number
+    private int defaultReplies = 3;
+
+    private int maxReplies = 20;
+
+    private Live live = new Live();
+
+    // commentAdded subscriptions
+    @Data
+    public static class Live {
+        // Comments queued per subscriber; a subscriber that falls this far behind is disconnected
+        private int subscriberBuffer = 32;
+
+        // Relay new comments to the other nodes over Redis pub/sub
+        private boolean redisEnabled = false;
+        private String channel = "blog:comments:added";
+    }
+}
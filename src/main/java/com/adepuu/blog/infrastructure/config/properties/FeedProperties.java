@@ -0,0 +1,22 @@
+package com.adepuu.blog.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.feeds")
+public class FeedProperties {
+
+    private String title = "Blog";
+
+    // Where post, tag and author pages live
+    private String siteUrl = "http://localhost:3000";
+
+    // Where this service is reachable; used for the feeds' self links
+    private String baseUrl = "http://localhost:8080";
+
+    // Newest posts per feed
+    private int size = 20;
+}
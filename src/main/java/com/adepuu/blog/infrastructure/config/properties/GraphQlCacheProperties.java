@@ -0,0 +1,14 @@
+package com.adepuu.blog.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.graphql.cache")
+public class GraphQlCacheProperties {
+
+    // Seconds a GET response may be cached for when a root field has no @cacheControl hint
+    private int defaultMaxAge = 0;
+}
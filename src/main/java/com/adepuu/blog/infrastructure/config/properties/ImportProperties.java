@@ -0,0 +1,17 @@
+package com.adepuu.blog.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.import")
+public class ImportProperties {
+
+    // Records parsed, prepared and inserted together; each chunk commits on its own
+    private int batchSize = 500;
+
+    // Workers sanitizing and rendering records; 0 uses one per CPU
+    private int parallelism = 0;
+}
@@ -0,0 +1,23 @@
+package com.adepuu.blog.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.markdown")
+public class MarkdownProperties {
+
+    private Rerender rerender = new Rerender();
+
+    // Background re-rendering of posts stored with an older MarkdownRenderer.VERSION.
+    // Chunks are rendered on `parallelism` threads; writes are paced to maxWritesPerSecond.
+    @Data
+    public static class Rerender {
+        private boolean enabled = true;
+        private int chunkSize = 200;
+        private int parallelism = 2;
+        private int maxWritesPerSecond = 50;
+    }
+}
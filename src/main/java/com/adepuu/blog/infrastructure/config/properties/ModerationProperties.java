@@ -0,0 +1,21 @@
+package com.adepuu.blog.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.moderation")
+public class ModerationProperties {
+
+    // Terms always blocked, in addition to those read from blocklistLocation
+    private List<String> blockedTerms = new ArrayList<>(List.of("spam", "abuse", "offensive"));
+
+    // Optional resource with one term per line, '#' starts a comment, e.g. file:/etc/blog/blocklist.txt.
+    // Re-read on Blocklist.reload().
+    private String blocklistLocation;
+}
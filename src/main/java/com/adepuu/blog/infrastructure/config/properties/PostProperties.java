@@ -0,0 +1,31 @@
+package com.adepuu.blog.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.posts")
+public class PostProperties {
+
+    private Live live = new Live();
+
+    // postStats subscriptions
+    @Data
+    public static class Live {
+        // Changes to a post within one interval are sent to its subscribers as one update
+        private Duration statsInterval = Duration.ofMillis(500);
+
+        // Counts of every watched post are reloaded this often, in case a change was not relayed
+        private Duration resyncInterval = Duration.ofSeconds(30);
+
+        private int subscriberBuffer = 16;
+
+        // Relay changed posts to the other nodes over Redis pub/sub
+        private boolean redisEnabled = false;
+        private String channel = "blog:posts:stats";
+    }
+}
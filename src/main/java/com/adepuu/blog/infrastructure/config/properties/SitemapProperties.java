@@ -0,0 +1,31 @@
+package com.adepuu.blog.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.sitemap")
+public class SitemapProperties {
+
+    // Where post pages live; entries point at {siteUrl}/posts/{slug}
+    private String siteUrl = "http://localhost:3000";
+
+    // Where this service is reachable; the index points at {baseUrl}/sitemaps/sitemap-{n}.xml
+    private String baseUrl = "http://localhost:8080";
+
+    // Target posts per shard; shards are split by id, so sizes vary a little around it (hard limit 50000)
+    private int shardSize = 10000;
+
+    // Rows the streaming cursor fetches per round trip
+    private int fetchSize = 1000;
+
+    // Rendered shards and their state; reused across restarts
+    private String cacheDir = System.getProperty("java.io.tmpdir") + "/blog-sitemaps";
+
+    // Shards containing posts changed since the previous refresh are rendered again
+    private Duration refreshInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,18 @@
+package com.adepuu.blog.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.suggest")
+public class SuggestProperties {
+
+    // Full reload from the database; picks up ranking changes and writes made on other nodes
+    private Duration refreshInterval = Duration.ofMinutes(10);
+
+    private int maxLimit = 20;
+}
@@ -0,0 +1,32 @@
+package com.adepuu.blog.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.tags")
+public class TagProperties {
+
+    // Number of tags kept in the popularTags snapshot
+    private int popularSize = 50;
+
+    // Periodic rebuild on top of change-triggered ones; picks up counter changes made on other nodes
+    private Duration popularRefreshInterval = Duration.ofMinutes(5);
+
+    // How long a rebuild waits after a counter change, so a burst of changes costs one rebuild
+    private Duration popularRebuildDelay = Duration.ofSeconds(1);
+
+    // Recount of posts_count from published posts, correcting drift
+    private Duration postsRecountInterval = Duration.ofHours(1);
+
+    // Zero applies follower count changes in the follow's transaction; a positive interval sums them
+    // in memory and writes them in batches
+    private Duration followersFlushInterval = Duration.ZERO;
+
+    // Recount of followers_count from tag_follows, correcting drift
+    private Duration followersReconcileInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,155 @@
+package com.adepuu.blog.infrastructure.content;
+
+/**
+ * Derives plain text, word count, reading time and excerpt from HTML in a single scan.
+ * <p>
+ * Tags are skipped, the common entities are decoded (unknown ones are dropped) and whitespace runs are
+ * collapsed into one space while the plain text is appended to a single builder; words are counted on
+ * the same pass. No regex, no intermediate strings and no word array are created.
+ */
+public final class ContentAnalyzer {
+
+    public static final int WORDS_PER_MINUTE = 200;
+    public static final int MAX_READING_TIME_MINUTES = 60;
+
+    // Longest entity we try to decode, e.g. "&#x1F600;"
+    private static final int MAX_ENTITY_LENGTH = 10;
+
+    private ContentAnalyzer() {
+    }
+
+    public record Analysis(int wordCount, int readingTimeMinutes, String plainText, String excerpt) {
+    }
+
+    public static Analysis analyze(String html, int excerptLength) {
+        if (html == null || html.isEmpty()) {
+            return new Analysis(0, 1, "", "");
+        }
+
+        StringBuilder text = new StringBuilder(html.length());
+        int words = 0;
+        boolean pendingSpace = false;
+        int length = html.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = html.charAt(i);
+            char out;
+
+            if (c == '<') {
+                int close = html.indexOf('>', i + 1);
+                if (close < 0) {
+                    break; // Unterminated tag: the rest is markup
+                }
+                i = close + 1;
+                continue;
+            } else if (c == '&') {
+                int semicolon = html.indexOf(';', i + 1);
+                if (semicolon > i + 1 && semicolon - i <= MAX_ENTITY_LENGTH) {
+                    out = decodeEntity(html, i + 1, semicolon);
+                    i = semicolon + 1;
+                    if (out == 0) {
+                        continue;
+                    }
+                } else {
+                    out = c;
+                    i++;
+                }
+            } else {
+                out = c;
+                i++;
+            }
+
+            if (isSpace(out)) {
+                pendingSpace = text.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    text.append(' ');
+                    pendingSpace = false;
+                    words++;
+                } else if (text.length() == 0) {
+                    words++;
+                }
+                text.append(out);
+            }
+        }
+
+        String plainText = text.toString();
+        return new Analysis(words, readingTime(words), plainText, excerpt(plainText, excerptLength));
+    }
+
+    /**
+     * Trims and collapses whitespace runs into single spaces in one pass
+     */
+    public static String normalizeWhitespace(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSpace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    public static int readingTime(int wordCount) {
+        int minutes = Math.max(1, (wordCount + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+        return Math.min(minutes, MAX_READING_TIME_MINUTES);
+    }
+
+    /**
+     * Cuts plain text to maxLength, preferring a word boundary near the end, and appends "..."
+     */
+    static String excerpt(String plainText, int maxLength) {
+        if (plainText.length() <= maxLength) {
+            return plainText;
+        }
+
+        int end = maxLength;
+        int lastSpace = plainText.lastIndexOf(' ', maxLength - 1);
+        if (lastSpace > maxLength * 0.8) {
+            end = lastSpace;
+        }
+        return plainText.substring(0, end) + "...";
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r') || c == ' ';
+    }
+
+    /**
+     * Decodes the entity between '&' and ';'; returns 0 for entities that are dropped
+     */
+    private static char decodeEntity(String s, int from, int to) {
+        if (s.charAt(from) == '#') {
+            try {
+                int codePoint = s.charAt(from + 1) == 'x' || s.charAt(from + 1) == 'X'
+                        ? Integer.parseInt(s, from + 2, to, 16)
+                        : Integer.parseInt(s, from + 1, to, 10);
+                return Character.isBmpCodePoint(codePoint) ? (char) codePoint : 0;
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                return 0;
+            }
+        }
+        return switch (s.substring(from, to)) {
+            case "amp" -> '&';
+            case "lt" -> '<';
+            case "gt" -> '>';
+            case "quot" -> '"';
+            case "apos" -> '\'';
+            case "nbsp" -> ' ';
+            default -> 0;
+        };
+    }
+}
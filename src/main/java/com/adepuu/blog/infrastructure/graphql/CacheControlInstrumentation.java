@@ -0,0 +1,42 @@
+package com.adepuu.blog.infrastructure.graphql;
+
+import com.adepuu.blog.infrastructure.config.properties.GraphQlCacheProperties;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLAppliedDirectiveArgument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the {@code @cacheControl} hint of every field fetched to the request's {@link CacheHints}.
+ * Only requests that carry hints in their context, i.e. GET requests, are tracked.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheControlInstrumentation extends SimplePerformantInstrumentation {
+
+    static final String DIRECTIVE = "cacheControl";
+
+    private final GraphQlCacheProperties graphQlCacheProperties;
+
+    @Override
+    public FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters,
+                                                                  InstrumentationState state) {
+        CacheHints hints = parameters.getExecutionContext().getGraphQLContext().get(CacheHints.CONTEXT_KEY);
+        if (hints != null) {
+            GraphQLAppliedDirective directive = parameters.getField().getAppliedDirective(DIRECTIVE);
+            if (directive != null) {
+                GraphQLAppliedDirectiveArgument maxAge = directive.getArgument("maxAge");
+                GraphQLAppliedDirectiveArgument scope = directive.getArgument("scope");
+                hints.restrict(maxAge != null ? maxAge.getValue() : null,
+                        scope != null && "PRIVATE".equals(scope.getValue()));
+            } else if (parameters.getExecutionStepInfo().getPath().getLevel() == 1) {
+                hints.restrict(graphQlCacheProperties.getDefaultMaxAge(), false);
+            }
+        }
+        return super.beginFieldFetching(parameters, state);
+    }
+}
@@ -0,0 +1,38 @@
+package com.adepuu.blog.infrastructure.graphql;
+
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+
+/**
+ * Cache policy of one GraphQL GET request, narrowed by every field executed: the lowest max-age
+ * wins and one private field makes the whole response private
+ */
+final class CacheHints {
+
+    static final String CONTEXT_KEY = CacheHints.class.getName();
+
+    private int maxAge = Integer.MAX_VALUE;
+    private boolean privateScope;
+
+    synchronized void restrict(Integer fieldMaxAge, boolean privateField) {
+        if (fieldMaxAge != null) {
+            maxAge = Math.min(maxAge, Math.max(0, fieldMaxAge));
+        }
+        privateScope |= privateField;
+    }
+
+    synchronized void makePrivate() {
+        privateScope = true;
+    }
+
+    synchronized CacheControl toCacheControl() {
+        int seconds = maxAge == Integer.MAX_VALUE ? 0 : maxAge;
+        if (seconds == 0) {
+            // Shared caches may still keep public responses and revalidate them with the ETag
+            return privateScope ? CacheControl.noStore() : CacheControl.noCache();
+        }
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(seconds));
+        return privateScope ? cacheControl.cachePrivate() : cacheControl.cachePublic();
+    }
+}
@@ -0,0 +1,36 @@
+package com.adepuu.blog.infrastructure.graphql;
+
+import com.adepuu.blog.delivery.dto.user.FollowStatus;
+import com.adepuu.blog.delivery.dto.user.UserStats;
+import com.adepuu.blog.domain.service.CommentService;
+import com.adepuu.blog.domain.service.ReactionService;
+import com.adepuu.blog.domain.service.UserService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Request-scoped batch loaders: every key requested while resolving one level of a response is
+ * loaded with a single call. Resolvers get them as {@code DataLoader<K, V>} arguments, matched by value
+ * type or, for plain values, by the parameter name the loader is registered under.
+ */
+@Configuration
+public class DataLoaderConfig {
+
+    public DataLoaderConfig(BatchLoaderRegistry registry, UserService userService, CommentService commentService,
+                            ReactionService reactionService) {
+        registry.forTypePair(UUID.class, UserStats.class)
+                .registerMappedBatchLoader((userIds, env) -> Mono.fromSupplier(() -> userService.getStats(userIds)));
+        registry.forTypePair(FollowStatus.Key.class, FollowStatus.class)
+                .registerMappedBatchLoader((keys, env) -> Mono.fromSupplier(() -> userService.getFollowStatus(keys)));
+        registry.<UUID, Integer>forName("commentRepliesCount")
+                .registerMappedBatchLoader((commentIds, env) ->
+                        Mono.fromSupplier(() -> commentService.countReplies(commentIds)));
+        registry.<UUID, Integer>forName("postCommentsCount")
+                .registerMappedBatchLoader((postIds, env) -> Mono.fromSupplier(() -> commentService.countByPost(postIds)));
+        registry.<UUID, Integer>forName("postReactionsCount")
+                .registerMappedBatchLoader((postIds, env) -> Mono.fromSupplier(() -> reactionService.countByPost(postIds)));
+    }
+}
@@ -0,0 +1,27 @@
+package com.adepuu.blog.infrastructure.graphql;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.servlet.function.RequestPredicates;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+/**
+ * Routes {@code GET /gql?query=...} to the {@link GraphQlGetHandler}. It is ordered ahead of the
+ * GraphQL routes of Spring Boot, which answer every GET on the endpoint with 405.
+ */
+@Configuration
+public class GraphQlGetConfig {
+
+    @Bean
+    @Order(-1)
+    public RouterFunction<ServerResponse> graphQlGetRouterFunction(GraphQlGetHandler graphQlGetHandler,
+                                                                   @Value("${spring.graphql.http.path:/graphql}") String path) {
+        return RouterFunctions.route()
+                .GET(path, RequestPredicates.param("query", query -> true), graphQlGetHandler::handle)
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.adepuu.blog.infrastructure.graphql;
+
+import com.adepuu.blog.infrastructure.web.ETags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.parser.Parser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Executes GraphQL queries sent as GET requests ({@code ?query=...&variables=...}) so that browsers,
+ * reverse proxies and CDNs can cache them. Cache-Control is computed from the {@code @cacheControl}
+ * hints of the fields executed ({@link CacheControlInstrumentation}), and the ETag is a hash of the
+ * serialized response, answering If-None-Match with 304. Mutations and subscriptions stay POST-only.
+ */
+@Component
+@RequiredArgsConstructor
+public class GraphQlGetHandler {
+
+    private static final MediaType GRAPHQL_RESPONSE = MediaType.parseMediaType("application/graphql-response+json");
+
+    private final WebGraphQlHandler webGraphQlHandler;
+    private final ObjectMapper objectMapper;
+
+    public ServerResponse handle(ServerRequest request) {
+        return ServerResponse.async(execute(request));
+    }
+
+    Mono<ServerResponse> execute(ServerRequest request) {
+        String query = request.param("query").orElse("");
+        String operationName = request.param("operationName").filter(name -> !name.isBlank()).orElse(null);
+        if (!isQuery(query, operationName)) {
+            return Mono.just(ServerResponse.status(HttpStatus.METHOD_NOT_ALLOWED)
+                    .header(HttpHeaders.ALLOW, "POST")
+                    .build());
+        }
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("query", query);
+        body.put("operationName", operationName);
+        try {
+            body.put("variables", json(request.param("variables").orElse(null)));
+            body.put("extensions", json(request.param("extensions").orElse(null)));
+        } catch (JsonProcessingException e) {
+            return Mono.just(ServerResponse.badRequest().build());
+        }
+
+        WebGraphQlRequest graphQlRequest = new WebGraphQlRequest(request.uri(), request.headers().asHttpHeaders(),
+                cookies(request), request.remoteAddress().orElse(null), request.attributes(), body,
+                request.servletRequest().getRequestId(), request.servletRequest().getLocale());
+
+        CacheHints hints = new CacheHints();
+        if (request.headers().firstHeader(HttpHeaders.AUTHORIZATION) != null) {
+            // Never let a shared cache keep a response computed for a signed-in user
+            hints.makePrivate();
+        }
+        graphQlRequest.configureExecutionInput((input, builder) ->
+                builder.graphQLContext(Map.of(CacheHints.CONTEXT_KEY, hints)).build());
+
+        return webGraphQlHandler.handleRequest(graphQlRequest)
+                .map(response -> render(request, response, hints));
+    }
+
+    private ServerResponse render(ServerRequest request, WebGraphQlResponse response, CacheHints hints) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response.toMap());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        String etag = ETags.of(body);
+        CacheControl cacheControl = response.getErrors().isEmpty() ? hints.toCacheControl() : CacheControl.noStore();
+
+        // The policy depends on whether the request was signed in, so shared caches must key on it
+        if (matches(request.headers().header(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.AUTHORIZATION)
+                    .build();
+        }
+        return ServerResponse.ok()
+                .headers(headers -> headers.addAll(response.getResponseHeaders()))
+                .contentType(GRAPHQL_RESPONSE)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(body);
+    }
+
+    /**
+     * True unless the selected operation is a mutation or a subscription; documents that cannot be
+     * parsed are left to the execution to report
+     */
+    private static boolean isQuery(String query, String operationName) {
+        Document document;
+        try {
+            document = Parser.parse(query);
+        } catch (RuntimeException e) {
+            return true;
+        }
+        List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+        for (OperationDefinition operation : operations) {
+            if (operations.size() == 1 || (operationName != null && operationName.equals(operation.getName()))) {
+                return operation.getOperation() == OperationDefinition.Operation.QUERY;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String header : ifNoneMatch) {
+            for (String candidate : header.split(",")) {
+                String value = candidate.trim();
+                if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Map<String, Object> json(String value) throws JsonProcessingException {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return objectMapper.readValue(value, new TypeReference<>() {
+        });
+    }
+
+    private static MultiValueMap<String, HttpCookie> cookies(ServerRequest request) {
+        MultiValueMap<String, HttpCookie> cookies = new LinkedMultiValueMap<>();
+        request.cookies().forEach((name, values) ->
+                values.forEach(cookie -> cookies.add(name, new HttpCookie(name, cookie.getValue()))));
+        return cookies;
+    }
+}
@@ -0,0 +1,63 @@
+package com.adepuu.blog.infrastructure.live;
+
+import com.adepuu.blog.domain.entity.Comment;
+import com.adepuu.blog.infrastructure.config.properties.CommentProperties;
+import com.adepuu.blog.infrastructure.transaction.AfterCommit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Fans new comments out to the {@code commentAdded} subscribers of their post. Subscribers are kept
+ * per post, so a comment only touches the subscribers of its own discussion, and a subscriber that
+ * stops reading is disconnected instead of slowing down the others (see {@link Fanout}).
+ * <p>
+ * Comments made on other nodes arrive through the {@link CommentRelay} when it is enabled.
+ */
+@Component
+public class CommentBroadcaster {
+
+    private final ObjectProvider<CommentRelay> relay;
+    private final Fanout<UUID, Comment> fanout;
+
+    public CommentBroadcaster(CommentProperties commentProperties, ObjectProvider<CommentRelay> relay) {
+        this.relay = relay;
+        this.fanout = new Fanout<>("commentAdded", () -> commentProperties.getLive().getSubscriberBuffer());
+    }
+
+    /**
+     * Comments added to the post from now on
+     */
+    public Flux<Comment> subscribe(UUID postId) {
+        return fanout.subscribe(postId);
+    }
+
+    /**
+     * Delivers a new comment to this node's subscribers and relays it to the other nodes once the
+     * current transaction commits
+     */
+    public void commentAdded(Comment comment) {
+        UUID postId = comment.getPost().getId();
+        AfterCommit.run(() -> {
+            deliver(postId, comment);
+            relay.ifAvailable(r -> r.publish(postId, comment.getId()));
+        });
+    }
+
+    /**
+     * Delivers to this node's subscribers only
+     */
+    void deliver(UUID postId, Comment comment) {
+        fanout.deliver(postId, comment);
+    }
+
+    boolean hasSubscribers(UUID postId) {
+        return fanout.hasSubscribers(postId);
+    }
+
+    int subscriberCount(UUID postId) {
+        return fanout.subscriberCount(postId);
+    }
+}
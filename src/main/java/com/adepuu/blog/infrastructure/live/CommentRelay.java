@@ -0,0 +1,65 @@
+package com.adepuu.blog.infrastructure.live;
+
+import com.adepuu.blog.domain.entity.Comment;
+import com.adepuu.blog.domain.repository.CommentRepository;
+import com.adepuu.blog.infrastructure.config.properties.CommentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Relays new comments between nodes over Redis pub/sub so {@code commentAdded} subscribers see
+ * comments made on any node. A message is {@code <nodeId> <postId> <commentId>}, published once per
+ * comment; the receiving node loads the comment once, and only if it has subscribers for the post,
+ * then hands the same instance to all of them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "blog.comments.live", name = "redis-enabled", havingValue = "true")
+public class CommentRelay extends RedisRelay {
+
+    private final CommentRepository commentRepository;
+    private final CommentBroadcaster broadcaster;
+
+    public CommentRelay(StringRedisTemplate redisTemplate,
+                        RedisConnectionFactory connectionFactory,
+                        CommentRepository commentRepository,
+                        CommentBroadcaster broadcaster,
+                        CommentProperties commentProperties) {
+        super("comment", redisTemplate, connectionFactory, commentProperties.getLive().getChannel());
+        this.commentRepository = commentRepository;
+        this.broadcaster = broadcaster;
+    }
+
+    public void publish(UUID postId, UUID commentId) {
+        try {
+            send(postId + " " + commentId);
+        } catch (Exception e) {
+            // Subscribers on other nodes miss this comment; the thread query still has it
+            log.warn("Failed to relay comment {}: {}", commentId, e.getMessage());
+        }
+    }
+
+    @Override
+    void received(String payload) {
+        String[] parts = payload.split(" ", 2);
+        if (parts.length < 2) {
+            return;
+        }
+        try {
+            UUID postId = UUID.fromString(parts[0]);
+            if (!broadcaster.hasSubscribers(postId)) {
+                return;
+            }
+            List<Comment> comments = commentRepository.findWithAuthorByIdIn(List.of(UUID.fromString(parts[1])));
+            comments.forEach(comment -> broadcaster.deliver(postId, comment));
+        } catch (Exception e) {
+            log.warn("Failed to deliver relayed comment {}: {}", parts[1], e.getMessage());
+        }
+    }
+}
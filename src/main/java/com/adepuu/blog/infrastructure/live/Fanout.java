@@ -0,0 +1,102 @@
+package com.adepuu.blog.infrastructure.live;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+/**
+ * Subscribers grouped by key (a post), each with a bounded queue drained on its own worker.
+ * Delivering is an offer to the queues of that key's subscribers only; a subscriber whose queue is
+ * full is disconnected instead of slowing down the publisher or the other subscribers.
+ */
+@Slf4j
+final class Fanout<K, T> {
+
+    private final String name;
+    private final IntSupplier bufferSize;
+    private final Map<K, Set<Subscriber<T>>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * @param bufferSize read per subscription so configuration changes apply to new subscribers
+     */
+    Fanout(String name, IntSupplier bufferSize) {
+        this.name = name;
+        this.bufferSize = bufferSize;
+    }
+
+    Flux<T> subscribe(K key) {
+        return Flux.defer(() -> {
+            Subscriber<T> subscriber = new Subscriber<>(bufferSize.getAsInt());
+            subscribers.compute(key, (k, current) -> {
+                Set<Subscriber<T>> set = current != null ? current : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+            return subscriber.sink.asFlux()
+                    // Serialization and the socket write run here, off the publishing thread
+                    .publishOn(Schedulers.boundedElastic(), false, 1)
+                    .doFinally(signal -> remove(key, subscriber));
+        });
+    }
+
+    void deliver(K key, T value) {
+        Set<Subscriber<T>> current = subscribers.get(key);
+        if (current == null) {
+            return;
+        }
+        for (Subscriber<T> subscriber : current) {
+            if (!subscriber.offer(value)) {
+                remove(key, subscriber);
+                subscriber.drop();
+                log.debug("Dropped slow {} subscriber of {}", name, key);
+            }
+        }
+    }
+
+    boolean hasSubscribers(K key) {
+        return subscribers.containsKey(key);
+    }
+
+    Set<K> keys() {
+        return subscribers.keySet();
+    }
+
+    int subscriberCount(K key) {
+        Set<Subscriber<T>> current = subscribers.get(key);
+        return current != null ? current.size() : 0;
+    }
+
+    private void remove(K key, Subscriber<T> subscriber) {
+        subscribers.computeIfPresent(key, (k, current) -> {
+            current.remove(subscriber);
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    private static final class Subscriber<T> {
+
+        private final Sinks.Many<T> sink;
+
+        private Subscriber(int buffer) {
+            sink = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(buffer));
+        }
+
+        // Publishers on different threads take turns; the sink rejects concurrent emissions
+        synchronized boolean offer(T value) {
+            Sinks.EmitResult result = sink.tryEmitNext(value);
+            return result.isSuccess() || result == Sinks.EmitResult.FAIL_CANCELLED
+                    || result == Sinks.EmitResult.FAIL_TERMINATED;
+        }
+
+        synchronized void drop() {
+            sink.tryEmitError(new IllegalStateException("Subscriber is too slow"));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.adepuu.blog.infrastructure.live;
+
+import com.adepuu.blog.delivery.dto.post.PostStats;
+import com.adepuu.blog.domain.repository.CommentRepository;
+import com.adepuu.blog.domain.repository.ReactionRepository;
+import com.adepuu.blog.infrastructure.config.properties.PostProperties;
+import com.adepuu.blog.infrastructure.transaction.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes the counters of a post to its {@code postStats} subscribers. Changes only mark the post;
+ * once per {@code blog.posts.live.stats-interval} the marked posts with subscribers have their counts
+ * loaded in one batch and sent, so the publish cost is bounded by posts with subscribers times the
+ * tick rate, not by reactions times subscribers.
+ * <p>
+ * Counts are absolute, so a missed message is corrected by the next one. Posts changed on other nodes
+ * arrive through the {@link PostStatsRelay} when it is enabled, and every watched post is reloaded once
+ * per {@code resync-interval} in case a relay message was lost; only counts that differ from the last
+ * ones sent are pushed. A new subscriber gets the current counts on the next tick.
+ */
+@Slf4j
+@Component
+public class PostStatsBroadcaster implements DisposableBean {
+
+    private final PostProperties postProperties;
+    private final CommentRepository commentRepository;
+    private final ReactionRepository reactionRepository;
+    private final ObjectProvider<PostStatsRelay> relay;
+    private final Fanout<UUID, PostStats> fanout;
+
+    // Changed on this node: reloaded and relayed on the next tick
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+    // Changed on another node: reloaded on the next tick
+    private final Set<UUID> stale = ConcurrentHashMap.newKeySet();
+    // Newly subscribed: sent on the next tick even if unchanged
+    private final Set<UUID> joined = ConcurrentHashMap.newKeySet();
+    // Only touched by the ticker
+    private final Map<UUID, PostStats> lastSent = new HashMap<>();
+
+    private volatile Thread ticker;
+
+    public PostStatsBroadcaster(PostProperties postProperties,
+                                CommentRepository commentRepository,
+                                ReactionRepository reactionRepository,
+                                ObjectProvider<PostStatsRelay> relay) {
+        this.postProperties = postProperties;
+        this.commentRepository = commentRepository;
+        this.reactionRepository = reactionRepository;
+        this.relay = relay;
+        this.fanout = new Fanout<>("postStats", () -> postProperties.getLive().getSubscriberBuffer());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ticker = Thread.ofVirtual().name("post-stats-ticker").start(this::tickLoop);
+    }
+
+    /**
+     * The post's current counts on the next tick, then every change
+     */
+    public Flux<PostStats> subscribe(UUID postId) {
+        return fanout.subscribe(postId).doOnSubscribe(subscription -> joined.add(postId));
+    }
+
+    /**
+     * Marks the post's reactions or comments as changed once the current transaction commits
+     */
+    public void countsChanged(UUID postId) {
+        AfterCommit.run(() -> {
+            if (fanout.hasSubscribers(postId) || relay.getIfAvailable() != null) {
+                changed.add(postId);
+            }
+        });
+    }
+
+    /**
+     * Marks posts whose counts changed on another node
+     */
+    void changedElsewhere(Collection<UUID> postIds) {
+        for (UUID postId : postIds) {
+            if (fanout.hasSubscribers(postId)) {
+                stale.add(postId);
+            }
+        }
+    }
+
+    /**
+     * Relays the posts changed here, then sends the counts of marked posts, or of every watched post
+     * on a resync, to their subscribers where they differ from the last ones sent
+     */
+    synchronized void tick(boolean resync) {
+        List<UUID> changedHere = drain(changed);
+        if (!changedHere.isEmpty()) {
+            relay.ifAvailable(r -> r.publish(changedHere));
+        }
+
+        List<UUID> joinedNow = drain(joined);
+        Set<UUID> due = new HashSet<>(changedHere);
+        due.addAll(drain(stale));
+        due.addAll(joinedNow);
+        if (resync) {
+            due.addAll(fanout.keys());
+        }
+        due.removeIf(postId -> !fanout.hasSubscribers(postId));
+        lastSent.keySet().removeIf(postId -> !fanout.hasSubscribers(postId));
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Integer> comments = new HashMap<>();
+        commentRepository.countActiveByPostIdIn(due)
+                .forEach(count -> comments.put(count.getPostId(), count.getCount().intValue()));
+        Map<UUID, Integer> reactions = new HashMap<>();
+        reactionRepository.countByPostIdIn(due)
+                .forEach(count -> reactions.put(count.getPostId(), count.getCount().intValue()));
+
+        for (UUID postId : due) {
+            PostStats stats = new PostStats(postId, reactions.getOrDefault(postId, 0),
+                    comments.getOrDefault(postId, 0));
+            if (!stats.equals(lastSent.put(postId, stats)) || joinedNow.contains(postId)) {
+                fanout.deliver(postId, stats);
+            }
+        }
+    }
+
+    int subscriberCount(UUID postId) {
+        return fanout.subscriberCount(postId);
+    }
+
+    @Override
+    public void destroy() {
+        Thread thread = ticker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private static List<UUID> drain(Set<UUID> marked) {
+        List<UUID> drained = new ArrayList<>();
+        for (UUID postId : marked) {
+            // Marks added after the removal are picked up by the next tick
+            if (marked.remove(postId)) {
+                drained.add(postId);
+            }
+        }
+        return drained;
+    }
+
+    private void tickLoop() {
+        long lastResync = System.nanoTime();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(postProperties.getLive().getStatsInterval());
+            } catch (InterruptedException e) {
+                return;
+            }
+            boolean resync = System.nanoTime() - lastResync >= postProperties.getLive().getResyncInterval().toNanos();
+            if (resync) {
+                lastResync = System.nanoTime();
+            }
+            try {
+                tick(resync);
+            } catch (Exception e) {
+                log.warn("Post stats tick failed: {}", e.getMessage());
+            }
+        }
+    }
+}
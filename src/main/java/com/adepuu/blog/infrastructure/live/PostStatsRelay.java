@@ -0,0 +1,58 @@
+package com.adepuu.blog.infrastructure.live;
+
+import com.adepuu.blog.infrastructure.config.properties.PostProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Tells the other nodes which posts' counters changed here so their {@code postStats} subscribers
+ * are refreshed too. A message is {@code <nodeId> <postId>...}, one per stats tick with every post
+ * changed on this node in it; receivers reload the counts of those they have subscribers for.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "blog.posts.live", name = "redis-enabled", havingValue = "true")
+public class PostStatsRelay extends RedisRelay {
+
+    private final PostStatsBroadcaster broadcaster;
+
+    public PostStatsRelay(StringRedisTemplate redisTemplate,
+                          RedisConnectionFactory connectionFactory,
+                          PostStatsBroadcaster broadcaster,
+                          PostProperties postProperties) {
+        super("post-stats", redisTemplate, connectionFactory, postProperties.getLive().getChannel());
+        this.broadcaster = broadcaster;
+    }
+
+    public void publish(Collection<UUID> postIds) {
+        try {
+            send(postIds.stream().map(UUID::toString).collect(Collectors.joining(" ")));
+        } catch (Exception e) {
+            // Subscribers on other nodes catch up on their next resync
+            log.warn("Failed to relay stats of {} posts: {}", postIds.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    void received(String payload) {
+        List<UUID> postIds = new ArrayList<>();
+        try {
+            for (String postId : payload.split(" ")) {
+                postIds.add(UUID.fromString(postId));
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed post stats message: {}", e.getMessage());
+            return;
+        }
+        broadcaster.changedElsewhere(postIds);
+    }
+}
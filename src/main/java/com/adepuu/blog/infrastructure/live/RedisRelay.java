@@ -0,0 +1,98 @@
+package com.adepuu.blog.infrastructure.live;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * A Redis pub/sub channel shared by the nodes. Messages are {@code <nodeId> <payload>}; a node
+ * ignores its own because it has already handled them locally.
+ * <p>
+ * As with cache invalidation, the subscription is started in the background and retried so an
+ * unreachable Redis does not fail startup.
+ */
+@Slf4j
+abstract class RedisRelay implements MessageListener, DisposableBean {
+
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(10);
+
+    private final String name;
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    private volatile boolean shutdown;
+
+    RedisRelay(String name, StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory,
+               String channel) {
+        this.name = name;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(channel));
+        container.afterPropertiesSet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name(name + "-relay-subscriber").start(this::subscribe);
+    }
+
+    /**
+     * Sends the payload to the other nodes
+     */
+    void send(String payload) {
+        redisTemplate.convertAndSend(channel, nodeId + " " + payload);
+    }
+
+    /**
+     * Handles a payload sent by another node
+     */
+    abstract void received(String payload);
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ", 2);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        received(parts[1]);
+    }
+
+    private void subscribe() {
+        while (!shutdown && !container.isRunning()) {
+            try {
+                container.start();
+                log.info("Subscribed to {} relay channel", name);
+            } catch (Exception e) {
+                log.warn("{} relay subscription failed, retrying in {}s: {}",
+                        name, RETRY_INTERVAL.toSeconds(), e.getMessage());
+                container.stop();
+                try {
+                    Thread.sleep(RETRY_INTERVAL);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        shutdown = true;
+        container.destroy();
+    }
+}
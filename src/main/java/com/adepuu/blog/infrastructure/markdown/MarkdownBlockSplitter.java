@@ -0,0 +1,125 @@
+package com.adepuu.blog.infrastructure.markdown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Splits markdown into top-level chunks that render to the same HTML on their own as they do inside
+ * the whole document, so each chunk can be rendered and cached independently.
+ * <p>
+ * A chunk boundary is only placed at a blank line followed by an unindented line that cannot continue
+ * the previous block (not a list item or indented continuation), and never inside a fenced code block.
+ * Documents with link reference definitions or HTML blocks have cross-block effects and are not split.
+ */
+final class MarkdownBlockSplitter {
+
+    // Link reference definitions resolve across the whole document; HTML blocks may span blank lines
+    private static final Pattern NON_LOCAL_CONSTRUCT = Pattern.compile("(?m)^ {0,3}(\\[[^\\]]+]:|<[!?/A-Za-z])");
+
+    private MarkdownBlockSplitter() {
+    }
+
+    static boolean isSplittable(String markdown) {
+        return !NON_LOCAL_CONSTRUCT.matcher(markdown).find();
+    }
+
+    static List<String> split(String markdown) {
+        List<String> blocks = new ArrayList<>();
+        int length = markdown.length();
+        int blockStart = 0;
+        int pos = 0;
+        boolean previousBlank = false;
+        String fence = null;
+
+        while (pos < length) {
+            int newline = markdown.indexOf('\n', pos);
+            int lineEnd = newline < 0 ? length : newline;
+
+            if (fence != null) {
+                if (closesFence(markdown, pos, lineEnd, fence)) {
+                    fence = null;
+                }
+                previousBlank = false;
+            } else {
+                boolean blank = isBlank(markdown, pos, lineEnd);
+                if (!blank) {
+                    if (previousBlank && pos > blockStart && startsIndependentBlock(markdown, pos, lineEnd)) {
+                        blocks.add(markdown.substring(blockStart, pos));
+                        blockStart = pos;
+                    }
+                    fence = openingFence(markdown, pos, lineEnd);
+                }
+                previousBlank = blank;
+            }
+            pos = newline < 0 ? length : newline + 1;
+        }
+
+        if (blockStart < length) {
+            blocks.add(markdown.substring(blockStart));
+        }
+        return blocks;
+    }
+
+    private static boolean isBlank(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isWhitespace(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsIndependentBlock(String s, int from, int to) {
+        char c = s.charAt(from);
+        if (c == ' ' || c == '\t') {
+            return false; // Indented code or list item continuation
+        }
+        if (c == '-' || c == '*' || c == '+') {
+            return false; // Bullet list item or thematic break, may belong to a loose list
+        }
+        return !Character.isDigit(c); // Ordered list item
+    }
+
+    /**
+     * Returns the fence marker if the line opens a fenced code block, otherwise null
+     */
+    private static String openingFence(String s, int from, int to) {
+        int i = skipIndent(s, from, to);
+        if (i >= to) {
+            return null;
+        }
+        char c = s.charAt(i);
+        if (c != '`' && c != '~') {
+            return null;
+        }
+        int start = i;
+        while (i < to && s.charAt(i) == c) {
+            i++;
+        }
+        if (i - start < 3) {
+            return null;
+        }
+        if (c == '`' && s.indexOf('`', i) >= 0 && s.indexOf('`', i) < to) {
+            return null; // Backtick fences may not have backticks in the info string
+        }
+        return s.substring(start, i);
+    }
+
+    private static boolean closesFence(String s, int from, int to, String fence) {
+        int i = skipIndent(s, from, to);
+        int start = i;
+        while (i < to && s.charAt(i) == fence.charAt(0)) {
+            i++;
+        }
+        return i - start >= fence.length() && isBlank(s, i, to);
+    }
+
+    private static int skipIndent(String s, int from, int to) {
+        int i = from;
+        while (i < to && i - from < 3 && s.charAt(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+}
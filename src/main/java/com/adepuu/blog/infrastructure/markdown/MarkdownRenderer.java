@@ -0,0 +1,177 @@
+package com.adepuu.blog.infrastructure.markdown;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.vladsch.flexmark.ast.AutoLink;
+import com.vladsch.flexmark.ast.Image;
+import com.vladsch.flexmark.ast.ImageRef;
+import com.vladsch.flexmark.ast.Link;
+import com.vladsch.flexmark.ast.LinkRef;
+import com.vladsch.flexmark.ast.MailLink;
+import com.vladsch.flexmark.ext.autolink.AutolinkExtension;
+import com.vladsch.flexmark.ext.gfm.strikethrough.StrikethroughExtension;
+import com.vladsch.flexmark.ext.tables.TablesExtension;
+import com.vladsch.flexmark.html.AttributeProvider;
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.html.IndependentAttributeProviderFactory;
+import com.vladsch.flexmark.html.renderer.AttributablePart;
+import com.vladsch.flexmark.html.renderer.LinkResolverContext;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import com.vladsch.flexmark.util.html.MutableAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Markdown to HTML renderer producing output that is safe to serve without a separate sanitizer pass.
+ * <ul>
+ *   <li>raw HTML blocks and inline HTML are escaped, so only elements emitted by the renderer appear</li>
+ *   <li>link and image URLs are checked on the AST; anything but http(s), mailto or relative URLs is dropped</li>
+ *   <li>links get {@code rel="nofollow noopener noreferrer"}, images are lazy-loaded</li>
+ * </ul>
+ * Large documents are split into top-level blocks by {@link MarkdownBlockSplitter}; each block's HTML is
+ * cached by the SHA-256 of its source, so re-rendering an edited post only parses the changed blocks.
+ * Parser and renderer are immutable and shared between threads.
+ */
+public class MarkdownRenderer {
+
+    /**
+     * Bump whenever extensions, options or the URL policy change the produced HTML.
+     * Stored posts rendered with an older version are re-rendered in the background by {@link PostRerenderJob}.
+     */
+    public static final int VERSION = 1;
+
+    private static final Set<String> ALLOWED_LINK_PROTOCOLS = Set.of("http", "https", "mailto");
+    private static final Set<String> ALLOWED_IMAGE_PROTOCOLS = Set.of("http", "https");
+
+    // Below this size a full render is cheap and block caching would only churn the cache
+    private static final int INCREMENTAL_THRESHOLD = 4_000;
+    private static final long DEFAULT_BLOCK_CACHE_CHARS = 8_000_000;
+
+    private final Parser parser;
+    private final HtmlRenderer renderer;
+    private final Cache<String, String> blockCache;
+
+    public MarkdownRenderer() {
+        this(DEFAULT_BLOCK_CACHE_CHARS);
+    }
+
+    /**
+     * @param blockCacheChars upper bound on the total length of cached block HTML
+     */
+    public MarkdownRenderer(long blockCacheChars) {
+        MutableDataSet options = new MutableDataSet()
+                .set(Parser.EXTENSIONS, List.of(
+                        TablesExtension.create(),
+                        StrikethroughExtension.create(),
+                        AutolinkExtension.create()))
+                .set(HtmlRenderer.ESCAPE_HTML, true)
+                .set(HtmlRenderer.SOFT_BREAK, "\n");
+
+        this.parser = Parser.builder(options).build();
+        this.renderer = HtmlRenderer.builder(options)
+                .attributeProviderFactory(new IndependentAttributeProviderFactory() {
+                    @Override
+                    public AttributeProvider apply(LinkResolverContext context) {
+                        return new UrlPolicyAttributeProvider();
+                    }
+                })
+                .build();
+        this.blockCache = Caffeine.newBuilder()
+                .maximumWeight(blockCacheChars)
+                .<String, String>weigher((key, html) -> key.length() + html.length())
+                .recordStats()
+                .build();
+    }
+
+    public String render(String markdown) {
+        if (markdown == null || markdown.isBlank()) {
+            return "";
+        }
+        if (markdown.length() < INCREMENTAL_THRESHOLD || !MarkdownBlockSplitter.isSplittable(markdown)) {
+            return renderDocument(markdown);
+        }
+
+        MessageDigest digest = sha256();
+        StringBuilder html = new StringBuilder(markdown.length() + markdown.length() / 4);
+        for (String block : MarkdownBlockSplitter.split(markdown)) {
+            String key = HexFormat.of().formatHex(digest.digest(block.getBytes(StandardCharsets.UTF_8)));
+            html.append(blockCache.get(key, ignored -> renderDocument(block)));
+        }
+        return html.toString();
+    }
+
+    /**
+     * Renders the whole document in one pass, bypassing the block cache
+     */
+    public String renderDocument(String markdown) {
+        return renderer.render(parser.parse(markdown));
+    }
+
+    CacheStats blockCacheStats() {
+        return blockCache.stats();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Applies the link and image URL policy while the AST is rendered
+     */
+    private static final class UrlPolicyAttributeProvider implements AttributeProvider {
+
+        @Override
+        public void setAttributes(Node node, AttributablePart part, MutableAttributes attributes) {
+            if (node instanceof Link || node instanceof LinkRef || node instanceof AutoLink || node instanceof MailLink) {
+                if (!isAllowedUrl(attributes.getValue("href"), ALLOWED_LINK_PROTOCOLS)) {
+                    attributes.remove("href");
+                }
+                attributes.replaceValue("rel", "nofollow noopener noreferrer");
+            } else if (node instanceof Image || node instanceof ImageRef) {
+                if (!isAllowedUrl(attributes.getValue("src"), ALLOWED_IMAGE_PROTOCOLS)) {
+                    attributes.remove("src");
+                }
+                attributes.replaceValue("loading", "lazy");
+            }
+        }
+    }
+
+    /**
+     * Accepts relative URLs and absolute URLs whose scheme is in {@code allowedProtocols}.
+     * Whitespace and control characters inside the scheme are ignored the way browsers ignore them,
+     * so {@code "java\tscript:"} is treated as {@code javascript:}.
+     */
+    static boolean isAllowedUrl(String url, Set<String> allowedProtocols) {
+        if (url == null || url.isEmpty()) {
+            return false;
+        }
+
+        StringBuilder scheme = new StringBuilder();
+        for (int i = 0; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == ':') {
+                return allowedProtocols.contains(scheme.toString().toLowerCase(Locale.ROOT));
+            }
+            if (c == '/' || c == '?' || c == '#') {
+                return true; // No scheme: relative URL
+            }
+            if (c > ' ') {
+                scheme.append(c);
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,134 @@
+package com.adepuu.blog.infrastructure.markdown;
+
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.infrastructure.cache.PostSlugCache;
+import com.adepuu.blog.infrastructure.config.properties.MarkdownProperties;
+import com.adepuu.blog.infrastructure.service.ContentSanitizationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Re-renders posts whose stored HTML was produced by an older {@link MarkdownRenderer#VERSION}.
+ * Runs once after startup and on demand; posts are scanned in id order, each chunk is rendered in
+ * parallel and the updates are written one by one at a bounded rate. Readers keep getting the old
+ * HTML until a post is rewritten, so nothing is rendered on the request path.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostRerenderJob {
+
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private final PostRepository postRepository;
+    private final ContentSanitizationService sanitizationService;
+    private final PostSlugCache postSlugCache;
+    private final MarkdownProperties markdownProperties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (markdownProperties.getRerender().isEnabled()) {
+            trigger();
+        }
+    }
+
+    /**
+     * Starts a background run unless one is already in progress
+     *
+     * @return true if a run was started
+     */
+    public boolean trigger() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofVirtual().name("post-rerender").start(() -> {
+            try {
+                int updated = run();
+                if (updated > 0) {
+                    log.info("Re-rendered {} posts to renderer version {}", updated, MarkdownRenderer.VERSION);
+                }
+            } catch (Exception e) {
+                log.warn("Post re-render failed: {}", e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Re-renders every outdated post synchronously
+     *
+     * @return number of posts rewritten
+     */
+    int run() throws InterruptedException {
+        MarkdownProperties.Rerender config = markdownProperties.getRerender();
+        int version = MarkdownRenderer.VERSION;
+        long writeIntervalNanos = Duration.ofSeconds(1).toNanos() / Math.max(1, config.getMaxWritesPerSecond());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, config.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "post-rerender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            int updated = 0;
+            long nextWriteAt = System.nanoTime();
+            UUID afterId = MIN_ID;
+
+            while (true) {
+                List<PostRepository.MarkdownSource> chunk =
+                        postRepository.findOutdatedRenders(version, afterId, PageRequest.of(0, config.getChunkSize()));
+                if (chunk.isEmpty()) {
+                    return updated;
+                }
+                afterId = chunk.get(chunk.size() - 1).getId();
+
+                List<CompletableFuture<String>> rendered = new ArrayList<>(chunk.size());
+                for (PostRepository.MarkdownSource source : chunk) {
+                    rendered.add(CompletableFuture.supplyAsync(
+                            () -> sanitizationService.markdownToHtml(source.getContentMarkdown()), executor));
+                }
+
+                for (int i = 0; i < chunk.size(); i++) {
+                    PostRepository.MarkdownSource source = chunk.get(i);
+                    String html = rendered.get(i).join();
+
+                    long waitNanos = nextWriteAt - System.nanoTime();
+                    if (waitNanos > 0) {
+                        Thread.sleep(Duration.ofNanos(waitNanos));
+                    }
+                    nextWriteAt = Math.max(nextWriteAt, System.nanoTime()) + writeIntervalNanos;
+
+                    if (postRepository.updateRenderedContent(source.getId(), html, version) > 0) {
+                        postSlugCache.invalidate(source.getSlug());
+                        updated++;
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.adepuu.blog.infrastructure.moderation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable Aho-Corasick automaton for whole-word, case-insensitive term matching.
+ * <p>
+ * Matching walks the text once and allocates nothing: transitions are stored as sorted char ranges per
+ * state in flat arrays, and every state links to the nearest suffix state that ends a term so all terms
+ * ending at a position are checked without scanning the full failure chain. A term only matches as a
+ * whole word: it may not continue a word on either side.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final AhoCorasickMatcher EMPTY = new AhoCorasickMatcher(List.of());
+
+    // Transitions of state s are transitionChars/transitionTargets[transitionStart[s] .. transitionStart[s + 1])
+    private final int[] transitionStart;
+    private final char[] transitionChars;
+    private final int[] transitionTargets;
+    private final int[] failure;
+    // Length of the term ending at this state, 0 if none
+    private final int[] termLength;
+    // Nearest state on the failure chain (excluding this one) that ends a term, -1 if none
+    private final int[] outputLink;
+    private final int termCount;
+
+    private AhoCorasickMatcher(Collection<String> terms) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        lengths.add(0);
+
+        int count = 0;
+        for (String term : terms) {
+            String normalized = normalize(term);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < normalized.length(); i++) {
+                Integer next = trie.get(state).get(normalized.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    lengths.add(0);
+                    trie.get(state).put(normalized.charAt(i), next);
+                }
+                state = next;
+            }
+            if (lengths.get(state) == 0) {
+                count++;
+            }
+            lengths.set(state, normalized.length());
+        }
+
+        int states = trie.size();
+        int edges = 0;
+        for (Map<Character, Integer> transitions : trie) {
+            edges += transitions.size();
+        }
+
+        this.termCount = count;
+        this.transitionStart = new int[states + 1];
+        this.transitionChars = new char[edges];
+        this.transitionTargets = new int[edges];
+        this.failure = new int[states];
+        this.termLength = new int[states];
+        this.outputLink = new int[states];
+
+        int edge = 0;
+        for (int s = 0; s < states; s++) {
+            transitionStart[s] = edge;
+            termLength[s] = lengths.get(s);
+            for (Map.Entry<Character, Integer> transition : trie.get(s).entrySet()) {
+                transitionChars[edge] = transition.getKey();
+                transitionTargets[edge] = transition.getValue();
+                edge++;
+            }
+        }
+        transitionStart[states] = edge;
+
+        buildFailureLinks();
+    }
+
+    public static AhoCorasickMatcher of(Collection<String> terms) {
+        return terms.isEmpty() ? EMPTY : new AhoCorasickMatcher(terms);
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    /**
+     * Returns true if any term occurs in {@code text} as a whole word
+     */
+    public boolean containsMatch(CharSequence text) {
+        if (text == null || termCount == 0) {
+            return false;
+        }
+
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            state = step(state, fold(text.charAt(i)));
+
+            int candidate = termLength[state] > 0 ? state : outputLink[state];
+            while (candidate > 0) {
+                int start = i - termLength[candidate] + 1;
+                if (isWordEdge(text, start, start - 1) && isWordEdge(text, i, i + 1)) {
+                    return true;
+                }
+                candidate = outputLink[candidate];
+            }
+        }
+        return false;
+    }
+
+    private void buildFailureLinks() {
+        Deque<Integer> queue = new ArrayDeque<>();
+        outputLink[0] = -1;
+        for (int e = transitionStart[0]; e < transitionStart[1]; e++) {
+            int child = transitionTargets[e];
+            failure[child] = 0;
+            outputLink[child] = -1;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int e = transitionStart[state]; e < transitionStart[state + 1]; e++) {
+                char c = transitionChars[e];
+                int child = transitionTargets[e];
+
+                int fallback = failure[state];
+                while (fallback > 0 && next(fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = next(fallback, c);
+                failure[child] = target >= 0 && target != child ? target : 0;
+                outputLink[child] = termLength[failure[child]] > 0 ? failure[child] : outputLink[failure[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    private int step(int state, char c) {
+        while (true) {
+            int target = next(state, c);
+            if (target >= 0) {
+                return target;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = failure[state];
+        }
+    }
+
+    private int next(int state, char c) {
+        int low = transitionStart[state];
+        int high = transitionStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = transitionChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return transitionTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A match edge is valid unless the term's edge char and its outside neighbour are both word chars,
+     * so "spam" does not match inside "spammer" while a term like "c++" still matches before a letter
+     */
+    private static boolean isWordEdge(CharSequence text, int inside, int outside) {
+        return outside < 0 || outside >= text.length()
+                || !Character.isLetterOrDigit(text.charAt(inside))
+                || !Character.isLetterOrDigit(text.charAt(outside));
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static String normalize(String term) {
+        if (term == null) {
+            return "";
+        }
+        String trimmed = term.strip();
+        StringBuilder sb = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            sb.append(fold(trimmed.charAt(i)));
+        }
+        return sb.toString();
+    }
+}
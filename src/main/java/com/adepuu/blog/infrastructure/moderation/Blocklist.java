@@ -0,0 +1,102 @@
+package com.adepuu.blog.infrastructure.moderation;
+
+import com.adepuu.blog.infrastructure.config.properties.ModerationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Holds the active blocked-term automaton. Reloading builds a new {@link AhoCorasickMatcher} off to the
+ * side and publishes it with a single volatile write, so concurrent checks see either the old or the new
+ * list and never block.
+ */
+@Slf4j
+@Component
+public class Blocklist {
+
+    private final ModerationProperties properties;
+    private final ResourceLoader resourceLoader;
+
+    private volatile AhoCorasickMatcher matcher;
+
+    /**
+     * Blocklist with the default terms and no external list
+     */
+    public Blocklist() {
+        this(new ModerationProperties(), null);
+    }
+
+    @Autowired
+    public Blocklist(ModerationProperties properties, ResourceLoader resourceLoader) {
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+        this.matcher = AhoCorasickMatcher.of(properties.getBlockedTerms());
+        if (properties.getBlocklistLocation() != null) {
+            try {
+                reload();
+            } catch (Exception e) {
+                log.warn("Failed to load blocklist from {}, using configured terms only: {}",
+                        properties.getBlocklistLocation(), e.getMessage());
+            }
+        }
+    }
+
+    public boolean containsBlockedTerm(CharSequence text) {
+        return matcher.containsMatch(text);
+    }
+
+    public int size() {
+        return matcher.termCount();
+    }
+
+    /**
+     * Re-reads the configured terms and blocklist resource and swaps in the new automaton
+     *
+     * @return number of distinct terms now active
+     */
+    public int reload() throws IOException {
+        List<String> terms = new ArrayList<>(properties.getBlockedTerms());
+        String location = properties.getBlocklistLocation();
+        if (location != null && resourceLoader != null) {
+            terms.addAll(readTerms(resourceLoader.getResource(location)));
+        }
+        return replace(terms);
+    }
+
+    /**
+     * Replaces the active terms
+     *
+     * @return number of distinct terms now active
+     */
+    public int replace(Collection<String> terms) {
+        AhoCorasickMatcher updated = AhoCorasickMatcher.of(terms);
+        this.matcher = updated;
+        log.info("Blocklist loaded with {} terms", updated.termCount());
+        return updated.termCount();
+    }
+
+    private static List<String> readTerms(Resource resource) throws IOException {
+        List<String> terms = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String term = line.strip();
+                if (!term.isEmpty() && !term.startsWith("#")) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms;
+    }
+}
@@ -7,6 +7,8 @@ import com.adepuu.blog.domain.entity.User;
 import com.adepuu.blog.domain.repository.UserRepository;
 import com.adepuu.blog.domain.service.AuthService;
 import com.adepuu.blog.domain.service.JwtService;
+import com.adepuu.blog.domain.service.SuggestionService;
+import com.adepuu.blog.infrastructure.cache.UserByUsernameCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -26,6 +28,8 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final SuggestionService suggestionService;
+    private final UserByUsernameCache userByUsernameCache;
     
     @Override
     @Transactional(readOnly = true)
@@ -78,6 +82,8 @@ public class AuthServiceImpl implements AuthService {
                 .build();
         
         user = userRepository.save(user);
+        suggestionService.userSaved(user);
+        userByUsernameCache.evict(user.getUsername());
         
         String accessToken = jwtService.generateAccessToken(user);
         String refreshToken = jwtService.generateRefreshToken(user);
@@ -1,61 +1,240 @@
 package com.adepuu.blog.infrastructure.service;
 
+import com.adepuu.blog.delivery.dto.comment.CommentNode;
+import com.adepuu.blog.delivery.dto.comment.CommentThread;
 import com.adepuu.blog.delivery.dto.comment.CreateCommentInput;
 import com.adepuu.blog.domain.entity.Comment;
+import com.adepuu.blog.domain.entity.Post;
+import com.adepuu.blog.domain.entity.User;
+import com.adepuu.blog.domain.repository.CommentRepository;
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.domain.repository.UserRepository;
 import com.adepuu.blog.domain.service.CommentService;
+import com.adepuu.blog.infrastructure.config.properties.CommentProperties;
+import com.adepuu.blog.infrastructure.live.CommentBroadcaster;
+import com.adepuu.blog.infrastructure.live.PostStatsBroadcaster;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Comments and threads. A thread window (a page of comments at one level plus the first replies of
+ * each branch a few levels deep) is read with one {@link CommentThreadQuery}, its comments are loaded
+ * with their authors in one more query and the tree is assembled in memory.
+ */
+@Slf4j
 @Service
 public class CommentServiceImpl implements CommentService {
-    
-    // Temporary implementation to prevent startup issues
-    // TODO: Implement with proper repository when CommentRepository is created
-    
+
+    private final ContentSanitizationService sanitizationService;
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CommentProperties commentProperties;
+    private final CommentBroadcaster commentBroadcaster;
+    private final PostStatsBroadcaster postStatsBroadcaster;
+    private final boolean lateralJoin;
+
+    public CommentServiceImpl(ContentSanitizationService sanitizationService,
+                              CommentRepository commentRepository,
+                              PostRepository postRepository,
+                              UserRepository userRepository,
+                              NamedParameterJdbcTemplate jdbcTemplate,
+                              CommentProperties commentProperties,
+                              CommentBroadcaster commentBroadcaster,
+                              PostStatsBroadcaster postStatsBroadcaster,
+                              @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.sanitizationService = sanitizationService;
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.commentProperties = commentProperties;
+        this.commentBroadcaster = commentBroadcaster;
+        this.postStatsBroadcaster = postStatsBroadcaster;
+        this.lateralJoin = datasourceUrl.startsWith("jdbc:postgresql:");
+    }
+
     @Override
+    @Transactional
     public Comment createComment(CreateCommentInput input, String authorId) {
-        // Temporary stub - return null
-        return null;
+        rejectProfanity(input.content());
+
+        Post post = postRepository.findActiveById(UUID.fromString(input.postId()))
+                .filter(found -> found.getStatus() == Post.PostStatus.PUBLISHED)
+                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        User author = userRepository.findActiveById(UUID.fromString(authorId))
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Comment parent = null;
+        if (input.parentCommentId() != null && !input.parentCommentId().isBlank()) {
+            parent = commentRepository.findActiveById(UUID.fromString(input.parentCommentId()))
+                    .filter(found -> found.getPost().getId().equals(post.getId()))
+                    .orElseThrow(() -> new IllegalArgumentException("Parent comment not found"));
+        }
+
+        Comment saved = commentRepository.save(Comment.builder()
+                .content(sanitizationService.sanitizeCommentContent(input.content()))
+                .post(post)
+                .author(author)
+                .parentComment(parent)
+                .build());
+        commentBroadcaster.commentAdded(saved);
+        postStatsBroadcaster.countsChanged(post.getId());
+        log.debug("Comment {} created on post {} by user {}", saved.getId(), post.getId(), authorId);
+        return saved;
     }
-    
+
     @Override
+    @Transactional
     public Comment updateComment(UUID commentId, String content, String authorId) {
-        // Temporary stub - return null
-        return null;
+        rejectProfanity(content);
+
+        Comment comment = findOwnComment(commentId, authorId);
+        comment.setContent(sanitizationService.sanitizeCommentContent(content));
+        comment.setIsEdited(true);
+        return commentRepository.save(comment);
     }
-    
+
     @Override
+    @Transactional
     public boolean deleteComment(UUID commentId, String authorId) {
-        // Temporary stub - return false
-        return false;
+        Comment comment = findOwnComment(commentId, authorId);
+        // Soft delete keeps the replies below it reachable through commentReplies
+        comment.setDeletedAt(OffsetDateTime.now());
+        commentRepository.save(comment);
+        postStatsBroadcaster.countsChanged(comment.getPost().getId());
+        return true;
     }
-    
+
     @Override
+    @Transactional(readOnly = true)
     public Comment getComment(UUID commentId) {
-        // Temporary stub - return null
-        return null;
+        return commentRepository.findActiveById(commentId).orElse(null);
     }
-    
+
     @Override
+    @Transactional(readOnly = true)
     public Page<Comment> getCommentsByPost(UUID postId, Pageable pageable) {
-        // Temporary stub - return empty page
-        return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        return commentRepository.findActiveByPostId(postId, pageable);
     }
-    
+
     @Override
+    @Transactional(readOnly = true)
     public Page<Comment> getReplies(UUID parentCommentId, Pageable pageable) {
-        // Temporary stub - return empty page
-        return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        return commentRepository.findRepliesByParentId(parentCommentId, pageable);
     }
-    
+
     @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Integer> countReplies(Collection<UUID> parentCommentIds) {
+        if (parentCommentIds.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.countRepliesByParentIdIn(parentCommentIds).stream()
+                .collect(Collectors.toMap(CommentRepository.ReplyCount::getParentId,
+                        replyCount -> replyCount.getCount().intValue()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Integer> countByPost(Collection<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.countActiveByPostIdIn(postIds).stream()
+                .collect(Collectors.toMap(CommentRepository.PostCount::getPostId,
+                        postCount -> postCount.getCount().intValue()));
+    }
+
+    @Override
+    @Transactional
     public boolean reportComment(UUID commentId, String reason, String reporterId) {
-        // Temporary stub - return false
-        return false;
+        Comment comment = commentRepository.findActiveById(commentId)
+                .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
+        comment.setIsFlagged(true);
+        comment.setModerationReason(reason != null ? sanitizationService.sanitizeText(reason) : null);
+        commentRepository.save(comment);
+        log.info("Comment {} reported by user {}", commentId, reporterId);
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentThread getThread(UUID postId, int first, String after, Integer replies) {
+        return thread(postId, null, first, after, replies);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentThread getReplyThread(UUID commentId, int first, String after, Integer replies) {
+        return thread(null, commentId, first, after, replies);
+    }
+
+    private CommentThread thread(UUID postId, UUID parentId, int first, String after, Integer replies) {
+        int replyLimit = Math.min(Math.max(replies != null ? replies : commentProperties.getDefaultReplies(), 0),
+                commentProperties.getMaxReplies());
+        CommentThreadQuery query = new CommentThreadQuery(lateralJoin, postId, parentId,
+                after != null ? CommentThreadQuery.Cursor.decode(after) : null,
+                first, replyLimit, commentProperties.getThreadDepth());
+
+        List<CommentThreadQuery.Row> rows = jdbcTemplate.query(query.sql(), query.params(),
+                (rs, rowNum) -> new CommentThreadQuery.Row(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("parent_comment_id", UUID.class),
+                        rs.getObject("created_at", OffsetDateTime.class),
+                        rs.getInt("depth"),
+                        rs.getInt("replies_count"),
+                        rs.getObject("deleted_at", OffsetDateTime.class) != null));
+        List<CommentThreadQuery.Row> level = rows.stream().filter(row -> row.depth() == 0).toList();
+        boolean hasNextPage = level.size() > first;
+        if (hasNextPage) {
+            level = level.subList(0, first);
+        }
+
+        List<UUID> ids = rows.stream().map(CommentThreadQuery.Row::id).toList();
+        Map<UUID, Comment> comments = ids.isEmpty() ? Map.of() : commentRepository.findWithAuthorByIdIn(ids).stream()
+                .collect(Collectors.toMap(Comment::getId, Function.identity()));
+        List<CommentNode> nodes = query.assemble(rows, comments);
+
+        // A short first page holds every comment at this level
+        int total;
+        if (after == null && !hasNextPage) {
+            total = level.size();
+        } else {
+            Integer count = jdbcTemplate.queryForObject(query.countSql(), query.params(), Integer.class);
+            total = Objects.requireNonNullElse(count, 0);
+        }
+        String endCursor = level.isEmpty() ? null : CommentThreadQuery.Cursor.of(level.get(level.size() - 1)).encode();
+        return new CommentThread(nodes, total, hasNextPage, endCursor);
+    }
+
+    private Comment findOwnComment(UUID commentId, String authorId) {
+        Comment comment = commentRepository.findActiveById(commentId)
+                .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
+        if (!comment.getAuthor().getId().toString().equals(authorId)) {
+            throw new RuntimeException("You can only modify your own comments");
+        }
+        return comment;
+    }
+
+    private void rejectProfanity(String content) {
+        if (sanitizationService.containsProfanity(content)) {
+            throw new RuntimeException("Comment contains inappropriate language");
+        }
     }
 }
@@ -0,0 +1,193 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.comment.CommentNode;
+import com.adepuu.blog.domain.entity.Comment;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One recursive query for a window of a comment thread: a keyset page of comments at one level (the
+ * post's top-level comments, or the replies of one comment) plus the first replies of every branch
+ * below them, {@code depth} levels deep. Every row carries its reply count, so branches cut off
+ * by the reply limit or the depth know that more replies exist.
+ * <p>
+ * A deleted comment stays in the window as a tombstone (blank content) as long as a live reply hangs
+ * somewhere below it; the {@code kept} CTE finds those by walking up from the post's deleted comments
+ * that have a live child, so deleted comments with no live descendants disappear with their branch.
+ * <p>
+ * On PostgreSQL each branch reads at most {@code replies + 1} children through a {@code LATERAL}
+ * subquery on {@code idx_comments_parent_thread}. Other databases (H2 in tests) read whole branches
+ * and {@link #assemble} applies the same limit.
+ */
+final class CommentThreadQuery {
+
+    record Row(UUID id, UUID parentId, OffsetDateTime createdAt, int depth, int repliesCount, boolean deleted) {
+    }
+
+    private final boolean lateral;
+    private final UUID postId;
+    private final UUID parentId;
+    private final Cursor after;
+    private final int first;
+    private final int replies;
+    private final int depth;
+
+    /**
+     * @param postId   post whose top-level comments are paged, when {@code parentId} is null
+     * @param parentId comment whose replies are paged
+     */
+    CommentThreadQuery(boolean lateral, UUID postId, UUID parentId, Cursor after, int first, int replies, int depth) {
+        this.lateral = lateral;
+        this.postId = postId;
+        this.parentId = parentId;
+        this.after = after;
+        this.first = first;
+        this.replies = replies;
+        this.depth = depth;
+    }
+
+    String sql() {
+        String children = lateral
+                ? " CROSS JOIN LATERAL (SELECT ch.id, ch.parent_comment_id, ch.created_at, ch.deleted_at FROM comments ch"
+                + " WHERE ch.parent_comment_id = t.id AND " + visible("ch")
+                + " ORDER BY ch.created_at, ch.id LIMIT :repliesLimit) r"
+                : " JOIN comments r ON r.parent_comment_id = t.id AND " + visible("r");
+        return keptCte() + ", thread (id, parent_comment_id, created_at, deleted_at, depth) AS ("
+                + "(SELECT c.id, c.parent_comment_id, c.created_at, c.deleted_at, 0 FROM comments c WHERE "
+                + levelCondition() + " AND " + visible("c")
+                + (after != null ? " AND (c.created_at > :afterAt OR (c.created_at = :afterAt AND c.id > :afterId))" : "")
+                + " ORDER BY c.created_at, c.id LIMIT :firstLimit)"
+                + " UNION ALL"
+                + " SELECT r.id, r.parent_comment_id, r.created_at, r.deleted_at, t.depth + 1 FROM thread t" + children
+                + " WHERE t.depth < :depth)"
+                + " SELECT t.id, t.parent_comment_id, t.created_at, t.deleted_at, t.depth,"
+                + " (SELECT COUNT(*) FROM comments rc WHERE rc.parent_comment_id = t.id AND " + visible("rc") + ")"
+                + " AS replies_count FROM thread t ORDER BY t.depth, t.created_at, t.id";
+    }
+
+    String countSql() {
+        return keptCte() + " SELECT COUNT(*) FROM comments c WHERE " + levelCondition() + " AND " + visible("c");
+    }
+
+    /**
+     * Deleted comments of the post with a live descendant: those with a live child, then their deleted
+     * ancestors
+     */
+    private String keptCte() {
+        String post = parentId != null ? "(SELECT pc.post_id FROM comments pc WHERE pc.id = :parentId)" : ":postId";
+        return "WITH RECURSIVE kept (id, parent_comment_id) AS ("
+                + "SELECT d.id, d.parent_comment_id FROM comments d WHERE d.post_id = " + post
+                + " AND d.deleted_at IS NOT NULL AND EXISTS (SELECT 1 FROM comments l"
+                + " WHERE l.parent_comment_id = d.id AND l.deleted_at IS NULL)"
+                + " UNION"
+                + " SELECT p.id, p.parent_comment_id FROM kept k JOIN comments p ON p.id = k.parent_comment_id"
+                + " WHERE p.deleted_at IS NOT NULL)";
+    }
+
+    private static String visible(String alias) {
+        return "(" + alias + ".deleted_at IS NULL OR " + alias + ".id IN (SELECT kept.id FROM kept))";
+    }
+
+    private String levelCondition() {
+        return parentId != null
+                ? "c.parent_comment_id = :parentId"
+                : "c.post_id = :postId AND c.parent_comment_id IS NULL";
+    }
+
+    MapSqlParameterSource params() {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("firstLimit", first + 1)
+                .addValue("repliesLimit", replies + 1)
+                .addValue("depth", depth);
+        if (parentId != null) {
+            params.addValue("parentId", parentId);
+        } else {
+            params.addValue("postId", postId);
+        }
+        if (after != null) {
+            params.addValue("afterAt", after.at()).addValue("afterId", after.id());
+        }
+        return params;
+    }
+
+    /**
+     * Builds the tree from rows in {@code depth, created_at, id} order, trimming each level to its limit
+     *
+     * @param comments loaded entities by id; rows without one are skipped with their subtree, deleted
+     *                 ones are shown as tombstones
+     * @return the page's nodes; an extra row at the first level means there is a next page
+     */
+    List<CommentNode> assemble(List<Row> rows, Map<UUID, Comment> comments) {
+        Map<UUID, List<Row>> childrenByParent = new HashMap<>();
+        List<Row> level = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.depth() == 0) {
+                level.add(row);
+            } else {
+                childrenByParent.computeIfAbsent(row.parentId(), ignored -> new ArrayList<>()).add(row);
+            }
+        }
+        return nodes(level.subList(0, Math.min(level.size(), first)), childrenByParent, comments);
+    }
+
+    private List<CommentNode> nodes(List<Row> rows, Map<UUID, List<Row>> childrenByParent, Map<UUID, Comment> comments) {
+        List<CommentNode> nodes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            Comment comment = comments.get(row.id());
+            if (comment == null) {
+                continue;
+            }
+            List<Row> children = childrenByParent.getOrDefault(row.id(), List.of());
+            List<Row> shown = children.subList(0, Math.min(children.size(), replies));
+            boolean hasMore = row.repliesCount() > shown.size();
+            String cursor = hasMore && !shown.isEmpty() ? Cursor.of(shown.get(shown.size() - 1)).encode() : null;
+            nodes.add(new CommentNode(row.deleted() ? tombstone(comment) : comment,
+                    nodes(shown, childrenByParent, comments), row.repliesCount(), hasMore, cursor, row.deleted()));
+        }
+        return nodes;
+    }
+
+    /**
+     * Detached copy of a deleted comment that keeps its place in the thread but none of its content
+     */
+    private static Comment tombstone(Comment comment) {
+        return Comment.builder()
+                .id(comment.getId())
+                .content("")
+                .post(comment.getPost())
+                .author(comment.getAuthor())
+                .parentComment(comment.getParentComment())
+                .isEdited(false)
+                .createdAt(comment.getCreatedAt())
+                .updatedAt(comment.getUpdatedAt())
+                .deletedAt(comment.getDeletedAt())
+                .build();
+    }
+
+    /**
+     * Keyset position among siblings: created_at, then id, both ascending
+     */
+    record Cursor(OffsetDateTime at, UUID id) {
+
+        static Cursor of(Row row) {
+            return new Cursor(row.createdAt(), row.id());
+        }
+
+        String encode() {
+            return KeysetCursor.encode(at.toInstant().toString(), id);
+        }
+
+        static Cursor decode(String value) {
+            return KeysetCursor.decode(value,
+                    (position, id) -> new Cursor(Instant.parse(position).atOffset(ZoneOffset.UTC), id));
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.adepuu.blog.infrastructure.service;
 
+import com.adepuu.blog.infrastructure.content.ContentAnalyzer;
+import com.adepuu.blog.infrastructure.markdown.MarkdownRenderer;
+import com.adepuu.blog.infrastructure.moderation.Blocklist;
 import lombok.extern.slf4j.Slf4j;
 import org.owasp.html.HtmlPolicyBuilder;
 import org.owasp.html.PolicyFactory;
 import org.owasp.html.Sanitizers;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 
 import java.util.regex.Pattern;
 
@@ -39,12 +44,20 @@ public class ContentSanitizationService {
             .allowUrlProtocols("http", "https")
             .toFactory();
 
-    private static final Pattern PROFANITY_PATTERN = Pattern.compile(
-            "\\b(spam|abuse|offensive)\\b",
-            Pattern.CASE_INSENSITIVE);
-
     private static final Pattern HTML_TAG_PATTERN = Pattern.compile("<[^>]+>");
 
+    private final MarkdownRenderer markdownRenderer = new MarkdownRenderer();
+    private final Blocklist blocklist;
+
+    public ContentSanitizationService() {
+        this(new Blocklist());
+    }
+
+    @Autowired
+    public ContentSanitizationService(Blocklist blocklist) {
+        this.blocklist = blocklist;
+    }
+
     /**
      * Basic HTML sanitization using OWASP policy
      * Uses a basic policy suitable for general content
@@ -98,8 +111,8 @@ public class ContentSanitizationService {
     }
 
     /**
-     * Basic markdown to HTML conversion with proper sanitization
-     * TODO: Consider using a proper markdown library like flexmark
+     * Converts markdown to HTML in a single flexmark pass
+     * Raw HTML is escaped and link/image URLs are filtered while rendering, so the output needs no further sanitization
      */
     public String markdownToHtml(String markdown) {
         if (markdown == null || markdown.trim().isEmpty()) {
@@ -107,24 +120,7 @@ public class ContentSanitizationService {
         }
 
         try {
-            // Simple markdown to HTML conversion
-            String html = markdown
-                    .replaceAll("\\*\\*(.*?)\\*\\*", "<strong>$1</strong>") // Bold
-                    .replaceAll("\\*(.*?)\\*", "<em>$1</em>") // Italic
-                    .replaceAll("\\n\\n", "</p><p>") // Paragraphs
-                    .replaceAll("\\n", "<br>") // Line breaks
-                    .replaceAll("```(.*?)```", "<pre><code>$1</code></pre>") // Code blocks
-                    .replaceAll("`(.*?)`", "<code>$1</code>") // Inline code
-                    .replaceAll("^#{1}\\s+(.*?)$", "<h1>$1</h1>") // H1
-                    .replaceAll("^#{2}\\s+(.*?)$", "<h2>$1</h2>") // H2
-                    .replaceAll("^#{3}\\s+(.*?)$", "<h3>$1</h3>"); // H3
-
-            // Wrap in paragraph tags if not already wrapped
-            if (!html.startsWith("<")) {
-                html = "<p>" + html + "</p>";
-            }
-
-            return sanitizeBlogContent(html);
+            return markdownRenderer.render(markdown);
         } catch (Exception e) {
             log.warn("Failed to convert markdown to HTML: {}", e.getMessage());
             return sanitizeText(markdown);
@@ -139,9 +135,7 @@ public class ContentSanitizationService {
             return "";
         }
 
-        String sanitized = text.trim()
-                .replaceAll("[\\r\\n]+", " ")
-                .replaceAll("\\s+", " ");
+        String sanitized = ContentAnalyzer.normalizeWhitespace(text);
 
         // Limit length
         if (sanitized.length() > 10000) {
@@ -152,14 +146,14 @@ public class ContentSanitizationService {
     }
 
     /**
-     * Basic profanity detection
+     * Profanity and blocklist detection, whole words only and case-insensitive
      */
     public boolean containsProfanity(String content) {
-        if (content == null || content.trim().isEmpty()) {
+        if (content == null || content.isEmpty()) {
             return false;
         }
 
-        return PROFANITY_PATTERN.matcher(content).find();
+        return blocklist.containsBlockedTerm(content);
     }
 
     /**
@@ -193,47 +187,33 @@ public class ContentSanitizationService {
         return sanitized;
     }
 
+    /**
+     * Derives word count, reading time, plain text and excerpt from HTML content in one pass
+     */
+    public ContentAnalyzer.Analysis analyzeContent(String content, int excerptLength) {
+        return ContentAnalyzer.analyze(content, excerptLength);
+    }
+
     /**
      * Calculates reading time for content
      */
     public int calculateReadingTime(String content) {
-        if (content == null || content.trim().isEmpty()) {
-            return 1;
-        }
-
-        String text = HTML_TAG_PATTERN.matcher(content).replaceAll("") // Remove HTML tags
-                .replaceAll("\\s+", " "); // Normalize whitespace
-
-        int wordCount = text.split("\\s+").length;
-        int readingTime = Math.max(1, (int) Math.ceil(wordCount / 200.0)); // 200 words per minute
-
-        return Math.min(readingTime, 60); // Cap at 60 minutes
+        return analyzeContent(content, 0).readingTimeMinutes();
     }
 
     /**
      * Extracts excerpt from content
      */
     public String extractExcerpt(String content, int maxLength) {
-        if (content == null || content.trim().isEmpty()) {
-            return "";
-        }
-
-        String text = HTML_TAG_PATTERN.matcher(content).replaceAll("") // Remove HTML tags
-                .replaceAll("\\s+", " ") // Normalize whitespace
-                .trim();
-
-        if (text.length() <= maxLength) {
-            return text;
-        }
-
-        String excerpt = text.substring(0, maxLength);
-        int lastSpace = excerpt.lastIndexOf(" ");
-
-        if (lastSpace > maxLength * 0.8) { // If last space is reasonably close to the end
-            excerpt = excerpt.substring(0, lastSpace);
-        }
+        return excerpt(analyzeContent(content, maxLength));
+    }
 
-        return excerpt + "...";
+    /**
+     * The excerpt of analyzed content, escaped like {@link #stripHtml(String)} so that entities such as
+     * {@code &lt;script&gt;} in the content stay entities in the stored excerpt
+     */
+    public String excerpt(ContentAnalyzer.Analysis analysis) {
+        return HtmlUtils.htmlEscape(analysis.excerpt());
     }
 
     /**
@@ -264,17 +244,11 @@ public class ContentSanitizationService {
 
     /**
      * Strips all HTML tags and returns plain text
+     * The text is escaped again, so entities such as {@code &lt;script&gt;} cannot turn into live markup
      * Useful for generating excerpts or search indexing
      */
     public String stripHtml(String content) {
-        if (content == null || content.trim().isEmpty()) {
-            return "";
-        }
-
-        return HTML_TAG_PATTERN.matcher(content).replaceAll("")
-                .replaceAll("&[a-zA-Z0-9#]+;", "") // Remove HTML entities
-                .replaceAll("\\s+", " ") // Normalize whitespace
-                .trim();
+        return HtmlUtils.htmlEscape(analyzeContent(content, Integer.MAX_VALUE).plainText());
     }
 
     /**
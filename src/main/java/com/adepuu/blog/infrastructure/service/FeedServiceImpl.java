@@ -0,0 +1,164 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.feed.FeedFormat;
+import com.adepuu.blog.delivery.dto.feed.RenderedFeed;
+import com.adepuu.blog.domain.entity.Tag;
+import com.adepuu.blog.domain.entity.User;
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.domain.repository.TagRepository;
+import com.adepuu.blog.domain.service.FeedService;
+import com.adepuu.blog.domain.service.TagService;
+import com.adepuu.blog.infrastructure.cache.CacheNames;
+import com.adepuu.blog.infrastructure.cache.UserByUsernameCache;
+import com.adepuu.blog.infrastructure.config.properties.FeedProperties;
+import com.adepuu.blog.infrastructure.web.ETags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Site, tag and author feeds rendered from {@link PostRepository.FeedEntry} projections. Serialized
+ * feeds stay in the {@code feeds} cache until a post in them changes, so polling readers are answered,
+ * including with 304, without a query. The ETag is a hash of the body and Last-Modified the newest
+ * {@code published_at}/{@code updated_at} among the entries.
+ */
+@Service
+@RequiredArgsConstructor
+public class FeedServiceImpl implements FeedService {
+
+    private final PostRepository postRepository;
+    private final TagRepository tagRepository;
+    private final TagService tagService;
+    private final UserByUsernameCache userByUsernameCache;
+    private final CacheManager cacheManager;
+    private final FeedProperties feedProperties;
+
+    // Bumped by every eviction; a feed rendered across a bump may predate the change and is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Override
+    public RenderedFeed getSiteFeed(FeedFormat format) {
+        return cached(siteKey(format), () -> render(format,
+                new FeedWriter.Channel(feedProperties.getTitle(), feedProperties.getSiteUrl(),
+                        feedProperties.getBaseUrl() + "/feeds/" + fileName(format)),
+                postRepository.findFeedEntries(page())));
+    }
+
+    @Override
+    public RenderedFeed getTagFeed(String tagSlug, FeedFormat format) {
+        return cached(tagKey(tagSlug, format), () -> {
+            Tag tag = tagService.getTagBySlug(tagSlug);
+            if (tag == null) {
+                return null;
+            }
+            return render(format,
+                    new FeedWriter.Channel(feedProperties.getTitle() + " - #" + tag.getName(),
+                            feedProperties.getSiteUrl() + "/tags/" + tag.getSlug(),
+                            feedProperties.getBaseUrl() + "/feeds/tags/" + tag.getSlug() + "/" + fileName(format)),
+                    postRepository.findFeedEntriesByTag(tag.getId(), page()));
+        });
+    }
+
+    @Override
+    public RenderedFeed getAuthorFeed(String username, FeedFormat format) {
+        return cached(authorKey(username, format), () -> {
+            User author = userByUsernameCache.get(username);
+            if (author == null) {
+                return null;
+            }
+            return render(format,
+                    new FeedWriter.Channel(feedProperties.getTitle() + " - " + author.getDisplayName(),
+                            feedProperties.getSiteUrl() + "/users/" + author.getUsername(),
+                            feedProperties.getBaseUrl() + "/feeds/authors/" + author.getUsername() + "/"
+                                    + fileName(format)),
+                    postRepository.findFeedEntriesByAuthor(author.getId(), page()));
+        });
+    }
+
+    /**
+     * Drops the feeds a listed post appears in: the site feed, its author's and its tags'
+     */
+    @Override
+    public void postsChanged(String authorUsername, Collection<UUID> tagIds) {
+        Cache cache = cacheManager.getCache(CacheNames.FEEDS);
+        if (cache == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        List<String> tagSlugs = tagIds.isEmpty() ? List.of() : tagRepository.findSlugsByIdIn(tagIds);
+        for (FeedFormat format : FeedFormat.values()) {
+            cache.evict(siteKey(format));
+            if (authorUsername != null) {
+                cache.evict(authorKey(authorUsername, format));
+            }
+            for (String tagSlug : tagSlugs) {
+                cache.evict(tagKey(tagSlug, format));
+            }
+        }
+    }
+
+    @Override
+    public void allChanged() {
+        Cache cache = cacheManager.getCache(CacheNames.FEEDS);
+        if (cache != null) {
+            generation.incrementAndGet();
+            cache.clear();
+        }
+    }
+
+    private RenderedFeed cached(String key, Supplier<RenderedFeed> loader) {
+        Cache cache = cacheManager.getCache(CacheNames.FEEDS);
+        RenderedFeed feed = cache != null ? cache.get(key, RenderedFeed.class) : null;
+        if (feed == null) {
+            long seen = generation.get();
+            feed = loader.get();
+            if (feed != null && cache != null && generation.get() == seen) {
+                cache.put(key, feed);
+            }
+        }
+        return feed;
+    }
+
+    private RenderedFeed render(FeedFormat format, FeedWriter.Channel channel,
+                                List<PostRepository.FeedEntry> entries) {
+        Instant updated = null;
+        for (PostRepository.FeedEntry entry : entries) {
+            updated = FeedWriter.latest(updated, FeedWriter.latest(FeedWriter.instant(entry.getPublishedAt()),
+                    FeedWriter.instant(entry.getUpdatedAt())));
+        }
+        byte[] body = FeedWriter.write(format, channel, entries,
+                feedProperties.getSiteUrl() + "/posts/", updated);
+        return new RenderedFeed(format, body, ETags.of(body), updated != null ? updated.toEpochMilli() : -1);
+    }
+
+    private Pageable page() {
+        return PageRequest.of(0, feedProperties.getSize());
+    }
+
+    private static String fileName(FeedFormat format) {
+        return format.name().toLowerCase(Locale.ROOT) + ".xml";
+    }
+
+    private static String siteKey(FeedFormat format) {
+        return "site:" + format;
+    }
+
+    private static String tagKey(String tagSlug, FeedFormat format) {
+        return "tag:" + tagSlug + ":" + format;
+    }
+
+    private static String authorKey(String username, FeedFormat format) {
+        return "author:" + username + ":" + format;
+    }
+}
@@ -0,0 +1,127 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.feed.FeedFormat;
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.infrastructure.web.Xml;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Serializes feed entries as RSS 2.0 or Atom 1.0
+ */
+final class FeedWriter {
+
+    private static final String ATOM_NAMESPACE = "http://www.w3.org/2005/Atom";
+
+    /**
+     * Feed-level fields: {@code link} is the page the feed mirrors, {@code selfUrl} the feed itself
+     */
+    record Channel(String title, String link, String selfUrl) {
+    }
+
+    private FeedWriter() {
+    }
+
+    /**
+     * @param postUrl prefix of the post links, followed by the slug
+     * @param updated newest change among the entries, or null without entries
+     */
+    static byte[] write(FeedFormat format, Channel channel, List<PostRepository.FeedEntry> entries, String postUrl,
+                        Instant updated) {
+        StringBuilder xml = new StringBuilder(1024 + entries.size() * 512);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        if (format == FeedFormat.RSS) {
+            rss(xml, channel, entries, postUrl, updated);
+        } else {
+            atom(xml, channel, entries, postUrl, updated);
+        }
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void rss(StringBuilder xml, Channel channel, List<PostRepository.FeedEntry> entries,
+                            String postUrl, Instant updated) {
+        xml.append("<rss version=\"2.0\" xmlns:atom=\"").append(ATOM_NAMESPACE)
+                .append("\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\">\n<channel>\n");
+        element(xml, "title", channel.title());
+        element(xml, "link", channel.link());
+        element(xml, "description", channel.title());
+        xml.append("<atom:link href=\"").append(Xml.escape(channel.selfUrl()))
+                .append("\" rel=\"self\" type=\"").append(FeedFormat.RSS.getContentType()).append("\"/>\n");
+        if (updated != null) {
+            element(xml, "lastBuildDate", rfc1123(updated));
+        }
+        for (PostRepository.FeedEntry entry : entries) {
+            xml.append("<item>\n");
+            element(xml, "title", entry.getTitle());
+            element(xml, "link", postUrl + entry.getSlug());
+            xml.append("<guid isPermaLink=\"false\">").append(entry.getId()).append("</guid>\n");
+            if (entry.getPublishedAt() != null) {
+                element(xml, "pubDate", rfc1123(entry.getPublishedAt().toInstant()));
+            }
+            element(xml, "dc:creator", entry.getAuthorName());
+            element(xml, "description", entry.getExcerpt());
+            xml.append("</item>\n");
+        }
+        xml.append("</channel>\n</rss>\n");
+    }
+
+    private static void atom(StringBuilder xml, Channel channel, List<PostRepository.FeedEntry> entries,
+                             String postUrl, Instant updated) {
+        xml.append("<feed xmlns=\"").append(ATOM_NAMESPACE).append("\">\n");
+        element(xml, "title", channel.title());
+        element(xml, "id", channel.selfUrl());
+        xml.append("<link rel=\"self\" href=\"").append(Xml.escape(channel.selfUrl())).append("\"/>\n");
+        xml.append("<link href=\"").append(Xml.escape(channel.link())).append("\"/>\n");
+        element(xml, "updated", iso(updated != null ? updated : Instant.EPOCH));
+        for (PostRepository.FeedEntry entry : entries) {
+            xml.append("<entry>\n");
+            element(xml, "title", entry.getTitle());
+            element(xml, "id", "urn:uuid:" + entry.getId());
+            xml.append("<link href=\"").append(Xml.escape(postUrl + entry.getSlug())).append("\"/>\n");
+            Instant published = instant(entry.getPublishedAt());
+            Instant entryUpdated = latest(published, instant(entry.getUpdatedAt()));
+            if (published != null) {
+                element(xml, "published", iso(published));
+            }
+            element(xml, "updated", iso(entryUpdated != null ? entryUpdated : Instant.EPOCH));
+            xml.append("<author>");
+            element(xml, "name", entry.getAuthorName());
+            xml.append("</author>\n");
+            element(xml, "summary", entry.getExcerpt());
+            xml.append("</entry>\n");
+        }
+        xml.append("</feed>\n");
+    }
+
+    static Instant latest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    static Instant instant(OffsetDateTime time) {
+        return time != null ? time.toInstant().truncatedTo(ChronoUnit.SECONDS) : null;
+    }
+
+    private static void element(StringBuilder xml, String name, String text) {
+        if (text == null) {
+            return;
+        }
+        xml.append('<').append(name).append('>').append(Xml.escape(text)).append("</").append(name).append(">\n");
+    }
+
+    private static String rfc1123(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC));
+    }
+
+    private static String iso(Instant instant) {
+        return DateTimeFormatter.ISO_INSTANT.format(instant.truncatedTo(ChronoUnit.SECONDS));
+    }
+}
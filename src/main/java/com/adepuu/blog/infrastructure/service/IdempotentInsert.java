@@ -0,0 +1,43 @@
+package com.adepuu.blog.infrastructure.service;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Inserts a row guarded by a unique constraint, together with the writes that must go with it, in a
+ * transaction of its own. A violation of the constraint means the row is already there: it rolls back
+ * only that transaction, which is what keeps this portable where {@code INSERT ... ON CONFLICT DO
+ * NOTHING} is not, and where a failed statement aborts the rest of a Postgres transaction.
+ */
+@Component
+public class IdempotentInsert {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public IdempotentInsert(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @param insert  inserts the row, flushing so a violation surfaces here, and applies its side effects
+     * @param present whether the row exists; asked after a violation to tell a duplicate from other failures
+     * @return whether the row was inserted
+     */
+    public boolean insert(Runnable insert, BooleanSupplier present) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert.run());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            if (!present.getAsBoolean()) {
+                throw e; // Not a duplicate
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.adepuu.blog.infrastructure.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Opaque keyset cursors: the sort position of the last row and its id, URL-safe Base64 encoded.
+ * Each query supplies how its position is written and parsed; anything that does not decode is
+ * rejected as an invalid cursor.
+ */
+final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    static String encode(String position, UUID id) {
+        String raw = position + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor a value returned by {@link #encode(String, UUID)}
+     * @param parser builds the cursor from the position and the id
+     * @throws IllegalArgumentException if the value is not a cursor the parser accepts
+     */
+    static <T> T decode(String cursor, BiFunction<String, UUID, T> parser) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return parser.apply(raw.substring(0, separator), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.adepuu.blog.infrastructure.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Loop for background maintenance threads. A failed run is logged and retried on the next tick, so
+ * one database hiccup does not stop the thread; interrupting the thread ends the loop.
+ */
+@Slf4j
+final class Periodic {
+
+    private Periodic() {
+    }
+
+    /**
+     * Runs {@code task} every {@code interval} on the calling thread until it is interrupted
+     */
+    static void every(Duration interval, Runnable task) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.warn("{} failed: {}", Thread.currentThread().getName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,495 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.post.PostImportRecord;
+import com.adepuu.blog.domain.entity.Post;
+import com.adepuu.blog.domain.entity.Tag;
+import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.domain.service.TagService;
+import com.adepuu.blog.infrastructure.cache.PostSlugCache;
+import com.adepuu.blog.infrastructure.config.properties.ImportProperties;
+import com.adepuu.blog.infrastructure.content.ContentAnalyzer;
+import com.adepuu.blog.infrastructure.markdown.MarkdownRenderer;
+import com.adepuu.blog.infrastructure.transaction.AfterCommit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk post import from NDJSON, one {@link PostImportRecord} per line. The input is read in chunks of
+ * {@code blog.import.batch-size} lines so the file is never held in memory. Per chunk:
+ * <ul>
+ *     <li>records are parsed, validated, sanitized and rendered in parallel on a dedicated fork-join pool</li>
+ *     <li>authors are checked and slugs reserved with one query each, tags are looked up with one query
+ *     and created only the first time the import sees a missing name</li>
+ *     <li>posts and post tags are written with JDBC batches, and the author and tag counters adjusted
+ *     with one update per author and per distinct tag delta, all in one transaction</li>
+ * </ul>
+ * Bad records are reported with their line number and skipped; they never fail the rest of the chunk.
+ * Should the chunk's batch still fail, its rows are retried one at a time so only the offending row is
+ * reported.
+ */
+@Slf4j
+@Component
+public class PostImporter implements DisposableBean {
+
+    private static final int POST_SLUG_MAX_LENGTH = 350;
+    private static final int TITLE_MAX_LENGTH = 300;
+    private static final int CONTENT_MIN_LENGTH = 10;
+    private static final int EXCERPT_MAX_LENGTH = 500;
+    private static final int URL_MAX_LENGTH = 500;
+    private static final int TAG_NAME_MAX_LENGTH = 50;
+
+    private static final String INSERT_POST_TAG = "INSERT INTO post_tags (id, post_id, tag_id) VALUES (:id, :postId, :tagId)";
+
+    /**
+     * Receives results as the import goes; called on the importing thread
+     */
+    public interface Listener {
+        void failed(long line, String message);
+
+        void progress(Summary summary);
+    }
+
+    public record Summary(long processed, long imported, long failed) {
+
+        static final Summary EMPTY = new Summary(0, 0, 0);
+
+        Summary plus(Summary other) {
+            return new Summary(processed + other.processed, imported + other.imported, failed + other.failed);
+        }
+    }
+
+    record Line(long number, String text) {
+    }
+
+    // A validated record, rendered and ready to insert
+    record Row(long line, UUID id, UUID authorId, String title, String slugBase, String content, String markdown,
+               String excerpt, String coverImageUrl, String canonicalUrl, Post.PostStatus status,
+               int readingTimeMinutes, List<String> tagNames, OffsetDateTime publishedAt, OffsetDateTime createdAt) {
+    }
+
+    private record Prepared(Row row, Failure failure) {
+    }
+
+    private record Failure(long line, String message) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ContentSanitizationService sanitizationService;
+    private final TagService tagService;
+    private final UserRepository userRepository;
+    private final ImportProperties importProperties;
+    private final PostSlugCache postSlugCache;
+    private final ForkJoinPool pool;
+    private final String insertPost;
+
+    public PostImporter(NamedParameterJdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        ObjectMapper objectMapper,
+                        ContentSanitizationService sanitizationService,
+                        TagService tagService,
+                        UserRepository userRepository,
+                        ImportProperties importProperties,
+                        PostSlugCache postSlugCache,
+                        @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.sanitizationService = sanitizationService;
+        this.tagService = tagService;
+        this.userRepository = userRepository;
+        this.importProperties = importProperties;
+        this.postSlugCache = postSlugCache;
+        int parallelism = importProperties.getParallelism();
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        // A slug taken by a concurrent writer skips the row instead of failing the batch; the row is retried.
+        // updated_at is the insert time, not the historical createdAt, so incremental readers of it (the
+        // sitemap refresh) pick imported posts up
+        String onConflict = datasourceUrl.startsWith("jdbc:postgresql:") ? " ON CONFLICT DO NOTHING" : "";
+        this.insertPost = "INSERT INTO posts (id, title, slug, content, content_markdown, renderer_version, excerpt,"
+                + " cover_image_url, canonical_url, status, reading_time_minutes, author_id, published_at,"
+                + " created_at, updated_at) VALUES (:id, :title, :slug, :content, :markdown, :rendererVersion,"
+                + " :excerpt, :coverImageUrl, :canonicalUrl, :status, :readingTimeMinutes, :authorId, :publishedAt,"
+                + " :createdAt, CURRENT_TIMESTAMP)" + onConflict;
+    }
+
+    /**
+     * Imports every line of {@code ndjson}, reporting failures and per-chunk progress to the listener
+     */
+    public Summary importPosts(Reader ndjson, Listener listener) throws IOException {
+        BufferedReader reader = new BufferedReader(ndjson);
+        int batchSize = Math.max(importProperties.getBatchSize(), 1);
+        TagIndex tags = new TagIndex();
+        Summary total = Summary.EMPTY;
+
+        List<Line> chunk = new ArrayList<>(batchSize);
+        long number = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            number++;
+            if (text.isBlank()) {
+                continue;
+            }
+            chunk.add(new Line(number, text));
+            if (chunk.size() == batchSize) {
+                total = total.plus(importChunk(chunk, tags, listener));
+                listener.progress(total);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            total = total.plus(importChunk(chunk, tags, listener));
+            listener.progress(total);
+        }
+        log.info("Post import finished: {} imported, {} failed", total.imported(), total.failed());
+        return total;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private Summary importChunk(List<Line> chunk, TagIndex tags, Listener listener) {
+        List<Prepared> prepared = pool.submit(() -> chunk.parallelStream().map(this::prepare).toList()).join();
+
+        List<Failure> failures = new ArrayList<>();
+        List<Row> rows = new ArrayList<>(prepared.size());
+        for (Prepared result : prepared) {
+            if (result.failure() != null) {
+                failures.add(result.failure());
+            } else {
+                rows.add(result.row());
+            }
+        }
+
+        Set<UUID> authors = activeAuthorIds(rows);
+        rows.removeIf(row -> {
+            boolean unknown = !authors.contains(row.authorId());
+            if (unknown) {
+                failures.add(new Failure(row.line(), "Author not found"));
+            }
+            return unknown;
+        });
+
+        // Outside the chunk transaction: tag creation retries slug conflicts in transactions of its own
+        tags.resolve(rows.stream().flatMap(row -> row.tagNames().stream()).collect(Collectors.toSet()));
+
+        int imported = 0;
+        if (!rows.isEmpty()) {
+            try {
+                imported = insertInTransaction(rows, tags, failures);
+            } catch (RuntimeException e) {
+                log.warn("Post import chunk failed, retrying its rows one at a time: {}", e.getMessage());
+                for (Row row : rows) {
+                    try {
+                        imported += insertInTransaction(List.of(row), tags, failures);
+                    } catch (RuntimeException rowError) {
+                        failures.add(new Failure(row.line(), "Insert failed: " + rowError.getMessage()));
+                    }
+                }
+            }
+        }
+
+        failures.sort(Comparator.comparingLong(Failure::line));
+        failures.forEach(failure -> listener.failed(failure.line(), failure.message()));
+        return new Summary(chunk.size(), imported, chunk.size() - imported);
+    }
+
+    private Prepared prepare(Line line) {
+        try {
+            PostImportRecord record = objectMapper.readValue(line.text(), PostImportRecord.class);
+            return new Prepared(toRow(line.number(), record), null);
+        } catch (JsonProcessingException e) {
+            return new Prepared(null, new Failure(line.number(), "Invalid JSON: " + e.getOriginalMessage()));
+        } catch (IllegalArgumentException e) {
+            return new Prepared(null, new Failure(line.number(), e.getMessage()));
+        }
+    }
+
+    // Same validation and sanitization as createPost; column limits are checked on the values stored
+    private Row toRow(long line, PostImportRecord record) {
+        UUID authorId = parseId(record.authorId());
+        if (record.content() == null || record.content().isBlank() || record.content().length() < CONTENT_MIN_LENGTH) {
+            throw new IllegalArgumentException("Content must be at least " + CONTENT_MIN_LENGTH + " characters");
+        }
+        if (!sanitizationService.isValidUrl(record.coverImageUrl())) {
+            throw new IllegalArgumentException("Invalid cover image URL");
+        }
+        if (record.coverImageUrl() != null && record.coverImageUrl().length() > URL_MAX_LENGTH) {
+            throw new IllegalArgumentException("Cover image URL must not exceed " + URL_MAX_LENGTH + " characters");
+        }
+        if (!sanitizationService.isValidUrl(record.canonicalUrl())) {
+            throw new IllegalArgumentException("Invalid canonical URL");
+        }
+        if (record.canonicalUrl() != null && record.canonicalUrl().length() > URL_MAX_LENGTH) {
+            throw new IllegalArgumentException("Canonical URL must not exceed " + URL_MAX_LENGTH + " characters");
+        }
+
+        // Escaping can lengthen the text, so the limit applies to the sanitized title
+        String title = record.title() != null ? sanitizationService.sanitizeText(record.title()) : null;
+        if (title == null || title.isBlank() || title.length() > TITLE_MAX_LENGTH) {
+            throw new IllegalArgumentException("Title must be between 1 and " + TITLE_MAX_LENGTH + " characters");
+        }
+        if (sanitizationService.containsProfanity(title) || sanitizationService.containsProfanity(record.content())) {
+            throw new IllegalArgumentException("Content contains inappropriate language");
+        }
+        String content = sanitizationService.markdownToHtml(record.content());
+        ContentAnalyzer.Analysis analysis = sanitizationService.analyzeContent(content, 200);
+        String excerpt = record.excerpt() != null ? sanitizationService.sanitizeText(record.excerpt())
+                : sanitizationService.excerpt(analysis);
+        if (excerpt != null && excerpt.length() > EXCERPT_MAX_LENGTH) {
+            throw new IllegalArgumentException("Excerpt must not exceed " + EXCERPT_MAX_LENGTH + " characters");
+        }
+
+        Post.PostStatus status = parseStatus(record.status());
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime publishedAt = record.publishedAt() != null || status != Post.PostStatus.PUBLISHED
+                ? record.publishedAt() : now;
+
+        return new Row(line, UUID.randomUUID(), authorId, title,
+                SlugAllocator.normalizeBase(sanitizationService.sanitizeSlug(title), POST_SLUG_MAX_LENGTH),
+                content, record.content(), excerpt, record.coverImageUrl(), record.canonicalUrl(), status,
+                analysis.readingTimeMinutes(), tagNames(record.tags()), publishedAt,
+                record.createdAt() != null ? record.createdAt() : now);
+    }
+
+    // Failures are only reported once the transaction commits
+    private int insertInTransaction(List<Row> rows, TagIndex tags, List<Failure> failures) {
+        List<Failure> insertFailures = new ArrayList<>();
+        Integer inserted = transactionTemplate.execute(status -> insert(rows, tags, insertFailures));
+        failures.addAll(insertFailures);
+        return inserted != null ? inserted : 0;
+    }
+
+    private int insert(List<Row> rows, TagIndex tags, List<Failure> failures) {
+        List<Row> pending = rows;
+        List<Row> inserted = new ArrayList<>(rows.size());
+        List<String> insertedSlugs = new ArrayList<>(rows.size());
+        for (int attempt = 1; !pending.isEmpty() && attempt <= SlugAllocator.MAX_ATTEMPTS; attempt++) {
+            Map<UUID, String> slugs = allocateSlugs(pending);
+            jdbcTemplate.batchUpdate(insertPost, pending.stream()
+                    .map(row -> postParams(row, slugs.get(row.id())))
+                    .toArray(SqlParameterSource[]::new));
+
+            // Batched statements may not report per-row counts, so skipped rows are found by id
+            Set<UUID> present = new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM posts WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", pending.stream().map(Row::id).toList()), UUID.class));
+            List<Row> skipped = new ArrayList<>();
+            for (Row row : pending) {
+                if (present.contains(row.id())) {
+                    inserted.add(row);
+                    insertedSlugs.add(slugs.get(row.id()));
+                } else {
+                    skipped.add(row);
+                }
+            }
+            pending = skipped;
+        }
+        pending.forEach(row -> failures.add(new Failure(row.line(), "Could not allocate a unique slug")));
+
+        List<SqlParameterSource> postTags = new ArrayList<>();
+        Map<UUID, Integer> tagDeltas = new HashMap<>();
+        for (Row row : inserted) {
+            for (String name : row.tagNames()) {
+                UUID tagId = tags.id(name);
+                if (tagId == null) {
+                    continue;
+                }
+                postTags.add(new MapSqlParameterSource()
+                        .addValue("id", UUID.randomUUID())
+                        .addValue("postId", row.id())
+                        .addValue("tagId", tagId));
+                if (row.status() == Post.PostStatus.PUBLISHED) {
+                    tagDeltas.merge(tagId, 1, Integer::sum);
+                }
+            }
+        }
+        if (!postTags.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_POST_TAG, postTags.toArray(SqlParameterSource[]::new));
+        }
+
+        inserted.stream()
+                .collect(Collectors.groupingBy(Row::authorId, Collectors.counting()))
+                .forEach((authorId, count) -> userRepository.adjustPostsCount(authorId, count.intValue()));
+        tagService.addPostsCounts(tagDeltas);
+        // New slugs may be cached as unknown from lookups made before the import
+        AfterCommit.run(() -> insertedSlugs.forEach(postSlugCache::invalidate));
+        return inserted.size();
+    }
+
+    /**
+     * Picks the first free slug for every row with one query for all stored slugs sharing their bases
+     */
+    private Map<UUID, String> allocateSlugs(List<Row> rows) {
+        Map<String, Set<String>> taken = new HashMap<>();
+        rows.forEach(row -> taken.put(row.slugBase(), new HashSet<>()));
+
+        StringBuilder where = new StringBuilder();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        int i = 0;
+        for (String base : taken.keySet()) {
+            where.append(i > 0 ? " OR " : "").append("slug = :base").append(i).append(" OR slug LIKE :prefix").append(i);
+            // Sanitized slugs hold only [a-z0-9-], nothing LIKE would interpret
+            params.addValue("base" + i, base).addValue("prefix" + i, base + "-%");
+            i++;
+        }
+        jdbcTemplate.queryForList("SELECT slug FROM posts WHERE " + where, params, String.class)
+                .forEach(slug -> markTaken(taken, slug));
+
+        Map<UUID, String> slugs = new HashMap<>();
+        for (Row row : rows) {
+            String slug = SlugAllocator.firstFree(row.slugBase(), taken.get(row.slugBase()));
+            // Also taken for other bases it extends, e.g. "my-post-1" for a row whose base is "my-post-1"
+            markTaken(taken, slug);
+            slugs.put(row.id(), slug);
+        }
+        return slugs;
+    }
+
+    // Adds the slug to the taken set of every base it equals or starts with followed by '-'
+    private static void markTaken(Map<String, Set<String>> taken, String slug) {
+        Set<String> exact = taken.get(slug);
+        if (exact != null) {
+            exact.add(slug);
+        }
+        for (int dash = slug.indexOf('-'); dash > 0; dash = slug.indexOf('-', dash + 1)) {
+            Set<String> prefixed = taken.get(slug.substring(0, dash));
+            if (prefixed != null) {
+                prefixed.add(slug);
+            }
+        }
+    }
+
+    private Set<UUID> activeAuthorIds(List<Row> rows) {
+        Set<UUID> ids = rows.stream().map(Row::authorId).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM users WHERE id IN (:ids) AND deleted_at IS NULL",
+                new MapSqlParameterSource("ids", ids), UUID.class));
+    }
+
+    private static SqlParameterSource postParams(Row row, String slug) {
+        return new MapSqlParameterSource()
+                .addValue("id", row.id())
+                .addValue("title", row.title())
+                .addValue("slug", slug)
+                .addValue("content", row.content())
+                .addValue("markdown", row.markdown())
+                .addValue("rendererVersion", MarkdownRenderer.VERSION)
+                .addValue("excerpt", row.excerpt())
+                .addValue("coverImageUrl", row.coverImageUrl())
+                .addValue("canonicalUrl", row.canonicalUrl())
+                .addValue("status", row.status().name())
+                .addValue("readingTimeMinutes", row.readingTimeMinutes())
+                .addValue("authorId", row.authorId())
+                .addValue("publishedAt", row.publishedAt())
+                .addValue("createdAt", row.createdAt());
+    }
+
+    private List<String> tagNames(List<String> names) {
+        if (names == null) {
+            return List.of();
+        }
+        Set<String> unique = new LinkedHashSet<>();
+        for (String name : names) {
+            String sanitized = sanitizationService.sanitizeText(name).trim();
+            if (sanitized.length() > TAG_NAME_MAX_LENGTH) {
+                throw new IllegalArgumentException("Tag name must not exceed " + TAG_NAME_MAX_LENGTH + " characters");
+            }
+            if (!sanitized.isEmpty()) {
+                unique.add(sanitized);
+            }
+        }
+        return List.copyOf(unique);
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid author ID");
+        }
+    }
+
+    private static Post.PostStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return Post.PostStatus.DRAFT;
+        }
+        try {
+            return Post.PostStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+    }
+
+    /**
+     * Tag ids by name for one import; each name is looked up or created at most once
+     */
+    private final class TagIndex {
+
+        private final Map<String, UUID> ids = new HashMap<>();
+        private final Set<String> unavailable = new HashSet<>();
+
+        UUID id(String name) {
+            return ids.get(name);
+        }
+
+        void resolve(Collection<String> names) {
+            List<String> unknown = names.stream()
+                    .filter(name -> !ids.containsKey(name) && !unavailable.contains(name))
+                    .toList();
+            if (unknown.isEmpty()) {
+                return;
+            }
+            tagService.getTagsByNames(unknown).forEach(tag -> ids.put(tag.getName(), tag.getId()));
+            for (String name : unknown) {
+                if (!ids.containsKey(name)) {
+                    create(name);
+                }
+            }
+        }
+
+        private void create(String name) {
+            try {
+                Tag tag = tagService.createTag(name, null, null);
+                ids.put(tag.getName(), tag.getId());
+            } catch (RuntimeException e) {
+                // Created concurrently, or held by a deleted tag; posts are imported without it in the latter case
+                tagService.getTagsByNames(List.of(name)).forEach(tag -> ids.put(tag.getName(), tag.getId()));
+                if (!ids.containsKey(name)) {
+                    unavailable.add(name);
+                    log.debug("Tag {} is unavailable for import: {}", name, e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.post.PostFilter;
+import com.adepuu.blog.delivery.dto.post.PostListing;
+import com.adepuu.blog.domain.entity.Post;
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.domain.service.PostListingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Filtered post listings by status, author and tags. Ids are selected with a {@link PostQueryBuilder}
+ * query that reads one index range, then the page's posts are loaded with their author and tags.
+ * Pages can be addressed by number or, for deep paging, by the keyset cursor of the previous page.
+ * The total is only counted when asked for, since it reads every matching row rather than one page.
+ */
+@Service
+public class PostListingServiceImpl implements PostListingService {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PostRepository postRepository;
+    private final boolean tagFeedColumn;
+
+    public PostListingServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                  PostRepository postRepository,
+                                  @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postRepository = postRepository;
+        // post_tags.published_at is maintained by a trigger in db/ddl.sql
+        this.tagFeedColumn = datasourceUrl.startsWith("jdbc:postgresql:");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostListing list(PostFilter filter, int page, int size, String after, boolean countTotal) {
+        PostQueryBuilder builder = new PostQueryBuilder(tagFeedColumn);
+        if (filter != null) {
+            builder.status(filter.status())
+                    .author(parseAuthorId(filter.authorId()))
+                    .tags(filter.tagSlugs());
+        }
+        long offset = 0;
+        if (after != null) {
+            builder.after(PostQueryBuilder.Cursor.decode(after));
+        } else {
+            offset = (long) Math.max(page, 0) * size;
+        }
+
+        PostQueryBuilder.Query query = builder.build(size + 1, offset);
+        List<PostQueryBuilder.Cursor> positions = jdbcTemplate.query(query.sql(), query.params(),
+                (rs, rowNum) -> new PostQueryBuilder.Cursor(
+                        rs.getObject("sort_at", OffsetDateTime.class), rs.getObject("id", UUID.class)));
+        boolean hasNextPage = positions.size() > size;
+        if (hasNextPage) {
+            positions = positions.subList(0, size);
+        }
+
+        List<UUID> ids = positions.stream().map(PostQueryBuilder.Cursor::id).toList();
+        Map<UUID, Post> posts = ids.isEmpty() ? Map.of() : postRepository.findWithAuthorAndTagsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> ordered = ids.stream().map(posts::get).filter(Objects::nonNull).toList();
+
+        Integer total = null;
+        if (countTotal) {
+            total = jdbcTemplate.queryForObject(query.countSql(), query.params(), Integer.class);
+        }
+        String endCursor = positions.isEmpty() ? null : positions.get(positions.size() - 1).encode();
+        return new PostListing(ordered, total, hasNextPage, endCursor);
+    }
+
+    private static UUID parseAuthorId(String authorId) {
+        if (authorId == null || authorId.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(authorId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid authorId");
+        }
+    }
+}
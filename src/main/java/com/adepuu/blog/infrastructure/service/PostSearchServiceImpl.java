@@ -0,0 +1,206 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.post.PostSearchResult;
+import com.adepuu.blog.domain.entity.Post;
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.domain.service.PostSearchService;
+import com.adepuu.blog.infrastructure.content.ContentAnalyzer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranked post search with keyset (rank, id) cursors.
+ * <p>
+ * On PostgreSQL it matches the generated {@code posts.search_vector} column (GIN indexed) with
+ * {@code websearch_to_tsquery}, orders by {@code ts_rank} and builds snippets with {@code ts_headline}
+ * for the returned page only. Other databases (H2 in tests) fall back to case-insensitive LIKE matching
+ * with a coarse title/excerpt/body rank and a snippet cut in Java.
+ */
+@Slf4j
+@Service
+public class PostSearchServiceImpl implements PostSearchService {
+
+    static final int MAX_PAGE_SIZE = 50;
+    private static final int FACET_LIMIT = 20;
+    private static final int SNIPPET_RADIUS = 80;
+    private static final String TS_CONFIG = "'english'";
+    private static final String TS_QUERY = "websearch_to_tsquery(" + TS_CONFIG + ", :query)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PostRepository postRepository;
+    private final boolean fullTextSearch;
+
+    public PostSearchServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                 PostRepository postRepository,
+                                 @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postRepository = postRepository;
+        this.fullTextSearch = datasourceUrl.startsWith("jdbc:postgresql:");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostSearchResult search(String query, List<String> tagSlugs, Post.PostStatus status, UUID authorId,
+                                   int first, String after) {
+        String terms = query != null ? query.strip() : "";
+        if (terms.isEmpty()) {
+            return PostSearchResult.empty();
+        }
+        int limit = Math.min(Math.max(first, 1), MAX_PAGE_SIZE);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", terms)
+                .addValue("pattern", "%" + escapeLike(terms.toLowerCase(Locale.ROOT)) + "%")
+                .addValue("status", (status != null ? status : Post.PostStatus.PUBLISHED).name());
+        String where = "p.status = :status AND p.deleted_at IS NULL AND " + matchCondition();
+        if (authorId != null) {
+            where += " AND p.author_id = :authorId";
+            params.addValue("authorId", authorId);
+        }
+        if (tagSlugs != null && !tagSlugs.isEmpty()) {
+            where += " AND EXISTS (SELECT 1 FROM post_tags fpt JOIN tags ft ON ft.id = fpt.tag_id"
+                    + " WHERE fpt.post_id = p.id AND ft.slug IN (:tagSlugs))";
+            params.addValue("tagSlugs", tagSlugs);
+        }
+
+        String sql = "SELECT r.id, r.rank FROM (SELECT p.id AS id, " + rankExpression() + " AS rank"
+                + " FROM posts p WHERE " + where + ") r";
+        if (after != null) {
+            Cursor cursor = Cursor.decode(after);
+            sql += " WHERE r.rank < :afterRank OR (r.rank = :afterRank AND r.id > :afterId)";
+            params.addValue("afterRank", cursor.rank()).addValue("afterId", cursor.id());
+        }
+        sql += " ORDER BY r.rank DESC, r.id LIMIT :limit";
+        params.addValue("limit", limit + 1);
+
+        List<Cursor> ranked = jdbcTemplate.query(sql, params,
+                (rs, rowNum) -> new Cursor(rs.getFloat("rank"), rs.getObject("id", UUID.class)));
+        boolean hasNextPage = ranked.size() > limit;
+        if (hasNextPage) {
+            ranked = ranked.subList(0, limit);
+        }
+
+        List<PostSearchResult.Edge> edges = toEdges(ranked, terms, params);
+        Integer total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts p WHERE " + where, params, Integer.class);
+        List<PostSearchResult.TagFacet> facets = after == null ? facets(where, params) : List.of();
+        String endCursor = edges.isEmpty() ? null : edges.get(edges.size() - 1).cursor();
+
+        return new PostSearchResult(edges, facets, total != null ? total : 0, hasNextPage, endCursor);
+    }
+
+    private List<PostSearchResult.Edge> toEdges(List<Cursor> ranked, String terms, MapSqlParameterSource params) {
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = ranked.stream().map(Cursor::id).toList();
+        Map<UUID, Post> posts = postRepository.findWithAuthorAndTagsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        Map<UUID, String> snippets = fullTextSearch
+                ? headlines(ids, params)
+                : new HashMap<>();
+
+        List<PostSearchResult.Edge> edges = new ArrayList<>(ranked.size());
+        for (Cursor hit : ranked) {
+            Post post = posts.get(hit.id());
+            if (post == null) {
+                continue; // Deleted between the two queries
+            }
+            String snippet = fullTextSearch ? snippets.get(hit.id()) : snippet(post.getContent(), terms);
+            edges.add(new PostSearchResult.Edge(post, hit.encode(), hit.rank(), snippet));
+        }
+        return edges;
+    }
+
+    /**
+     * Highlighted fragments from the rendered body with tags removed; the remaining text is still
+     * entity-escaped, so the only markup in a snippet is the {@code <mark>} highlighting
+     */
+    private Map<UUID, String> headlines(List<UUID> ids, MapSqlParameterSource params) {
+        String sql = "SELECT p.id, ts_headline(" + TS_CONFIG + ", regexp_replace(p.content, '<[^>]+>', ' ', 'g'), "
+                + TS_QUERY + ", 'StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2')"
+                + " AS snippet FROM posts p WHERE p.id IN (:ids)";
+        Map<UUID, String> snippets = new HashMap<>();
+        jdbcTemplate.query(sql, new MapSqlParameterSource(params.getValues()).addValue("ids", ids),
+                (RowCallbackHandler) rs -> snippets.put(rs.getObject("id", UUID.class), rs.getString("snippet")));
+        return snippets;
+    }
+
+    private List<PostSearchResult.TagFacet> facets(String where, MapSqlParameterSource params) {
+        String sql = "SELECT t.slug, t.name, COUNT(*) AS posts FROM posts p"
+                + " JOIN post_tags pt ON pt.post_id = p.id JOIN tags t ON t.id = pt.tag_id"
+                + " WHERE " + where
+                + " GROUP BY t.slug, t.name ORDER BY posts DESC, t.slug LIMIT " + FACET_LIMIT;
+        return jdbcTemplate.query(sql, params, (rs, rowNum) ->
+                new PostSearchResult.TagFacet(rs.getString("slug"), rs.getString("name"), rs.getInt("posts")));
+    }
+
+    private String matchCondition() {
+        if (fullTextSearch) {
+            return "p.search_vector @@ " + TS_QUERY;
+        }
+        return "(LOWER(p.title) LIKE :pattern ESCAPE '\\' OR LOWER(p.excerpt) LIKE :pattern ESCAPE '\\'"
+                + " OR LOWER(p.content) LIKE :pattern ESCAPE '\\')";
+    }
+
+    private String rankExpression() {
+        if (fullTextSearch) {
+            return "ts_rank(p.search_vector, " + TS_QUERY + ")";
+        }
+        // Exactly representable as float so cursor comparisons are stable
+        return "CAST(CASE WHEN LOWER(p.title) LIKE :pattern ESCAPE '\\' THEN 1.0"
+                + " WHEN LOWER(p.excerpt) LIKE :pattern ESCAPE '\\' THEN 0.5 ELSE 0.25 END AS REAL)";
+    }
+
+    /**
+     * Fallback snippet: plain text around the first occurrence, HTML-escaped, with the match marked
+     */
+    static String snippet(String html, String terms) {
+        String text = ContentAnalyzer.analyze(html, 0).plainText();
+        int at = text.toLowerCase(Locale.ROOT).indexOf(terms.toLowerCase(Locale.ROOT));
+        if (at < 0) {
+            return HtmlUtils.htmlEscape(ContentAnalyzer.analyze(html, SNIPPET_RADIUS * 2).excerpt());
+        }
+        int from = Math.max(0, at - SNIPPET_RADIUS);
+        int to = Math.min(text.length(), at + terms.length() + SNIPPET_RADIUS);
+        return (from > 0 ? "..." : "")
+                + HtmlUtils.htmlEscape(text.substring(from, at))
+                + "<mark>" + HtmlUtils.htmlEscape(text.substring(at, at + terms.length())) + "</mark>"
+                + HtmlUtils.htmlEscape(text.substring(at + terms.length(), to))
+                + (to < text.length() ? "..." : "");
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Keyset position of a hit: rank descending, then id ascending
+     */
+    record Cursor(float rank, UUID id) {
+
+        // The rank's exact bits, so the next page starts at precisely this row
+        String encode() {
+            return KeysetCursor.encode(Integer.toHexString(Float.floatToIntBits(rank)), id);
+        }
+
+        static Cursor decode(String value) {
+            return KeysetCursor.decode(value,
+                    (position, id) -> new Cursor(Float.intBitsToFloat(Integer.parseUnsignedInt(position, 16)), id));
+        }
+    }
+}
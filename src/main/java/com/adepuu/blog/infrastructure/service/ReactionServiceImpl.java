@@ -3,13 +3,17 @@ package com.adepuu.blog.infrastructure.service;
 import com.adepuu.blog.domain.entity.*;
 import com.adepuu.blog.domain.repository.*;
 import com.adepuu.blog.domain.service.ReactionService;
+import com.adepuu.blog.infrastructure.live.PostStatsBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -21,6 +25,7 @@ public class ReactionServiceImpl implements ReactionService {
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
+    private final PostStatsBroadcaster postStatsBroadcaster;
     
     @Override
     @Transactional
@@ -52,6 +57,8 @@ public class ReactionServiceImpl implements ReactionService {
                     .build();
             
             Reaction savedReaction = reactionRepository.save(reaction);
+            userRepository.adjustReactionsReceivedCount(post.getAuthor().getId(), 1);
+            postStatsBroadcaster.countsChanged(postId);
             log.info("User {} reacted to post {} with {}", userId, postId, reactionTypeName);
             
             return savedReaction;
@@ -75,6 +82,8 @@ public class ReactionServiceImpl implements ReactionService {
             }
             
             reactionRepository.delete(reaction);
+            userRepository.adjustReactionsReceivedCount(reaction.getPost().getAuthor().getId(), -1);
+            postStatsBroadcaster.countsChanged(postId);
             log.info("User {} removed {} reaction from post {}", userId, reactionTypeName, postId);
             
             return true;
@@ -114,6 +123,7 @@ public class ReactionServiceImpl implements ReactionService {
                     .build();
             
             Reaction savedReaction = reactionRepository.save(reaction);
+            userRepository.adjustReactionsReceivedCount(comment.getAuthor().getId(), 1);
             log.info("User {} reacted to comment {} with {}", userId, commentId, reactionTypeName);
             
             return savedReaction;
@@ -137,6 +147,7 @@ public class ReactionServiceImpl implements ReactionService {
             }
             
             reactionRepository.delete(reaction);
+            userRepository.adjustReactionsReceivedCount(reaction.getComment().getAuthor().getId(), -1);
             log.info("User {} removed {} reaction from comment {}", userId, reactionTypeName, commentId);
             
             return true;
@@ -152,6 +163,17 @@ public class ReactionServiceImpl implements ReactionService {
         return reactionRepository.findByPostId(postId);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Integer> countByPost(Collection<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        return reactionRepository.countByPostIdIn(postIds).stream()
+                .collect(Collectors.toMap(ReactionRepository.PostCount::getPostId,
+                        postCount -> postCount.getCount().intValue()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<Reaction> getCommentReactions(UUID commentId) {
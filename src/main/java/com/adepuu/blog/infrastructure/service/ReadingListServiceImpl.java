@@ -0,0 +1,92 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.domain.entity.Post;
+import com.adepuu.blog.domain.entity.ReadingList;
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.domain.repository.ReadingListRepository;
+import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.domain.service.ReadingListService;
+import com.adepuu.blog.infrastructure.cache.CacheNames;
+import com.adepuu.blog.infrastructure.cache.UserIdSets;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user reading list. Adding and removing are idempotent, and the set of
+ * bookmarked post ids is cached per user so {@code Post.isBookmarked} needs no query per post.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReadingListServiceImpl implements ReadingListService {
+
+    private final ReadingListRepository readingListRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final UserIdSets userIdSets;
+    private final IdempotentInsert idempotentInsert;
+
+    @Override
+    public boolean addToReadingList(UUID userId, UUID postId) {
+        Post post = postRepository.findActiveById(postId)
+                .filter(found -> found.getStatus() == Post.PostStatus.PUBLISHED)
+                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+
+        boolean added = idempotentInsert.insert(() -> readingListRepository.saveAndFlush(ReadingList.builder()
+                        .user(userRepository.getReferenceById(userId))
+                        .post(postRepository.getReferenceById(post.getId()))
+                        .build()),
+                () -> readingListRepository.existsByUserIdAndPostId(userId, post.getId()));
+        if (added) {
+            userIdSets.changed(CacheNames.BOOKMARKED_POST_IDS, userId);
+            log.debug("User {} added post {} to their reading list", userId, postId);
+        }
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean removeFromReadingList(UUID userId, UUID postId) {
+        if (readingListRepository.deleteByUserIdAndPostId(userId, postId) > 0) {
+            userIdSets.changed(CacheNames.BOOKMARKED_POST_IDS, userId);
+            log.debug("User {} removed post {} from their reading list", userId, postId);
+        }
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Post> getReadingList(UUID userId, Pageable pageable) {
+        Page<UUID> ids = readingListRepository.findListedPostIdsByUserId(userId, pageable);
+        if (ids.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        Map<UUID, Post> postsById = postRepository.findWithAuthorAndTagsByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> posts = ids.getContent().stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(posts, pageable, ids.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<UUID> getBookmarkedPostIds(UUID userId) {
+        return userIdSets.get(CacheNames.BOOKMARKED_POST_IDS, userId,
+                () -> readingListRepository.findPostIdsByUserId(userId));
+    }
+}
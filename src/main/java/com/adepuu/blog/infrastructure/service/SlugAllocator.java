@@ -0,0 +1,92 @@
+package com.adepuu.blog.infrastructure.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Allocates unique slugs for posts and tags.
+ * <p>
+ * One prefix query returns every slug of the form {@code base} or {@code base-N}; the smallest free
+ * candidate is picked locally. The database unique constraint is the real arbiter: if a concurrent
+ * writer takes the same slug first, the save fails and the allocation is repeated against fresh data.
+ */
+@Slf4j
+@Component
+public class SlugAllocator {
+
+    static final int MAX_ATTEMPTS = 5;
+    static final String FALLBACK_BASE = "untitled";
+
+    // Room left for a "-N" suffix when the base is cut to fit the column
+    private static final int SUFFIX_RESERVE = 6;
+
+    /**
+     * Saves an entity under a unique slug derived from {@code baseSlug}
+     *
+     * @param baseSlug          slug without suffix, already sanitized
+     * @param maxLength         length of the slug column
+     * @param slugsStartingWith returns all stored slugs equal to the base or of the form {@code base-N}
+     * @param save              saves the entity with the given slug; must flush so constraint violations surface here
+     */
+    public <T> T save(String baseSlug,
+                      int maxLength,
+                      Function<String, Collection<String>> slugsStartingWith,
+                      Function<String, T> save) {
+        String base = normalizeBase(baseSlug, maxLength);
+        Set<String> taken = new HashSet<>(slugsStartingWith.apply(base));
+
+        for (int attempt = 1; ; attempt++) {
+            String slug = firstFree(base, taken);
+            try {
+                return save.apply(slug);
+            } catch (DataIntegrityViolationException e) {
+                taken = new HashSet<>(slugsStartingWith.apply(base));
+                if (!taken.contains(slug) || attempt >= MAX_ATTEMPTS) {
+                    throw e; // Not a slug conflict, or contention that does not settle
+                }
+                log.debug("Slug {} was taken concurrently, retrying (attempt {})", slug, attempt);
+            }
+        }
+    }
+
+    static String normalizeBase(String baseSlug, int maxLength) {
+        String base = baseSlug == null ? "" : baseSlug;
+        if (base.length() > maxLength - SUFFIX_RESERVE) {
+            base = base.substring(0, maxLength - SUFFIX_RESERVE);
+        }
+        base = base.replaceAll("-+$", "");
+        return base.isEmpty() ? FALLBACK_BASE : base;
+    }
+
+    /**
+     * Returns {@code base} if free, otherwise {@code base-N} for the smallest free N >= 1
+     */
+    static String firstFree(String base, Set<String> taken) {
+        if (!taken.contains(base)) {
+            return base;
+        }
+
+        String prefix = base + "-";
+        Set<Long> usedSuffixes = new HashSet<>();
+        for (String slug : taken) {
+            if (slug.length() > prefix.length() && slug.startsWith(prefix)) {
+                String suffix = slug.substring(prefix.length());
+                if (suffix.length() <= 18 && suffix.chars().allMatch(Character::isDigit)) {
+                    usedSuffixes.add(Long.parseLong(suffix));
+                }
+            }
+        }
+
+        long n = 1;
+        while (usedSuffixes.contains(n)) {
+            n++;
+        }
+        return prefix + n;
+    }
+}
@@ -0,0 +1,89 @@
+package com.adepuu.blog.infrastructure.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Ranked case-insensitive substring search over tag names/descriptions and usernames, returning ids.
+ * <p>
+ * On PostgreSQL the {@code LOWER(col) LIKE '%term%'} conditions are served by the {@code pg_trgm} GIN
+ * indexes on the same lowered expressions, and hits are ordered by exact match, then
+ * {@code word_similarity} and {@code similarity}. Other databases (H2 in tests) run the same LIKE
+ * conditions and rank exact, prefix, then substring matches, shorter values first.
+ */
+@Component
+public class SubstringSearch {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean trigramRanking;
+
+    public SubstringSearch(NamedParameterJdbcTemplate jdbcTemplate,
+                           @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.trigramRanking = datasourceUrl.startsWith("jdbc:postgresql:");
+    }
+
+    /**
+     * Live tags whose name or description contains {@code term}; name matches rank above description matches
+     */
+    public Page<UUID> tagIds(String term, Pageable pageable) {
+        String where = "t.deleted_at IS NULL AND (LOWER(t.name) LIKE :pattern ESCAPE '\\'"
+                + " OR LOWER(t.description) LIKE :pattern ESCAPE '\\')";
+        String order = trigramRanking
+                ? "(LOWER(t.name) = :term) DESC, (LOWER(t.name) LIKE :pattern ESCAPE '\\') DESC,"
+                + " word_similarity(:term, LOWER(t.name)) DESC, similarity(LOWER(t.name), :term) DESC, t.name"
+                : rankByPosition("t.name") + ", LENGTH(t.name), t.name";
+        return search("tags t", "t.id", where, order, term, pageable);
+    }
+
+    /**
+     * Active users whose username contains {@code term}
+     */
+    public Page<UUID> userIds(String term, Pageable pageable) {
+        String where = "u.is_active = true AND u.deleted_at IS NULL AND LOWER(u.username) LIKE :pattern ESCAPE '\\'";
+        String order = trigramRanking
+                ? "(LOWER(u.username) = :term) DESC, word_similarity(:term, LOWER(u.username)) DESC,"
+                + " similarity(LOWER(u.username), :term) DESC, u.username"
+                : rankByPosition("u.username") + ", LENGTH(u.username), u.username";
+        return search("users u", "u.id", where, order, term, pageable);
+    }
+
+    private Page<UUID> search(String from, String id, String where, String order, String term, Pageable pageable) {
+        String normalized = term.strip().toLowerCase(Locale.ROOT);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("term", normalized)
+                .addValue("prefix", escapeLike(normalized) + "%")
+                .addValue("pattern", "%" + escapeLike(normalized) + "%")
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+
+        List<UUID> ids = jdbcTemplate.queryForList("SELECT " + id + " FROM " + from + " WHERE " + where
+                + " ORDER BY " + order + " LIMIT :limit OFFSET :offset", params, UUID.class);
+        // Skip the count when the page shows the whole result
+        if (pageable.getOffset() == 0 && ids.size() < pageable.getPageSize()) {
+            return new PageImpl<>(ids, pageable, ids.size());
+        }
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + from + " WHERE " + where, params, Long.class);
+        return new PageImpl<>(ids, pageable, total != null ? total : 0);
+    }
+
+    // Exact match, then prefix match, then substring match, then rows matched on another column
+    private static String rankByPosition(String column) {
+        return "CASE WHEN LOWER(" + column + ") = :term THEN 0"
+                + " WHEN LOWER(" + column + ") LIKE :prefix ESCAPE '\\' THEN 1"
+                + " WHEN LOWER(" + column + ") LIKE :pattern ESCAPE '\\' THEN 2 ELSE 3 END";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
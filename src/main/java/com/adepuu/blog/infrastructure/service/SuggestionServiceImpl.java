@@ -0,0 +1,160 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.suggest.TagSuggestion;
+import com.adepuu.blog.delivery.dto.suggest.UserSuggestion;
+import com.adepuu.blog.domain.entity.Tag;
+import com.adepuu.blog.domain.entity.User;
+import com.adepuu.blog.domain.repository.TagRepository;
+import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.domain.service.SuggestionService;
+import com.adepuu.blog.infrastructure.config.properties.SuggestProperties;
+import com.adepuu.blog.infrastructure.suggest.PrefixIndex;
+import com.adepuu.blog.infrastructure.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves tag and username suggestions from two {@link PrefixIndex} snapshots held in memory.
+ * <p>
+ * Both indexes are loaded after startup and reloaded every {@code blog.suggest.refresh-interval}, which
+ * refreshes the ranking (posts count for tags, followers for users). Tags and users saved on this node
+ * are applied right after their transaction commits, so they show up without waiting for a reload.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SuggestionServiceImpl implements SuggestionService, DisposableBean {
+
+    private final TagRepository tagRepository;
+    private final UserRepository userRepository;
+    private final SuggestProperties suggestProperties;
+
+    private final Object updateLock = new Object();
+    private volatile PrefixIndex<TagSuggestion> tagIndex = PrefixIndex.empty();
+    private volatile PrefixIndex<UserSuggestion> userIndex = PrefixIndex.empty();
+
+    // Updates applied while a reload is reading the database; replayed onto the reloaded indexes
+    private boolean reloading;
+    private final List<Runnable> updatesDuringReload = new ArrayList<>();
+
+    private volatile Thread refresher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresher = Thread.ofVirtual().name("suggestion-index-refresh").start(this::refreshLoop);
+    }
+
+    @Override
+    public List<TagSuggestion> suggestTags(String prefix, int limit) {
+        return tagIndex.suggest(prefix, Math.min(limit, suggestProperties.getMaxLimit()));
+    }
+
+    @Override
+    public List<UserSuggestion> suggestUsers(String prefix, int limit) {
+        return userIndex.suggest(prefix, Math.min(limit, suggestProperties.getMaxLimit()));
+    }
+
+    @Override
+    public void tagSaved(Tag tag) {
+        PrefixIndex.Entry<TagSuggestion> entry = tag.getDeletedAt() == null ? tagEntry(
+                new TagSuggestion(tag.getId(), tag.getName(), tag.getSlug(), tag.getColor(), count(tag.getPostsCount())),
+                count(tag.getFollowersCount())) : null;
+        AfterCommit.run(() -> update(() -> tagIndex = entry != null ? tagIndex.with(entry) : tagIndex.without(tag.getId())));
+    }
+
+    @Override
+    public void userSaved(User user) {
+        boolean active = Boolean.TRUE.equals(user.getIsActive()) && user.getDeletedAt() == null;
+        UserSuggestion suggestion = new UserSuggestion(
+                user.getId(), user.getUsername(), user.getDisplayName(), user.getProfileImageUrl());
+        AfterCommit.run(() -> update(() -> userIndex = active
+                // The entity carries no follower count; keep the rank from the last reload
+                ? userIndex.with(new PrefixIndex.Entry<>(user.getId(), user.getUsername(),
+                        userIndex.scoreOf(user.getId()), suggestion))
+                : userIndex.without(user.getId())));
+    }
+
+    /**
+     * Reloads both indexes from the database
+     */
+    public void refresh() {
+        synchronized (updateLock) {
+            reloading = true;
+            updatesDuringReload.clear();
+        }
+        try {
+            PrefixIndex<TagSuggestion> tags = PrefixIndex.of(tagRepository.findSuggestionSources().stream()
+                    .map(source -> tagEntry(new TagSuggestion(source.getId(), source.getName(), source.getSlug(),
+                            source.getColor(), count(source.getPostsCount())), count(source.getFollowersCount())))
+                    .toList());
+            PrefixIndex<UserSuggestion> users = PrefixIndex.of(userRepository.findSuggestionSources().stream()
+                    .map(source -> new PrefixIndex.Entry<>(source.getId(), source.getUsername(),
+                            count(source.getFollowersCount()),
+                            new UserSuggestion(source.getId(), source.getUsername(),
+                                    source.getDisplayName(), source.getProfileImageUrl())))
+                    .toList());
+
+            synchronized (updateLock) {
+                tagIndex = tags;
+                userIndex = users;
+                updatesDuringReload.forEach(Runnable::run);
+            }
+            log.debug("Suggestion indexes reloaded: {} tags, {} users", tags.size(), users.size());
+        } finally {
+            synchronized (updateLock) {
+                reloading = false;
+                updatesDuringReload.clear();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Thread thread = refresher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void refreshLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                refresh();
+            } catch (Exception e) {
+                // Keep serving the previous snapshot
+                log.warn("Suggestion index reload failed: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(suggestProperties.getRefreshInterval());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void update(Runnable change) {
+        synchronized (updateLock) {
+            change.run();
+            if (reloading) {
+                updatesDuringReload.add(change);
+            }
+        }
+    }
+
+    // Ranks by posts count, then followers count, matching popularTags
+    private static PrefixIndex.Entry<TagSuggestion> tagEntry(TagSuggestion suggestion, int followersCount) {
+        long score = ((long) suggestion.postsCount() << 32) | (followersCount & 0xFFFFFFFFL);
+        return new PrefixIndex.Entry<>(suggestion.id(), suggestion.name(), score, suggestion);
+    }
+
+    private static int count(Integer value) {
+        return value != null ? Math.max(value, 0) : 0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.domain.repository.TagRepository;
+import com.adepuu.blog.infrastructure.cache.CacheNames;
+import com.adepuu.blog.infrastructure.config.properties.TagProperties;
+import com.adepuu.blog.infrastructure.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains {@code tags.followers_count} from follow state changes instead of recounting follow rows.
+ * <p>
+ * With {@code blog.tags.followers-flush-interval} at zero (the default) every change is applied as an
+ * atomic {@code followers_count + delta} in the transaction that changed the follow. With an interval
+ * set, committed changes are summed per tag in memory and flushed in one statement per distinct delta,
+ * which keeps hot tags from serializing on their row; unflushed deltas are lost if the node dies.
+ * <p>
+ * Every {@code blog.tags.followers-reconcile-interval} pending deltas are flushed and all counters are
+ * recounted from {@code tag_follows}, which corrects lost or double-applied deltas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagFollowerCounter implements DisposableBean {
+
+    private final TagRepository tagRepository;
+    private final TagProperties tagProperties;
+    private final TagStatistics tagStatistics;
+    private final CacheManager cacheManager;
+
+    private final Map<UUID, Integer> pending = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        if (isBatched()) {
+            workers.add(Thread.ofVirtual().name("tag-followers-flush")
+                    .start(() -> Periodic.every(tagProperties.getFollowersFlushInterval(), this::flush)));
+        }
+        workers.add(Thread.ofVirtual().name("tag-followers-reconcile")
+                .start(() -> Periodic.every(tagProperties.getFollowersReconcileInterval(), this::reconcile)));
+    }
+
+    /**
+     * Records that one follow of {@code tagId} was added ({@code +1}) or removed ({@code -1}).
+     * Must be called from the transaction that changed the follow row.
+     */
+    public void adjust(UUID tagId, int delta) {
+        if (isBatched()) {
+            AfterCommit.run(() -> pending.merge(tagId, delta, (a, b) -> a + b == 0 ? null : a + b));
+        } else {
+            tagRepository.adjustFollowersCount(List.of(tagId), delta);
+            AfterCommit.run(() -> countsChanged(Set.of(tagId)));
+        }
+    }
+
+    /**
+     * Writes the pending deltas
+     *
+     * @return number of tags updated
+     */
+    public int flush() {
+        Map<Integer, List<UUID>> byDelta = new HashMap<>();
+        for (UUID tagId : List.copyOf(pending.keySet())) {
+            Integer delta = pending.remove(tagId);
+            if (delta != null) {
+                byDelta.computeIfAbsent(delta, ignored -> new ArrayList<>()).add(tagId);
+            }
+        }
+
+        Set<UUID> updated = new HashSet<>();
+        try {
+            for (Map.Entry<Integer, List<UUID>> entry : byDelta.entrySet()) {
+                tagRepository.adjustFollowersCount(entry.getValue(), entry.getKey());
+                updated.addAll(entry.getValue());
+            }
+        } finally {
+            // Put back whatever was not written so the next flush retries it
+            byDelta.forEach((delta, tagIds) -> tagIds.stream()
+                    .filter(tagId -> !updated.contains(tagId))
+                    .forEach(tagId -> pending.merge(tagId, delta, (a, b) -> a + b == 0 ? null : a + b)));
+        }
+        if (!updated.isEmpty()) {
+            countsChanged(updated);
+        }
+        return updated.size();
+    }
+
+    /**
+     * Flushes pending deltas and recounts every tag's followers from {@code tag_follows}
+     */
+    public void reconcile() {
+        flush();
+        int corrected = tagRepository.recountFollowersCounts();
+        if (corrected > 0) {
+            log.info("Corrected followers_count of {} tags", corrected);
+            tagStatistics.countsChanged();
+            Cache cache = cacheManager.getCache(CacheNames.TAGS_BY_SLUG);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        workers.forEach(Thread::interrupt);
+        if (isBatched() && !pending.isEmpty()) {
+            try {
+                flush();
+            } catch (Exception e) {
+                log.warn("Final tag followers flush failed, reconciliation will correct it: {}", e.getMessage());
+            }
+        }
+    }
+
+    private boolean isBatched() {
+        Duration interval = tagProperties.getFollowersFlushInterval();
+        return interval != null && interval.isPositive();
+    }
+
+    private void countsChanged(Collection<UUID> tagIds) {
+        Cache cache = cacheManager.getCache(CacheNames.TAGS_BY_SLUG);
+        if (cache != null) {
+            tagRepository.findSlugsByIdIn(tagIds).forEach(cache::evict);
+        }
+        tagStatistics.countsChanged();
+    }
+}
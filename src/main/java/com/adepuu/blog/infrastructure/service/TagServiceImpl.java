@@ -2,67 +2,106 @@ package com.adepuu.blog.infrastructure.service;
 
 import com.adepuu.blog.domain.entity.Tag;
 import com.adepuu.blog.domain.entity.TagFollow;
-import com.adepuu.blog.domain.entity.User;
 import com.adepuu.blog.domain.repository.TagFollowRepository;
 import com.adepuu.blog.domain.repository.TagRepository;
 import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.domain.service.SuggestionService;
 import com.adepuu.blog.domain.service.TagService;
+import com.adepuu.blog.infrastructure.cache.CacheNames;
+import com.adepuu.blog.infrastructure.cache.CachedTag;
+import com.adepuu.blog.infrastructure.cache.UserIdSets;
+import com.adepuu.blog.infrastructure.transaction.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TagServiceImpl implements TagService {
     
+    private static final int TAG_SLUG_MAX_LENGTH = 50;
+    
     private final TagRepository tagRepository;
     private final TagFollowRepository tagFollowRepository;
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final SlugAllocator slugAllocator;
+    private final SuggestionService suggestionService;
+    private final SubstringSearch substringSearch;
+    private final TagStatistics tagStatistics;
+    private final TagFollowerCounter tagFollowerCounter;
+    private final PlatformTransactionManager transactionManager;
+    private final UserIdSets userIdSets;
+    private final IdempotentInsert idempotentInsert;
     
     @Override
-    @Transactional
     public Tag createTag(String name, String description, String color) {
         // Check if tag already exists
         if (tagRepository.findByName(name).isPresent()) {
             throw new IllegalArgumentException("Tag with name '" + name + "' already exists");
         }
         
-        // Generate slug from name
-        String slug = generateSlug(name);
-        
-        // Ensure slug is unique
-        if (tagRepository.findBySlug(slug).isPresent()) {
-            slug = slug + "-" + System.currentTimeMillis();
-        }
+        // Each attempt saves in a new transaction, even when called inside one (the importer), so a slug
+        // conflict rolls back only that attempt instead of aborting the caller's transaction
+        TransactionTemplate attempt = new TransactionTemplate(transactionManager);
+        attempt.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Tag savedTag = slugAllocator.save(generateSlug(name), TAG_SLUG_MAX_LENGTH,
+                tagRepository::findSlugsStartingWith,
+                slug -> attempt.execute(status -> tagRepository.saveAndFlush(Tag.builder()
+                        .name(name)
+                        .slug(slug)
+                        .description(description)
+                        .color(color != null ? color : "#000000")
+                        .backgroundColor("#FFFFFF")
+                        .isOfficial(false)
+                        .postsCount(0)
+                        .followersCount(0)
+                        .build())));
         
-        Tag tag = Tag.builder()
-                .name(name)
-                .slug(slug)
-                .description(description)
-                .color(color != null ? color : "#000000")
-                .backgroundColor("#FFFFFF")
-                .isOfficial(false)
-                .postsCount(0)
-                .followersCount(0)
-                .build();
-        
-        Tag savedTag = tagRepository.save(tag);
-        log.info("Created new tag: {} with slug: {}", name, slug);
+        suggestionService.tagSaved(savedTag);
+        log.info("Created new tag: {} with slug: {}", name, savedTag.getSlug());
         return savedTag;
     }
     
+    /**
+     * Tags by slug are cached as {@link CachedTag} snapshots; every call returns a detached copy of its own
+     */
     @Override
     @Transactional(readOnly = true)
     public Tag getTagBySlug(String slug) {
-        return tagRepository.findBySlug(slug).orElse(null);
+        Cache cache = cacheManager.getCache(CacheNames.TAGS_BY_SLUG);
+        CachedTag cached = cache != null ? cache.get(slug, CachedTag.class) : null;
+        if (cached == null) {
+            Tag tag = tagRepository.findBySlug(slug).orElse(null);
+            if (tag == null) {
+                return null;
+            }
+            cached = CachedTag.of(tag);
+            if (cache != null) {
+                cache.put(slug, cached);
+            }
+        }
+        return cached.toTag();
     }
     
     @Override
@@ -83,90 +122,126 @@ public class TagServiceImpl implements TagService {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return tagRepository.findAll(pageable);
         }
-        return tagRepository.searchTags(searchTerm.trim(), pageable);
+        // Rank in SQL, then load the page's entities and restore the ranked order
+        Page<UUID> ids = substringSearch.tagIds(searchTerm, pageable);
+        Map<UUID, Tag> tags = tagRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(Tag::getId, Function.identity()));
+        List<Tag> ranked = ids.getContent().stream().map(tags::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(ranked, pageable, ids.getTotalElements());
     }
     
     @Override
-    @Transactional(readOnly = true)
     public List<Tag> getPopularTags(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return tagRepository.findPopularTags(pageable);
+        return tagStatistics.popularTags(limit);
+    }
+    
+    /**
+     * Applies a post entering, leaving or changing tags in the published listing. Callers pass the
+     * post's tag ids while it was listed (empty if it was not) and while it is listed now. The counts
+     * change in the caller's transaction, if any, and caches and the popular tags follow once it commits.
+     */
+    @Override
+    @Transactional
+    public void updatePostsCounts(Collection<UUID> previousTagIds, Collection<UUID> currentTagIds) {
+        Set<UUID> removed = new HashSet<>(previousTagIds);
+        removed.removeAll(currentTagIds);
+        Set<UUID> added = new HashSet<>(currentTagIds);
+        added.removeAll(previousTagIds);
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+        
+        if (!removed.isEmpty()) {
+            tagRepository.adjustPostsCount(removed, -1);
+        }
+        if (!added.isEmpty()) {
+            tagRepository.adjustPostsCount(added, 1);
+        }
+        Set<UUID> changed = new HashSet<>(removed);
+        changed.addAll(added);
+        postsCountsChanged(changed);
+    }
+    
+    /**
+     * Adds many posts to the published listing at once: one update per distinct delta
+     */
+    @Override
+    @Transactional
+    public void addPostsCounts(Map<UUID, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        deltas.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toSet())))
+                .forEach((delta, ids) -> tagRepository.adjustPostsCount(ids, delta));
+        postsCountsChanged(deltas.keySet());
+    }
+    
+    // Readers only see the new counts once the caller's transaction commits
+    private void postsCountsChanged(Collection<UUID> tagIds) {
+        List<String> slugs = tagRepository.findSlugsByIdIn(tagIds);
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache(CacheNames.TAGS_BY_SLUG);
+            if (cache != null) {
+                slugs.forEach(cache::evict);
+            }
+            tagStatistics.countsChanged();
+        });
     }
     
     @Override
     @Transactional
     public boolean followTag(UUID tagId, String userId) {
-        try {
-            UUID userUuid = UUID.fromString(userId);
-            
-            // Check if tag exists
-            Tag tag = tagRepository.findById(tagId)
-                    .orElseThrow(() -> new IllegalArgumentException("Tag not found"));
-            
-            // Check if user exists
-            User user = userRepository.findById(userUuid)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
-            
-            // Check if already following
-            TagFollow existingFollow = tagFollowRepository.findByTagIdAndUserId(tagId, userUuid)
-                    .orElse(null);
-            
-            if (existingFollow != null) {
-                if (existingFollow.getIsFollowing()) {
-                    return false; // Already following
-                } else {
-                    // Update existing record
-                    existingFollow.setIsFollowing(true);
-                    tagFollowRepository.save(existingFollow);
-                }
-            } else {
-                // Create new follow record
-                TagFollow tagFollow = TagFollow.builder()
-                        .tag(tag)
-                        .user(user)
+        UUID userUuid = UUID.fromString(userId);
+        Tag tag = tagRepository.findById(tagId)
+                .orElseThrow(() -> new IllegalArgumentException("Tag not found"));
+        if (!userRepository.existsById(userUuid)) {
+            throw new IllegalArgumentException("User not found");
+        }
+        
+        // Re-follow flips an existing row; the conditional update only matches when the state changes
+        boolean followed = tagFollowRepository.changeFollowStatus(tagId, userUuid, true) > 0;
+        if (followed) {
+            followed(tagId, userUuid);
+        } else {
+            // First follow: concurrent first follows insert the row once, the others find it there
+            followed = idempotentInsert.insert(() -> {
+                tagFollowRepository.saveAndFlush(TagFollow.builder()
+                        .tag(tagRepository.getReferenceById(tagId))
+                        .user(userRepository.getReferenceById(userUuid))
                         .isFollowing(true)
-                        .build();
-                tagFollowRepository.save(tagFollow);
-            }
-            
-            // Update followers count
-            updateTagFollowersCount(tagId);
-            
+                        .build());
+                followed(tagId, userUuid);
+            }, () -> tagFollowRepository.findByTagIdAndUserId(tagId, userUuid).isPresent());
+        }
+        
+        if (followed) {
             log.info("User {} started following tag {}", userId, tag.getName());
-            return true;
-        } catch (Exception e) {
-            log.error("Error following tag: {}", e.getMessage(), e);
-            return false;
         }
+        return followed;
+    }
+    
+    // Must run in the transaction that changed the follow row
+    private void followed(UUID tagId, UUID userId) {
+        tagFollowerCounter.adjust(tagId, 1);
+        userIdSets.changed(CacheNames.FOLLOWED_TAG_IDS, userId);
     }
     
     @Override
     @Transactional
     public boolean unfollowTag(UUID tagId, String userId) {
-        try {
-            UUID userUuid = UUID.fromString(userId);
-            
-            // Check if following relationship exists
-            TagFollow tagFollow = tagFollowRepository.findByTagIdAndUserId(tagId, userUuid)
-                    .orElse(null);
-            
-            if (tagFollow == null || !tagFollow.getIsFollowing()) {
-                return false; // Not following
-            }
-            
-            // Update follow status
-            tagFollow.setIsFollowing(false);
-            tagFollowRepository.save(tagFollow);
-            
-            // Update followers count
-            updateTagFollowersCount(tagId);
-            
-            log.info("User {} unfollowed tag {}", userId, tagId);
-            return true;
-        } catch (Exception e) {
-            log.error("Error unfollowing tag: {}", e.getMessage(), e);
-            return false;
+        UUID userUuid = UUID.fromString(userId);
+        
+        if (tagFollowRepository.changeFollowStatus(tagId, userUuid, false) == 0) {
+            return false; // Not following
         }
+        
+        tagFollowerCounter.adjust(tagId, -1);
+        userIdSets.changed(CacheNames.FOLLOWED_TAG_IDS, userUuid);
+        
+        log.info("User {} unfollowed tag {}", userId, tagId);
+        return true;
     }
     
     @Override
@@ -193,17 +268,11 @@ public class TagServiceImpl implements TagService {
         }
     }
     
-    @Transactional
-    public void updateTagFollowersCount(UUID tagId) {
-        try {
-            long followersCount = tagFollowRepository.countActiveFollowersByTagId(tagId);
-            tagRepository.findById(tagId).ifPresent(tag -> {
-                tag.setFollowersCount((int) followersCount);
-                tagRepository.save(tag);
-            });
-        } catch (Exception e) {
-            log.error("Error updating tag followers count: {}", e.getMessage(), e);
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public Set<UUID> getFollowedTagIds(UUID userId) {
+        return userIdSets.get(CacheNames.FOLLOWED_TAG_IDS, userId,
+                () -> tagFollowRepository.findFollowedTagIdsByUserId(userId));
     }
     
     private String generateSlug(String name) {
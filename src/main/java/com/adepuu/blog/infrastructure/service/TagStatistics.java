@@ -0,0 +1,127 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.domain.entity.Tag;
+import com.adepuu.blog.domain.repository.TagRepository;
+import com.adepuu.blog.infrastructure.cache.CacheNames;
+import com.adepuu.blog.infrastructure.config.properties.TagProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves popular tags from an immutable top-K snapshot, ordered like {@link TagRepository#findPopularTags}.
+ * <p>
+ * The snapshot is rebuilt in the background after a tag's counters change, once
+ * {@code blog.tags.popular-rebuild-delay} has passed, so every change in that window is folded into one
+ * rebuild. It is also rebuilt every {@code blog.tags.popular-refresh-interval} to pick up changes made on
+ * other nodes. At startup and every {@code blog.tags.posts-recount-interval} the stored
+ * {@code posts_count} values are recounted, so counters that drifted (for example after a crash between
+ * a post update and its counter update) are repaired.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagStatistics implements DisposableBean {
+
+    private final TagRepository tagRepository;
+    private final TagProperties tagProperties;
+    private final CacheManager cacheManager;
+
+    private volatile List<Tag> popular;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final List<Thread> workers = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        workers.add(Thread.ofVirtual().name("popular-tags-refresh")
+                .start(() -> Periodic.every(tagProperties.getPopularRefreshInterval(), this::countsChanged)));
+        workers.add(Thread.ofVirtual().name("tag-posts-recount").start(() -> {
+            recount();
+            Periodic.every(tagProperties.getPostsRecountInterval(), this::recount);
+        }));
+    }
+
+    /**
+     * Returns up to {@code limit} tags from the snapshot; only the very first call before the
+     * snapshot exists reads the database
+     */
+    public List<Tag> popularTags(int limit) {
+        List<Tag> snapshot = popular;
+        if (snapshot == null) {
+            snapshot = rebuild();
+        }
+        return snapshot.size() <= limit ? snapshot : snapshot.subList(0, limit);
+    }
+
+    /**
+     * Schedules a snapshot rebuild after tag counters changed
+     */
+    public void countsChanged() {
+        dirty.set(true);
+        if (rebuilding.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("popular-tags-rebuild").start(this::drain);
+        }
+    }
+
+    /**
+     * Recounts every tag's {@code posts_count} from the published posts
+     */
+    public void recount() {
+        try {
+            int corrected = tagRepository.recountPostsCounts();
+            if (corrected > 0) {
+                log.info("Corrected posts_count of {} tags", corrected);
+                countsChanged();
+                Cache cache = cacheManager.getCache(CacheNames.TAGS_BY_SLUG);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Tag posts_count recount failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void drain() {
+        try {
+            while (dirty.get()) {
+                // Let the changes of a burst accumulate, then rebuild once for all of them
+                Thread.sleep(tagProperties.getPopularRebuildDelay());
+                dirty.set(false);
+                rebuild();
+            }
+        } catch (InterruptedException e) {
+            return;
+        } catch (Exception e) {
+            log.warn("Popular tags rebuild failed: {}", e.getMessage());
+        } finally {
+            rebuilding.set(false);
+        }
+        // A change may have arrived between the last check and releasing the flag
+        if (dirty.get() && rebuilding.compareAndSet(false, true)) {
+            drain();
+        }
+    }
+
+    private List<Tag> rebuild() {
+        List<Tag> snapshot = List.copyOf(tagRepository.findPopularTags(PageRequest.of(0, tagProperties.getPopularSize())));
+        popular = snapshot;
+        return snapshot;
+    }
+}
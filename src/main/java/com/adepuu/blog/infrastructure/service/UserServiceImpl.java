@@ -1,16 +1,37 @@
 package com.adepuu.blog.infrastructure.service;
 
+import com.adepuu.blog.delivery.dto.user.FollowStatus;
 import com.adepuu.blog.delivery.dto.user.UpdateProfileInput;
+import com.adepuu.blog.delivery.dto.user.UserStats;
 import com.adepuu.blog.domain.entity.User;
-import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.domain.entity.UserFollow;
+import com.adepuu.blog.domain.repository.UserFollowRepository;
 import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.domain.service.FeedService;
+import com.adepuu.blog.domain.service.SuggestionService;
 import com.adepuu.blog.domain.service.UserService;
+import com.adepuu.blog.infrastructure.cache.UserByUsernameCache;
+import com.adepuu.blog.infrastructure.transaction.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -18,23 +39,45 @@ import java.util.UUID;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final PostRepository postRepository;
+    private final SuggestionService suggestionService;
+    private final SubstringSearch substringSearch;
+    private final UserFollowRepository userFollowRepository;
+    private final IdempotentInsert idempotentInsert;
+    private final FeedService feedService;
+    private final UserByUsernameCache userByUsernameCache;
 
-    @Override
-    public int getFollowersCount(UUID userId) {
-        // TODO: Implement when user following system is created
-        return 0;
-    }
-
-    @Override
-    public int getFollowingCount(UUID userId) {
-        // TODO: Implement when user following system is created
-        return 0;
+    // Counters are maintained incrementally; one recount after startup repairs any drift
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("user-counters-recount").start(() -> {
+            try {
+                int corrected = userRepository.recountPostsCounts()
+                        + userRepository.recountFollowersCounts()
+                        + userRepository.recountFollowingCounts()
+                        + userRepository.recountReactionsReceivedCounts();
+                log.info("Recounted user counters, {} corrected", corrected);
+            } catch (Exception e) {
+                log.warn("User counters recount failed: {}", e.getMessage());
+            }
+        });
     }
 
+    /**
+     * Stored counters of all users in one query
+     */
     @Override
-    public int getPostsCount(UUID userId) {
-        return (int) postRepository.countByAuthorIdAndDeletedAtIsNull(userId);
+    @Transactional(readOnly = true)
+    public Map<UUID, UserStats> getStats(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findStatsByIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserRepository.StatsSource::getId, source -> new UserStats(
+                        source.getId(),
+                        count(source.getPostsCount()),
+                        count(source.getFollowersCount()),
+                        count(source.getFollowingCount()),
+                        count(source.getReactionsReceivedCount()))));
     }
 
     @Override
@@ -43,6 +86,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findActiveById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        boolean renamed = input.displayName() != null && !input.displayName().equals(user.getDisplayName());
         if (input.displayName() != null) {
             user.setDisplayName(input.displayName());
         }
@@ -68,20 +112,110 @@ public class UserServiceImpl implements UserService {
             user.setEmail(input.email());
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        suggestionService.userSaved(saved);
+        userByUsernameCache.evict(saved.getUsername());
+        if (renamed) {
+            // Feeds name the author of every entry; the author's posts can be in any tag feed
+            AfterCommit.run(feedService::allChanged);
+        }
+        return saved;
     }
 
     @Override
-    @Transactional
     public void followUser(UUID followerId, UUID followedId) {
-        // TODO: Implement when user following system is created
-        log.info("User {} followed user {}", followerId, followedId);
+        if (followerId.equals(followedId)) {
+            throw new IllegalArgumentException("You cannot follow yourself");
+        }
+        userRepository.findActiveById(followedId)
+                .filter(user -> Boolean.TRUE.equals(user.getIsActive()))
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        // Counters move in the same transaction as the follow row, so repeated follows are no-ops
+        boolean followed = idempotentInsert.insert(() -> {
+            userFollowRepository.saveAndFlush(UserFollow.builder()
+                    .follower(userRepository.getReferenceById(followerId))
+                    .following(userRepository.getReferenceById(followedId))
+                    .build());
+            userRepository.adjustFollowingCount(followerId, 1);
+            userRepository.adjustFollowersCount(followedId, 1);
+        }, () -> userFollowRepository.existsByFollowerIdAndFollowingId(followerId, followedId));
+        if (followed) {
+            log.info("User {} followed user {}", followerId, followedId);
+        }
     }
 
     @Override
     @Transactional
     public void unfollowUser(UUID followerId, UUID followedId) {
-        // TODO: Implement when user following system is created
-        log.info("User {} unfollowed user {}", followerId, followedId);
+        if (userFollowRepository.deleteByFollowerIdAndFollowingId(followerId, followedId) > 0) {
+            userRepository.adjustFollowingCount(followerId, -1);
+            userRepository.adjustFollowersCount(followedId, -1);
+            log.info("User {} unfollowed user {}", followerId, followedId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<User> searchUsers(String search, Pageable pageable) {
+        // Rank in SQL, then load the page's entities and restore the ranked order
+        Page<UUID> ids = substringSearch.userIds(search, pageable);
+        return new PageImpl<>(loadInOrder(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<FollowStatus.Key, FollowStatus> getFollowStatus(Collection<FollowStatus.Key> keys) {
+        // One query per viewer; a response normally has a single viewer
+        Map<FollowStatus.Key, FollowStatus> statuses = new HashMap<>();
+        keys.stream().collect(Collectors.groupingBy(FollowStatus.Key::viewerId)).forEach((viewerId, viewerKeys) -> {
+            Set<UUID> following = new HashSet<>();
+            Set<UUID> followers = new HashSet<>();
+            userFollowRepository.findEdgesBetween(viewerId, viewerKeys.stream().map(FollowStatus.Key::userId).toList())
+                    .forEach(edge -> {
+                        if (edge.getFollowerId().equals(viewerId)) {
+                            following.add(edge.getFollowingId());
+                        } else {
+                            followers.add(edge.getFollowerId());
+                        }
+                    });
+            viewerKeys.forEach(key -> statuses.put(key,
+                    new FollowStatus(following.contains(key.userId()), followers.contains(key.userId()))));
+        });
+        return statuses;
+    }
+
+    // Follow lists: active users only, newest follow first
+    @Override
+    @Transactional(readOnly = true)
+    public Page<User> getFollowers(UUID userId, Pageable pageable) {
+        return userFollowRepository.findFollowers(userId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<User> getFollowing(UUID userId, Pageable pageable) {
+        return userFollowRepository.findFollowing(userId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<User> getMutualFollows(UUID userId, Pageable pageable) {
+        return userFollowRepository.findMutualFollows(userId, pageable);
+    }
+
+    private static int count(Integer value) {
+        return value != null ? Math.max(value, 0) : 0;
+    }
+
+    // Loads the users behind a page of ids, keeping the ids' order and dropping deleted or inactive users
+    private List<User> loadInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, User> users = userRepository.findAllById(ids).stream()
+                .filter(user -> Boolean.TRUE.equals(user.getIsActive()) && user.getDeletedAt() == null)
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream().map(users::get).filter(Objects::nonNull).toList();
     }
 }
@@ -0,0 +1,340 @@
+package com.adepuu.blog.infrastructure.sitemap;
+
+import com.adepuu.blog.infrastructure.config.properties.SitemapProperties;
+import com.adepuu.blog.infrastructure.web.Xml;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Renders {@code sitemap.xml} and its shards into {@code blog.sitemap.cache-dir}. Published posts are
+ * split into a power-of-two number of shards by the leading bits of their id, so a post stays in the
+ * same shard as others are added or removed and each shard is a range scan on the primary key. A shard
+ * is streamed from a forward-only cursor over {@code (slug, updated_at)} straight into its file.
+ * <p>
+ * Every {@code blog.sitemap.refresh-interval} only the shards containing posts whose {@code updated_at}
+ * moved since the previous refresh are rendered again; unpublishing and soft deletes bump it too. A
+ * change in the number of shards renders all of them. A refresh that renders nothing leaves every file
+ * untouched, so their modification times keep answering conditional requests. The state next to the
+ * files lets a restart continue incrementally.
+ * <p>
+ * Requests are served from the files already in place without waiting for a refresh in progress.
+ */
+@Slf4j
+@Component
+public class SitemapGenerator implements DisposableBean {
+
+    static final String INDEX_FILE = "sitemap.xml";
+    static final String STATE_FILE = "sitemap.properties";
+
+    private static final String NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final String PUBLISHED = "status = 'PUBLISHED' AND deleted_at IS NULL";
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final int MAX_SHARD_BITS = 16;
+
+    // A row committed after a refresh read can carry an older updated_at; the next refresh looks back this far
+    private static final Duration COMMIT_LAG = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SitemapProperties sitemapProperties;
+    private final Path directory;
+
+    private volatile State state;
+
+    private volatile Thread refresher;
+
+    public SitemapGenerator(DataSource dataSource, PlatformTransactionManager transactionManager,
+                            SitemapProperties sitemapProperties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(sitemapProperties.getFetchSize());
+        // Postgres only streams with a fetch size inside a transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.sitemapProperties = sitemapProperties;
+        this.directory = Path.of(sitemapProperties.getCacheDir());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresher = Thread.ofVirtual().name("sitemap-refresh").start(this::refreshLoop);
+    }
+
+    /**
+     * The sitemap index; rendered right away if nothing has been rendered yet
+     */
+    public Path index() throws IOException {
+        rendered();
+        return directory.resolve(INDEX_FILE);
+    }
+
+    /**
+     * A rendered shard, or empty if the index does not list it
+     */
+    public Optional<Path> shard(int shard) throws IOException {
+        State current = rendered();
+        if (shard < 0 || shard >= current.shardCount()) {
+            return Optional.empty();
+        }
+        return Optional.of(directory.resolve(shardFile(shard)));
+    }
+
+    /**
+     * Renders the shards that changed since the previous refresh and the index
+     *
+     * @return the shards rendered
+     */
+    synchronized Set<Integer> refresh() throws IOException {
+        if (state == null) {
+            state = loadState();
+        }
+        Files.createDirectories(directory);
+
+        OffsetDateTime startedAt = jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", OffsetDateTime.class);
+        Long published = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE " + PUBLISHED, Long.class);
+        int bits = shardBits(published == null ? 0 : published, sitemapProperties.getShardSize());
+        int shardCount = 1 << bits;
+
+        Set<Integer> changed = new TreeSet<>();
+        Map<Integer, OffsetDateTime> lastModified = new HashMap<>();
+        if (state == null || state.bits() != bits) {
+            for (int shard = 0; shard < shardCount; shard++) {
+                changed.add(shard);
+            }
+        } else {
+            lastModified.putAll(state.lastModified());
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                    "SELECT id FROM posts WHERE updated_at >= ?",
+                    rs -> {
+                        changed.add(shardOf(rs.getObject(1, UUID.class), bits));
+                    },
+                    state.since()));
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (!Files.exists(directory.resolve(shardFile(shard)))) {
+                    changed.add(shard);
+                }
+            }
+        }
+
+        if (changed.isEmpty()) {
+            // Nothing to write; only the next refresh looks back less far
+            state = new State(bits, startedAt.minus(COMMIT_LAG), lastModified);
+            return changed;
+        }
+        for (int shard : changed) {
+            OffsetDateTime shardModified = renderShard(shard, bits);
+            if (shardModified != null) {
+                lastModified.put(shard, shardModified);
+            } else {
+                lastModified.remove(shard);
+            }
+        }
+        if (state != null) {
+            for (int shard = shardCount; shard < state.shardCount(); shard++) {
+                Files.deleteIfExists(directory.resolve(shardFile(shard)));
+            }
+        }
+        renderIndex(shardCount, lastModified);
+
+        State refreshed = new State(bits, startedAt.minus(COMMIT_LAG), lastModified);
+        saveState(refreshed);
+        state = refreshed;
+        log.debug("Sitemap refreshed: {} of {} shards rendered", changed.size(), shardCount);
+        return changed;
+    }
+
+    @Override
+    public void destroy() {
+        Thread thread = refresher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    static String shardFile(int shard) {
+        return "sitemap-" + shard + ".xml";
+    }
+
+    static int shardOf(UUID id, int bits) {
+        return bits == 0 ? 0 : (int) (id.getMostSignificantBits() >>> (64 - bits));
+    }
+
+    private static int shardBits(long published, int shardSize) {
+        long shards = (published + Math.max(1, shardSize) - 1) / Math.max(1, shardSize);
+        int bits = 0;
+        while ((1L << bits) < shards && bits < MAX_SHARD_BITS) {
+            bits++;
+        }
+        return bits;
+    }
+
+    // Files are replaced atomically, so they can be served while a refresh holds the lock
+    private State rendered() throws IOException {
+        State current = state;
+        if (current != null && Files.exists(directory.resolve(INDEX_FILE))) {
+            return current;
+        }
+        synchronized (this) {
+            if (state == null) {
+                state = loadState();
+            }
+            if (state == null || !Files.exists(directory.resolve(INDEX_FILE))) {
+                refresh();
+            }
+            return state;
+        }
+    }
+
+    private OffsetDateTime renderShard(int shard, int bits) throws IOException {
+        UUID from = bits == 0 ? MIN_ID : new UUID((long) shard << (64 - bits), 0L);
+        UUID to = bits == 0 || shard + 1 == 1 << bits ? null : new UUID((long) (shard + 1) << (64 - bits), 0L);
+        String sql = "SELECT slug, updated_at FROM posts WHERE " + PUBLISHED + " AND id >= ?"
+                + (to != null ? " AND id < ?" : "") + " ORDER BY id";
+        Object[] args = to != null ? new Object[]{from, to} : new Object[]{from};
+        String postUrl = sitemapProperties.getSiteUrl() + "/posts/";
+
+        OffsetDateTime[] latest = new OffsetDateTime[1];
+        writeAtomically(directory.resolve(shardFile(shard)), out -> {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<urlset xmlns=\"" + NAMESPACE + "\">\n");
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, rs -> {
+                OffsetDateTime updatedAt = rs.getObject("updated_at", OffsetDateTime.class);
+                if (updatedAt != null && (latest[0] == null || updatedAt.isAfter(latest[0]))) {
+                    latest[0] = updatedAt;
+                }
+                try {
+                    writeEntry(out, "url", postUrl + rs.getString("slug"), updatedAt);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, args));
+            out.write("</urlset>\n");
+        });
+        return latest[0];
+    }
+
+    private void renderIndex(int shardCount, Map<Integer, OffsetDateTime> lastModified) throws IOException {
+        String shardUrl = sitemapProperties.getBaseUrl() + "/sitemaps/";
+        writeAtomically(directory.resolve(INDEX_FILE), out -> {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<sitemapindex xmlns=\"" + NAMESPACE + "\">\n");
+            for (int shard = 0; shard < shardCount; shard++) {
+                writeEntry(out, "sitemap", shardUrl + shardFile(shard), lastModified.get(shard));
+            }
+            out.write("</sitemapindex>\n");
+        });
+    }
+
+    private static void writeEntry(Writer out, String element, String location, OffsetDateTime modified)
+            throws IOException {
+        out.write("  <" + element + "><loc>" + Xml.escape(location) + "</loc>");
+        if (modified != null) {
+            out.write("<lastmod>" + modified.withOffsetSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS)
+                    .format(DateTimeFormatter.ISO_OFFSET_DATE_TIME) + "</lastmod>");
+        }
+        out.write("</" + element + ">\n");
+    }
+
+    /**
+     * Writes to a temporary file and moves it into place, so readers never see a partial file
+     */
+    private void writeAtomically(Path target, FileWriter writer) throws IOException {
+        Path temp = Files.createTempFile(directory, "sitemap-", ".tmp");
+        try {
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(out);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private State loadState() {
+        Path file = directory.resolve(STATE_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(in);
+            Map<Integer, OffsetDateTime> lastModified = new HashMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith("shard.")) {
+                    lastModified.put(Integer.parseInt(name.substring("shard.".length())),
+                            OffsetDateTime.parse(properties.getProperty(name)));
+                }
+            }
+            return new State(Integer.parseInt(properties.getProperty("bits")),
+                    OffsetDateTime.parse(properties.getProperty("since")), lastModified);
+        } catch (IOException | RuntimeException e) {
+            // Render everything again
+            log.warn("Ignoring unreadable sitemap state: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveState(State saved) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("bits", Integer.toString(saved.bits()));
+        properties.setProperty("since", saved.since().toString());
+        saved.lastModified().forEach((shard, modified) ->
+                properties.setProperty("shard." + shard, modified.toString()));
+        writeAtomically(directory.resolve(STATE_FILE), out -> properties.store(out, null));
+    }
+
+    private void refreshLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                refresh();
+            } catch (Exception e) {
+                // Keep serving the files rendered last
+                log.warn("Sitemap refresh failed: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(sitemapProperties.getRefreshInterval());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface FileWriter {
+        void write(Writer out) throws IOException;
+    }
+
+    private record State(int bits, OffsetDateTime since, Map<Integer, OffsetDateTime> lastModified) {
+
+        int shardCount() {
+            return 1 << bits;
+        }
+    }
+}
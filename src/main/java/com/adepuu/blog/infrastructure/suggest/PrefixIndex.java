@@ -0,0 +1,225 @@
+package com.adepuu.blog.infrastructure.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Immutable prefix index returning the highest scored entries whose key starts with a given prefix.
+ * <p>
+ * Entries are kept sorted by key, so the entries matching a prefix form one contiguous range found by
+ * two binary searches. A sparse table over the scores answers "best entry in range" in constant time,
+ * which lets the top {@code k} of a range be extracted in {@code O(k log k)} however many keys share
+ * the prefix. An entry whose key equals the prefix is always returned first.
+ * <p>
+ * Updates return a new index and leave this one untouched, so readers never need to lock.
+ */
+public final class PrefixIndex<T> {
+
+    public record Entry<T>(UUID id, String key, long score, T value) {
+        public Entry {
+            Objects.requireNonNull(id, "id");
+            key = normalize(key);
+        }
+    }
+
+    private static final Comparator<Entry<?>> ORDER = Comparator.<Entry<?>, String>comparing(Entry::key)
+            .thenComparing(Entry::id);
+
+    private static final PrefixIndex<?> EMPTY = new PrefixIndex<>(List.of());
+
+    private final List<Entry<T>> entries;
+    // sparse[j][i] is the position of the best entry in entries[i .. i + 2^j)
+    private final int[][] sparse;
+
+    private PrefixIndex(List<Entry<T>> sortedEntries) {
+        this.entries = sortedEntries;
+        this.sparse = buildSparseTable(sortedEntries);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PrefixIndex<T> empty() {
+        return (PrefixIndex<T>) EMPTY;
+    }
+
+    /**
+     * Builds an index over {@code entries}; when several entries share an id the last one wins
+     */
+    public static <T> PrefixIndex<T> of(Collection<Entry<T>> entries) {
+        List<Entry<T>> sorted = new ArrayList<>(entries.size());
+        Map<UUID, Entry<T>> byId = new LinkedHashMap<>();
+        for (Entry<T> entry : entries) {
+            byId.put(entry.id(), entry);
+        }
+        for (Entry<T> entry : byId.values()) {
+            if (!entry.key().isEmpty()) {
+                sorted.add(entry);
+            }
+        }
+        sorted.sort(ORDER);
+        return new PrefixIndex<>(List.copyOf(sorted));
+    }
+
+    /**
+     * Returns a new index with {@code entry} added, replacing any entry with the same id
+     */
+    public PrefixIndex<T> with(Entry<T> entry) {
+        List<Entry<T>> updated = new ArrayList<>(entries.size() + 1);
+        for (Entry<T> existing : entries) {
+            if (!existing.id().equals(entry.id())) {
+                updated.add(existing);
+            }
+        }
+        if (!entry.key().isEmpty()) {
+            int position = Collections.binarySearch(updated, entry, ORDER);
+            updated.add(position < 0 ? -position - 1 : position, entry);
+        }
+        return new PrefixIndex<>(List.copyOf(updated));
+    }
+
+    /**
+     * Returns a new index without the entry with the given id, or this index if there is none
+     */
+    public PrefixIndex<T> without(UUID id) {
+        List<Entry<T>> updated = new ArrayList<>(entries.size());
+        for (Entry<T> existing : entries) {
+            if (!existing.id().equals(id)) {
+                updated.add(existing);
+            }
+        }
+        return updated.size() == entries.size() ? this : new PrefixIndex<>(List.copyOf(updated));
+    }
+
+    /**
+     * Returns the score of the entry with the given id, or 0 if there is none
+     */
+    public long scoreOf(UUID id) {
+        for (Entry<T> entry : entries) {
+            if (entry.id().equals(id)) {
+                return entry.score();
+            }
+        }
+        return 0;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns up to {@code limit} values whose key starts with {@code prefix}, best score first.
+     * Ties are broken by key, so shorter and alphabetically earlier keys come first.
+     */
+    public List<T> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0 || entries.isEmpty()) {
+            return List.of();
+        }
+
+        int from = lowerBound(normalized);
+        int to = lowerBound(normalized + Character.MAX_VALUE);
+        if (from >= to) {
+            return List.of();
+        }
+
+        List<T> result = new ArrayList<>(Math.min(limit, to - from));
+        int exact = -1;
+        if (entries.get(from).key().equals(normalized)) {
+            exact = from;
+            result.add(entries.get(from).value());
+        }
+
+        // Pop the best entry of a range, then split the range around it
+        PriorityQueue<Range> queue = new PriorityQueue<>();
+        offer(queue, from, to);
+        while (!queue.isEmpty() && result.size() < limit) {
+            Range range = queue.poll();
+            if (range.best != exact) {
+                result.add(entries.get(range.best).value());
+            }
+            offer(queue, range.from, range.best);
+            offer(queue, range.best + 1, range.to);
+        }
+        return result;
+    }
+
+    private void offer(PriorityQueue<Range> queue, int from, int to) {
+        if (from < to) {
+            int best = best(from, to);
+            queue.add(new Range(from, to, best, entries.get(best).score()));
+        }
+    }
+
+    private record Range(int from, int to, int best, long score) implements Comparable<Range> {
+        @Override
+        public int compareTo(Range other) {
+            int byScore = Long.compare(other.score, score);
+            return byScore != 0 ? byScore : Integer.compare(best, other.best);
+        }
+    }
+
+    private int best(int from, int to) {
+        int level = 31 - Integer.numberOfLeadingZeros(to - from);
+        int left = sparse[level][from];
+        int right = sparse[level][to - (1 << level)];
+        return better(entries, left, right);
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries.get(mid).key().compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static <T> int[][] buildSparseTable(List<Entry<T>> entries) {
+        int n = entries.size();
+        if (n == 0) {
+            return new int[0][];
+        }
+        int levels = 32 - Integer.numberOfLeadingZeros(n);
+        int[][] table = new int[levels][];
+        table[0] = new int[n];
+        Arrays.setAll(table[0], i -> i);
+        for (int j = 1; j < levels; j++) {
+            int half = 1 << (j - 1);
+            int[] previous = table[j - 1];
+            int[] current = new int[n - (1 << j) + 1];
+            for (int i = 0; i < current.length; i++) {
+                current[i] = better(entries, previous[i], previous[i + half]);
+            }
+            table[j] = current;
+        }
+        return table;
+    }
+
+    // Higher score wins, then the earlier (alphabetically smaller) key
+    private static <T> int better(List<Entry<T>> entries, int a, int b) {
+        long scoreA = entries.get(a).score();
+        long scoreB = entries.get(b).score();
+        if (scoreA != scoreB) {
+            return scoreA > scoreB ? a : b;
+        }
+        return Math.min(a, b);
+    }
+
+    static String normalize(String key) {
+        return key == null ? "" : key.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,26 @@
+package com.adepuu.blog.infrastructure.web;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Validators for responses served from a rendered body
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Strong ETag of the body: the first 16 bytes of its SHA-256, quoted
+     */
+    public static String of(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
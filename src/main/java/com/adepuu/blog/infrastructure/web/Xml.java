@@ -0,0 +1,29 @@
+package com.adepuu.blog.infrastructure.web;
+
+/**
+ * Helpers for the XML documents written by hand (feeds, sitemaps)
+ */
+public final class Xml {
+
+    private Xml() {
+    }
+
+    /**
+     * Escapes text for use in element content and in attribute values of either quote style
+     */
+    public static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> escaped.append("&amp;");
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '"' -> escaped.append("&quot;");
+                case '\'' -> escaped.append("&apos;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
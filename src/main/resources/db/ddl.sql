@@ -1,5 +1,6 @@
 -- Enable UUID extension
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
 
 -- User roles enum
 CREATE TYPE user_role AS ENUM ('USER', 'MODERATOR', 'ADMIN');
@@ -33,6 +34,10 @@ CREATE TABLE users (
     role VARCHAR(255) DEFAULT 'USER',
     email_verified BOOLEAN DEFAULT FALSE,
     is_active BOOLEAN DEFAULT TRUE,
+    followers_count INTEGER NOT NULL DEFAULT 0,
+    following_count INTEGER NOT NULL DEFAULT 0,
+    posts_count INTEGER NOT NULL DEFAULT 0,
+    reactions_received_count INTEGER NOT NULL DEFAULT 0,
     created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     deleted_at TIMESTAMP WITH TIME ZONE NULL
@@ -59,7 +64,9 @@ CREATE TABLE posts (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
     title VARCHAR(300) NOT NULL,
     slug VARCHAR(350) UNIQUE NOT NULL,
-    content TEXT NOT NULL,
+    content TEXT NOT NULL, -- Rendered HTML
+    content_markdown TEXT, -- Markdown source
+    renderer_version INTEGER NOT NULL DEFAULT 0, -- Renderer version that produced content
     excerpt TEXT,
     cover_image_url VARCHAR(500),
     canonical_url VARCHAR(500),
@@ -71,7 +78,13 @@ CREATE TABLE posts (
     published_at TIMESTAMP WITH TIME ZONE NULL,
     created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    deleted_at TIMESTAMP WITH TIME ZONE NULL
+    deleted_at TIMESTAMP WITH TIME ZONE NULL,
+    -- Full-text document kept in sync by Postgres: title (A) > excerpt (B) > body (C)
+    search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(excerpt, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(content_markdown, content)), 'C')
+    ) STORED
 );
 
 -- Post-Tags junction table (many-to-many)
@@ -80,6 +93,7 @@ CREATE TABLE post_tags (
     post_id UUID NOT NULL REFERENCES posts(id) ON DELETE CASCADE,
     tag_id UUID NOT NULL REFERENCES tags(id) ON DELETE CASCADE,
     created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP WITH TIME ZONE NULL, -- Post's published_at while it is listed, kept by trigger
     
     UNIQUE(post_id, tag_id)
 );
@@ -94,7 +108,13 @@ CREATE TABLE comments (
     is_edited BOOLEAN DEFAULT FALSE,
     created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    deleted_at TIMESTAMP WITH TIME ZONE NULL
+    deleted_at TIMESTAMP WITH TIME ZONE NULL,
+    
+    -- Moderation
+    is_flagged BOOLEAN DEFAULT FALSE,
+    moderation_reason VARCHAR(255),
+    moderated_by UUID NULL REFERENCES users(id) ON DELETE SET NULL,
+    moderated_at TIMESTAMP WITH TIME ZONE NULL
 );
 
 -- Reactions table (likes, loves, unicorns, etc.)
@@ -126,6 +146,7 @@ CREATE TABLE tag_follows (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
     user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     tag_id UUID NOT NULL REFERENCES tags(id) ON DELETE CASCADE,
+    is_following BOOLEAN NOT NULL DEFAULT TRUE, -- Unfollowing keeps the row
     created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     
     UNIQUE(user_id, tag_id)
@@ -155,16 +176,33 @@ CREATE TABLE post_views (
 CREATE INDEX idx_users_username ON users(username) WHERE deleted_at IS NULL;
 CREATE INDEX idx_users_email ON users(email) WHERE deleted_at IS NULL;
 CREATE INDEX idx_users_created_at ON users(created_at);
+CREATE INDEX idx_users_username_trgm ON users USING GIN (LOWER(username) gin_trgm_ops); -- LOWER(username) LIKE '%term%'
 
 CREATE INDEX idx_posts_author_id ON posts(author_id);
 CREATE INDEX idx_posts_status ON posts(status);
-CREATE INDEX idx_posts_published_at ON posts(published_at) WHERE published_at IS NOT NULL;
+-- Post listings (PostQueryBuilder): every filter combination reads one of these in listing order
+CREATE INDEX idx_posts_published_feed ON posts(published_at DESC, id) WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
+CREATE INDEX idx_posts_author_feed ON posts(author_id, published_at DESC, id) WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
+CREATE INDEX idx_posts_author_status ON posts(author_id, status, created_at DESC, id) WHERE deleted_at IS NULL;
 CREATE INDEX idx_posts_slug ON posts(slug) WHERE deleted_at IS NULL;
+CREATE INDEX idx_posts_search_vector ON posts USING GIN (search_vector);
+CREATE INDEX idx_posts_slug_prefix ON posts(slug varchar_pattern_ops); -- LIKE 'base-%' for slug allocation
 CREATE INDEX idx_posts_created_at ON posts(created_at);
+CREATE INDEX idx_posts_updated_at ON posts(updated_at); -- posts changed since the last sitemap refresh
+CREATE INDEX idx_posts_renderer_version ON posts(renderer_version) WHERE content_markdown IS NOT NULL;
+
+CREATE INDEX idx_tags_slug_prefix ON tags(slug varchar_pattern_ops);
+CREATE INDEX idx_tags_name_trgm ON tags USING GIN (LOWER(name) gin_trgm_ops);
+CREATE INDEX idx_tags_description_trgm ON tags USING GIN (LOWER(description) gin_trgm_ops);
 
 CREATE INDEX idx_comments_post_id ON comments(post_id);
 CREATE INDEX idx_comments_author_id ON comments(author_id);
-CREATE INDEX idx_comments_parent_id ON comments(parent_comment_id);
+-- Thread windows: top-level comments of a post and the replies of each branch, oldest first.
+-- Deleted comments stay in them as tombstones while a live reply hangs below
+CREATE INDEX idx_comments_post_roots ON comments(post_id, created_at, id)
+    WHERE parent_comment_id IS NULL;
+CREATE INDEX idx_comments_parent_thread ON comments(parent_comment_id, created_at, id);
+CREATE INDEX idx_comments_post_deleted ON comments(post_id) WHERE deleted_at IS NOT NULL;
 CREATE INDEX idx_comments_created_at ON comments(created_at);
 
 CREATE INDEX idx_reactions_post_id ON reactions(post_id);
@@ -175,14 +213,17 @@ CREATE INDEX idx_reactions_user_id ON reactions(user_id);
 
 CREATE INDEX idx_post_tags_post_id ON post_tags(post_id);
 CREATE INDEX idx_post_tags_tag_id ON post_tags(tag_id);
+CREATE INDEX idx_post_tags_tag_feed ON post_tags(tag_id, published_at DESC, post_id) WHERE published_at IS NOT NULL;
 
-CREATE INDEX idx_user_follows_follower ON user_follows(follower_id);
-CREATE INDEX idx_user_follows_following ON user_follows(following_id);
+-- Follower and following lists, newest follow first
+CREATE INDEX idx_user_follows_following ON user_follows(following_id, created_at DESC);
+CREATE INDEX idx_user_follows_follower ON user_follows(follower_id, created_at DESC);
 
 CREATE INDEX idx_tag_follows_user ON tag_follows(user_id);
 CREATE INDEX idx_tag_follows_tag ON tag_follows(tag_id);
 
-CREATE INDEX idx_reading_list_user ON reading_list(user_id);
+-- myReadingList pages by most recently saved; UNIQUE(user_id, post_id) serves the bookmarked id set
+CREATE INDEX idx_reading_list_user ON reading_list(user_id, created_at DESC, id);
 CREATE INDEX idx_reading_list_post ON reading_list(post_id);
 
 CREATE INDEX idx_post_views_post_id ON post_views(post_id);
@@ -209,6 +250,37 @@ CREATE TRIGGER update_comments_updated_at BEFORE UPDATE ON comments
 CREATE TRIGGER update_tags_updated_at BEFORE UPDATE ON tags
     FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
 
+-- post_tags.published_at mirrors posts.published_at while the post is published and not deleted,
+-- so tag listings are a range scan on idx_post_tags_tag_feed without touching posts
+CREATE OR REPLACE FUNCTION set_post_tag_published_at()
+RETURNS TRIGGER AS $$
+BEGIN
+    SELECT CASE WHEN p.status = 'PUBLISHED' AND p.deleted_at IS NULL THEN p.published_at END
+    INTO NEW.published_at FROM posts p WHERE p.id = NEW.post_id;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE OR REPLACE FUNCTION sync_post_tags_published_at()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE post_tags
+    SET published_at = CASE WHEN NEW.status = 'PUBLISHED' AND NEW.deleted_at IS NULL THEN NEW.published_at END
+    WHERE post_id = NEW.id;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER set_post_tags_published_at BEFORE INSERT ON post_tags
+    FOR EACH ROW EXECUTE FUNCTION set_post_tag_published_at();
+
+CREATE TRIGGER sync_post_tags_published_at AFTER UPDATE OF status, published_at, deleted_at ON posts
+    FOR EACH ROW
+    WHEN (OLD.status IS DISTINCT FROM NEW.status
+          OR OLD.published_at IS DISTINCT FROM NEW.published_at
+          OR OLD.deleted_at IS DISTINCT FROM NEW.deleted_at)
+    EXECUTE FUNCTION sync_post_tags_published_at();
+
 INSERT INTO tags (name, slug, description, color) VALUES
 ('JavaScript', 'javascript', 'The language of the web', '#f7df1e'),
 ('React', 'react', 'A JavaScript library for building user interfaces', '#61dafb'),
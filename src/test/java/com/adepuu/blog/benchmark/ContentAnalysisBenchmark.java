@@ -0,0 +1,73 @@
+package com.adepuu.blog.benchmark;
+
+import com.adepuu.blog.infrastructure.content.ContentAnalyzer;
+import com.adepuu.blog.infrastructure.markdown.MarkdownRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the previous regex-based reading time / excerpt / strip pipeline with the one-pass
+ * {@link ContentAnalyzer} on rendered posts. Run with {@code -prof gc} to see the allocation difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentAnalysisBenchmark {
+
+    private static final Pattern HTML_TAG_PATTERN = Pattern.compile("<[^>]+>");
+
+    @Param({"5000", "50000"})
+    private int size;
+
+    private String html;
+
+    @Setup
+    public void setUp() {
+        StringBuilder markdown = new StringBuilder("# Title\n\n");
+        while (markdown.length() < size) {
+            markdown.append("Some **bold** text, some *italic* text & a [link](https://example.com).\n\n")
+                    .append("- item one\n- item two\n\n");
+        }
+        html = new MarkdownRenderer().renderDocument(markdown.toString());
+    }
+
+    @Benchmark
+    public void legacyRegexPasses(Blackhole bh) {
+        String text = HTML_TAG_PATTERN.matcher(html).replaceAll("").replaceAll("\\s+", " ");
+        int wordCount = text.split("\\s+").length;
+        bh.consume(Math.min(Math.max(1, (int) Math.ceil(wordCount / 200.0)), 60));
+
+        String excerptText = HTML_TAG_PATTERN.matcher(html).replaceAll("").replaceAll("\\s+", " ").trim();
+        bh.consume(excerptText.length() <= 200 ? excerptText : excerptText.substring(0, 200) + "...");
+
+        bh.consume(HTML_TAG_PATTERN.matcher(html).replaceAll("")
+                .replaceAll("&[a-zA-Z0-9#]+;", "")
+                .replaceAll("\\s+", " ")
+                .trim());
+    }
+
+    @Benchmark
+    public ContentAnalyzer.Analysis onePassAnalyzer() {
+        return ContentAnalyzer.analyze(html, 200);
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[]{ContentAnalysisBenchmark.class.getSimpleName()});
+    }
+}
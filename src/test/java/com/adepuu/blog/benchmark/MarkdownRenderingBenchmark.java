@@ -0,0 +1,102 @@
+package com.adepuu.blog.benchmark;
+
+import com.adepuu.blog.infrastructure.markdown.MarkdownRenderer;
+import com.adepuu.blog.infrastructure.service.ContentSanitizationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous regex chain + OWASP sanitize with the single-pass flexmark renderer on large posts,
+ * and a full render with an incremental re-render after a one-paragraph edit.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.adepuu.blog.benchmark.MarkdownRenderingBenchmark}
+ * or from the IDE via {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarkdownRenderingBenchmark {
+
+    @Param({"5000", "50000"})
+    private int size;
+
+    private String markdown;
+    private int edits;
+    private ContentSanitizationService sanitizationService;
+    private MarkdownRenderer renderer;
+
+    @Setup
+    public void setUp() {
+        sanitizationService = new ContentSanitizationService();
+        renderer = new MarkdownRenderer();
+
+        String section = """
+                ## Section heading
+
+                Some **bold** text, some *italic* text and a [link](https://example.com/path?q=1).
+                Inline `code` and a second line in the same paragraph.
+
+                - first item
+                - second item with `code`
+
+                ```java
+                System.out.println("hello");
+                ```
+
+                > quoted text
+
+                """;
+        StringBuilder sb = new StringBuilder("# Title\n\n");
+        while (sb.length() < size) {
+            sb.append(section);
+        }
+        markdown = sb.toString();
+    }
+
+    @Benchmark
+    public String legacyRegexChain() {
+        String html = markdown
+                .replaceAll("\\*\\*(.*?)\\*\\*", "<strong>$1</strong>")
+                .replaceAll("\\*(.*?)\\*", "<em>$1</em>")
+                .replaceAll("\\n\\n", "</p><p>")
+                .replaceAll("\\n", "<br>")
+                .replaceAll("```(.*?)```", "<pre><code>$1</code></pre>")
+                .replaceAll("`(.*?)`", "<code>$1</code>")
+                .replaceAll("^#{1}\\s+(.*?)$", "<h1>$1</h1>")
+                .replaceAll("^#{2}\\s+(.*?)$", "<h2>$1</h2>")
+                .replaceAll("^#{3}\\s+(.*?)$", "<h3>$1</h3>");
+        if (!html.startsWith("<")) {
+            html = "<p>" + html + "</p>";
+        }
+        return sanitizationService.sanitizeBlogContent(html);
+    }
+
+    @Benchmark
+    public String flexmarkFullDocument() {
+        return renderer.renderDocument(markdown);
+    }
+
+    @Benchmark
+    public String flexmarkAfterSmallEdit() {
+        // Only the changed title block misses the block cache
+        return renderer.render(markdown.replace("# Title", "# Title " + edits++));
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[]{MarkdownRenderingBenchmark.class.getSimpleName()});
+    }
+}
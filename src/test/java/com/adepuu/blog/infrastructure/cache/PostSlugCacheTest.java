@@ -0,0 +1,138 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import com.adepuu.blog.domain.entity.Post;
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.infrastructure.config.properties.CacheProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PostSlugCacheTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+    private PostSlugCache postSlugCache;
+
+    private PostSlugCache createCache(Duration refreshAfter) {
+        return createCache(refreshAfter, 4);
+    }
+
+    private PostSlugCache createCache(Duration refreshAfter, int refreshThreads) {
+        CacheProperties properties = new CacheProperties();
+        properties.getPostReads().setRefreshAfter(refreshAfter);
+        properties.getPostReads().setRefreshThreads(refreshThreads);
+        postSlugCache = new PostSlugCache(postRepository, properties,
+                beanFactory.getBeanProvider(CacheInvalidationBus.class),
+                beanFactory.getBeanProvider(io.micrometer.core.instrument.MeterRegistry.class));
+        return postSlugCache;
+    }
+
+    @AfterEach
+    void tearDown() {
+        postSlugCache.destroy();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentMissesIntoOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Post post = Post.builder().slug("viral").title("Viral").build();
+        when(postRepository.findBySlug("viral")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(post);
+        });
+        PostSlugCache cache = createCache(Duration.ofMinutes(1));
+
+        ExecutorService readers = Executors.newFixedThreadPool(16);
+        List<Future<Post>> results = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            results.add(readers.submit(() -> cache.get("viral")));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<Post> result : results) {
+            assertSame(post, result.get(5, TimeUnit.SECONDS));
+        }
+        readers.shutdown();
+        verify(postRepository, times(1)).findBySlug("viral");
+    }
+
+    @Test
+    void shouldServeStaleValueWhenRefreshFails() throws Exception {
+        Post post = Post.builder().slug("stale").title("Stale").build();
+        when(postRepository.findBySlug("stale"))
+                .thenReturn(Optional.of(post))
+                .thenThrow(new IllegalStateException("database down"));
+        PostSlugCache cache = createCache(Duration.ofMillis(10));
+
+        assertSame(post, cache.get("stale"));
+        Thread.sleep(50);
+
+        // Triggers a background refresh that fails; the previous value keeps being served
+        assertSame(post, cache.get("stale"));
+        Thread.sleep(50);
+        assertSame(post, cache.get("stale"));
+    }
+
+    @Test
+    void shouldReloadAfterInvalidation() {
+        Post first = Post.builder().slug("edited").title("First").build();
+        Post second = Post.builder().slug("edited").title("Second").build();
+        when(postRepository.findBySlug("edited")).thenReturn(Optional.of(first), Optional.of(second));
+        PostSlugCache cache = createCache(Duration.ofMinutes(1));
+
+        assertSame(first, cache.get("edited"));
+        cache.invalidate("edited");
+        assertSame(second, cache.get("edited"));
+    }
+
+    @Test
+    void shouldRememberUnknownSlugsUntilInvalidated() {
+        Post created = Post.builder().slug("missing").title("Created").build();
+        when(postRepository.findBySlug("missing")).thenReturn(Optional.empty(), Optional.of(created));
+        PostSlugCache cache = createCache(Duration.ofMinutes(1));
+
+        assertNull(cache.get("missing"));
+        assertNull(cache.get("missing"));
+        verify(postRepository, times(1)).findBySlug("missing");
+
+        cache.invalidate("missing");
+        assertSame(created, cache.get("missing"));
+    }
+
+    @Test
+    void shouldNotQueueColdLoadsBehindRefreshes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Post busy = Post.builder().slug("busy").title("Busy").build();
+        when(postRepository.findBySlug("busy")).thenReturn(Optional.of(busy)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(busy);
+        });
+        Post cold = Post.builder().slug("cold").title("Cold").build();
+        when(postRepository.findBySlug("cold")).thenReturn(Optional.of(cold));
+        PostSlugCache cache = createCache(Duration.ofMillis(10), 1);
+
+        assertSame(busy, cache.get("busy"));
+        Thread.sleep(50);
+        // Occupies the only refresh thread
+        assertSame(busy, cache.get("busy"));
+
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        assertSame(cold, reader.submit(() -> cache.get("cold")).get(1, TimeUnit.SECONDS));
+        release.countDown();
+        reader.shutdown();
+    }
+}
@@ -0,0 +1,61 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoLevelCacheManagerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrentMapCacheManager remote = new ConcurrentMapCacheManager();
+    private final TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+            Map.of("postsBySlug", "maximumSize=2"),
+            "maximumSize=100",
+            remote,
+            null,
+            meterRegistry);
+
+    @Test
+    void shouldCreateConfiguredCachesEagerlyWithMetrics() {
+        assertTrue(cacheManager.getCacheNames().contains("postsBySlug"));
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "postsBySlug").meter());
+    }
+
+    @Test
+    void shouldPromoteRemoteHitsIntoLocalCache() {
+        remote.getCache("usersByUsername").put("alice", "Alice");
+
+        TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache("usersByUsername");
+        assertNull(cache.getLocalCache().get("alice"));
+        assertEquals("Alice", cache.get("alice", String.class));
+        assertNotNull(cache.getLocalCache().get("alice"));
+    }
+
+    @Test
+    void shouldEvictBothTiers() {
+        Cache cache = cacheManager.getCache("tagsBySlug");
+        cache.put("java", "Java");
+        assertEquals("Java", remote.getCache("tagsBySlug").get("java").get());
+
+        cache.evict("java");
+
+        assertNull(cache.get("java"));
+        assertNull(remote.getCache("tagsBySlug").get("java"));
+    }
+
+    @Test
+    void shouldEvictOnlyLocalTierForRemoteInvalidation() {
+        TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache("postsBySlug");
+        cache.put("hello-world", "post");
+
+        cacheManager.evictLocal("postsBySlug", "hello-world");
+
+        assertNull(cache.getLocalCache().get("hello-world"));
+        assertNotNull(remote.getCache("postsBySlug").get("hello-world"));
+    }
+}
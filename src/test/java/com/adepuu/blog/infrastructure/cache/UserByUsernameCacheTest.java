@@ -0,0 +1,72 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import com.adepuu.blog.domain.entity.User;
+import com.adepuu.blog.domain.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserByUsernameCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    private final UserByUsernameCache userByUsernameCache = new UserByUsernameCache(userRepository, cacheManager);
+    private final Cache cache = cacheManager.getCache(CacheNames.USERS_BY_USERNAME);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void cachesASnapshotAndHandsOutCopies() {
+        User alice = User.builder().id(UUID.randomUUID()).username("alice").displayName("Alice")
+                .email("alice@example.com").passwordHash("hash").build();
+        when(userRepository.findByUsernameAndIsActiveTrue("alice")).thenReturn(Optional.of(alice));
+
+        User first = userByUsernameCache.get("alice");
+        first.setDisplayName("Changed by a reader");
+        User second = userByUsernameCache.get("alice");
+
+        assertNotSame(alice, first);
+        assertNotSame(first, second);
+        assertEquals("Alice", second.getDisplayName());
+        assertEquals(alice.getId(), second.getId());
+        assertNull(second.getPasswordHash());
+        assertInstanceOf(CachedUser.class, cache.get("alice").get());
+        verify(userRepository, times(1)).findByUsernameAndIsActiveTrue("alice");
+    }
+
+    @Test
+    void doesNotCacheUnknownUsernames() {
+        when(userRepository.findByUsernameAndIsActiveTrue("nobody")).thenReturn(Optional.empty());
+
+        assertNull(userByUsernameCache.get("nobody"));
+        assertNull(userByUsernameCache.get("nobody"));
+
+        verify(userRepository, times(2)).findByUsernameAndIsActiveTrue("nobody");
+    }
+
+    @Test
+    void evictionDropsTheEntryOnceCommitted() {
+        cache.put("alice", CachedUser.of(User.builder().username("alice").build()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        userByUsernameCache.evict("alice");
+        assertNotNull(cache.get("alice"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(cache.get("alice"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.adepuu.blog.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserIdSetsTest {
+
+    private final CacheInvalidationBus invalidationBus =
+            new CacheInvalidationBus(mock(StringRedisTemplate.class), "blog:cache:invalidation");
+    private final TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(Map.of(), "maximumSize=100",
+            null, invalidationBus, new SimpleMeterRegistry());
+    private final UserIdSets userIdSets = new UserIdSets(cacheManager);
+
+    @Test
+    void anotherNodesChangeDropsTheLocalSet() {
+        UUID userId = UUID.randomUUID();
+        UUID tagId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(Set.of(tagId), userIdSets.get(CacheNames.FOLLOWED_TAG_IDS, userId, () -> {
+            loads.incrementAndGet();
+            return List.of(tagId);
+        }));
+        userIdSets.get(CacheNames.FOLLOWED_TAG_IDS, userId, () -> List.of(tagId));
+        assertEquals(1, loads.get());
+
+        String message = "other-node E " + CacheNames.FOLLOWED_TAG_IDS + " " + userId;
+        invalidationBus.onMessage(new DefaultMessage("blog:cache:invalidation".getBytes(StandardCharsets.UTF_8),
+                message.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertEquals(Set.of(), userIdSets.get(CacheNames.FOLLOWED_TAG_IDS, userId, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        }));
+        assertEquals(2, loads.get());
+    }
+}
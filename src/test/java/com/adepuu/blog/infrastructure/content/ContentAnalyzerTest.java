@@ -0,0 +1,46 @@
+package com.adepuu.blog.infrastructure.content;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentAnalyzerTest {
+
+    @Test
+    void derivesPlainTextAndWordCountInOnePass() {
+        ContentAnalyzer.Analysis analysis = ContentAnalyzer.analyze(
+                "<h1>Title</h1>\n<p>Some <strong>bold</strong>   text &amp; more&nbsp;words</p>\n", 100);
+
+        assertEquals("Title Some bold text & more words", analysis.plainText());
+        assertEquals(7, analysis.wordCount());
+        assertEquals(1, analysis.readingTimeMinutes());
+        assertEquals(analysis.plainText(), analysis.excerpt());
+    }
+
+    @Test
+    void readingTimeRoundsUpAndIsCapped() {
+        assertEquals(2, ContentAnalyzer.analyze("<p>" + "word ".repeat(201) + "</p>", 10).readingTimeMinutes());
+        assertEquals(60, ContentAnalyzer.analyze("word ".repeat(20_000), 10).readingTimeMinutes());
+        assertEquals(1, ContentAnalyzer.analyze("", 10).readingTimeMinutes());
+    }
+
+    @Test
+    void excerptPrefersWordBoundaryNearTheEnd() {
+        String excerpt = ContentAnalyzer.analyze("<p>The quick brown fox jumps over the lazy dog</p>", 18).excerpt();
+
+        assertEquals("The quick brown...", excerpt);
+    }
+
+    @Test
+    void dropsUnknownEntitiesAndUnterminatedTags() {
+        ContentAnalyzer.Analysis analysis = ContentAnalyzer.analyze("a &bogus; b &#65; c <span", 50);
+
+        assertEquals("a b A c", analysis.plainText());
+    }
+
+    @Test
+    void normalizesWhitespace() {
+        assertEquals("a b c", ContentAnalyzer.normalizeWhitespace("  a\r\n\tb   c \n"));
+        assertEquals("", ContentAnalyzer.normalizeWhitespace(" \n "));
+    }
+}
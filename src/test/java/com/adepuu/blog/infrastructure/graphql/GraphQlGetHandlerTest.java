@@ -0,0 +1,122 @@
+package com.adepuu.blog.infrastructure.graphql;
+
+import com.adepuu.blog.infrastructure.config.properties.GraphQlCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.function.EntityResponse;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQlGetHandlerTest {
+
+    private static final String SCHEMA = """
+            directive @cacheControl(maxAge: Int, scope: CacheControlScope = PUBLIC) on FIELD_DEFINITION
+            enum CacheControlScope { PUBLIC PRIVATE }
+            type Query {
+                post: Post @cacheControl(maxAge: 60)
+                tags: [String!]! @cacheControl(maxAge: 300)
+                me: String @cacheControl(maxAge: 0, scope: PRIVATE)
+                hello: String
+            }
+            type Mutation { touch: Boolean }
+            type Post {
+                title: String
+                isBookmarked: Boolean @cacheControl(scope: PRIVATE)
+            }
+            """;
+
+    private final GraphQlGetHandler handler = handler();
+
+    @Test
+    void usesTheLowestMaxAgeOfTheFieldsExecuted() {
+        ServerResponse response = get("{ post { title } tags }", null);
+
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals("max-age=60, public", response.headers().getCacheControl());
+        assertNotNull(response.headers().getETag());
+        assertTrue(body(response).contains("\"title\":\"Hello\""));
+        assertEquals(List.of(HttpHeaders.AUTHORIZATION), response.headers().getVary());
+    }
+
+    @Test
+    void privateOrUnhintedFieldsNarrowThePolicy() {
+        assertEquals("max-age=60, private", get("{ post { title isBookmarked } }", null).headers().getCacheControl());
+        assertEquals("no-store", get("{ post { title } me }", null).headers().getCacheControl());
+        assertEquals("no-cache", get("{ tags hello }", null).headers().getCacheControl());
+
+        MockHttpServletRequest signedIn = request("{ tags }");
+        signedIn.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        assertEquals("max-age=300, private", execute(signedIn).headers().getCacheControl());
+    }
+
+    @Test
+    void answersAMatchingETagWithNotModified() {
+        String etag = get("{ tags }", null).headers().getETag();
+
+        ServerResponse revalidated = get("{ tags }", etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.statusCode());
+        assertEquals(etag, revalidated.headers().getETag());
+        assertEquals("max-age=300, public", revalidated.headers().getCacheControl());
+        assertEquals(List.of(HttpHeaders.AUTHORIZATION), revalidated.headers().getVary());
+    }
+
+    @Test
+    void keepsMutationsOnPost() {
+        ServerResponse response = get("mutation { touch }", null);
+
+        assertEquals(HttpStatus.METHOD_NOT_ALLOWED, response.statusCode());
+        assertEquals("POST", response.headers().getFirst(HttpHeaders.ALLOW));
+    }
+
+    private ServerResponse get(String query, String ifNoneMatch) {
+        MockHttpServletRequest request = request(query);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return execute(request);
+    }
+
+    private ServerResponse execute(MockHttpServletRequest request) {
+        return handler.execute(ServerRequest.create(request, List.of())).block();
+    }
+
+    private static MockHttpServletRequest request(String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/gql");
+        request.addParameter("query", query);
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String body(ServerResponse response) {
+        return new String(((EntityResponse<byte[]>) response).entity(), StandardCharsets.UTF_8);
+    }
+
+    private static GraphQlGetHandler handler() {
+        GraphQlSource source = GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ByteArrayResource(SCHEMA.getBytes(StandardCharsets.UTF_8)))
+                .configureRuntimeWiring(wiring -> wiring.type("Query", type -> type
+                        .dataFetcher("post", env -> Map.of("title", "Hello", "isBookmarked", false))
+                        .dataFetcher("tags", env -> List.of("java"))
+                        .dataFetcher("me", env -> "alice")
+                        .dataFetcher("hello", env -> "world")))
+                .instrumentation(List.of(new CacheControlInstrumentation(new GraphQlCacheProperties())))
+                .build();
+        WebGraphQlHandler webGraphQlHandler = WebGraphQlHandler.builder(new DefaultExecutionGraphQlService(source))
+                .build();
+        return new GraphQlGetHandler(webGraphQlHandler, new ObjectMapper());
+    }
+}
@@ -0,0 +1,92 @@
+package com.adepuu.blog.infrastructure.live;
+
+import com.adepuu.blog.domain.entity.Comment;
+import com.adepuu.blog.domain.entity.Post;
+import com.adepuu.blog.infrastructure.config.properties.CommentProperties;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CommentBroadcasterTest {
+
+    private final UUID postId = UUID.randomUUID();
+    private final CommentBroadcaster broadcaster = broadcaster(4);
+
+    @Test
+    void deliversToSubscribersOfThePostOnly() {
+        List<Comment> received = new CopyOnWriteArrayList<>();
+        List<Comment> otherPost = new CopyOnWriteArrayList<>();
+        Disposable subscription = broadcaster.subscribe(postId).subscribe(received::add);
+        Disposable other = broadcaster.subscribe(UUID.randomUUID()).subscribe(otherPost::add);
+
+        Comment comment = comment();
+        broadcaster.commentAdded(comment);
+
+        await(() -> received.size() == 1);
+        assertSame(comment, received.get(0));
+        assertEquals(List.of(), otherPost);
+
+        subscription.dispose();
+        other.dispose();
+        assertFalse(broadcaster.hasSubscribers(postId));
+    }
+
+    @Test
+    void dropsSubscriberThatStopsReading() {
+        List<Comment> fast = new CopyOnWriteArrayList<>();
+        broadcaster.subscribe(postId).subscribe(fast::add);
+        AtomicReference<Throwable> slowError = new AtomicReference<>();
+        broadcaster.subscribe(postId).subscribe(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                // Never requests, like a client whose socket stopped draining
+            }
+
+            @Override
+            protected void hookOnError(Throwable error) {
+                slowError.set(error);
+            }
+        });
+        assertEquals(2, broadcaster.subscriberCount(postId));
+
+        for (int i = 1; i <= 10; i++) {
+            broadcaster.commentAdded(comment());
+            int delivered = i;
+            await(() -> fast.size() == delivered);
+        }
+
+        await(() -> slowError.get() != null);
+        assertEquals(1, broadcaster.subscriberCount(postId));
+    }
+
+    private Comment comment() {
+        return Comment.builder().id(UUID.randomUUID()).post(Post.builder().id(postId).build()).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CommentBroadcaster broadcaster(int buffer) {
+        CommentProperties properties = new CommentProperties();
+        properties.getLive().setSubscriberBuffer(buffer);
+        return new CommentBroadcaster(properties, mock(ObjectProvider.class));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out");
+            Thread.onSpinWait();
+        }
+    }
+}
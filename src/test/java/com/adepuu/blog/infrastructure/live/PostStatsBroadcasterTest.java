@@ -0,0 +1,144 @@
+package com.adepuu.blog.infrastructure.live;
+
+import com.adepuu.blog.delivery.dto.post.PostStats;
+import com.adepuu.blog.domain.repository.CommentRepository;
+import com.adepuu.blog.domain.repository.ReactionRepository;
+import com.adepuu.blog.infrastructure.config.properties.PostProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PostStatsBroadcasterTest {
+
+    private final CommentRepository commentRepository = mock(CommentRepository.class);
+    private final ReactionRepository reactionRepository = mock(ReactionRepository.class);
+    private final UUID postId = UUID.randomUUID();
+
+    @Test
+    void sendsTheCurrentCountsOnSubscribeThenOnlyChanges() throws InterruptedException {
+        PostStatsBroadcaster broadcaster = broadcaster(mock(ObjectProvider.class));
+        counts(3, 1);
+        List<PostStats> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = broadcaster.subscribe(postId).subscribe(received::add);
+        broadcaster.tick(false);
+
+        counts(99, 1);
+        for (int i = 0; i < 100; i++) {
+            broadcaster.countsChanged(postId);
+        }
+        broadcaster.tick(false);
+        broadcaster.tick(false);
+
+        // Changes that net out send nothing
+        broadcaster.countsChanged(postId);
+        broadcaster.tick(false);
+
+        Thread.sleep(Duration.ofMillis(200));
+        assertEquals(List.of(new PostStats(postId, 3, 1), new PostStats(postId, 99, 1)), received);
+        verify(reactionRepository, times(3)).countByPostIdIn(any());
+        subscription.dispose();
+    }
+
+    @Test
+    void resyncRepairsAMissedChange() throws InterruptedException {
+        PostStatsBroadcaster broadcaster = broadcaster(mock(ObjectProvider.class));
+        counts(3, 1);
+        List<PostStats> received = new CopyOnWriteArrayList<>();
+        broadcaster.subscribe(postId).subscribe(received::add);
+        broadcaster.tick(false);
+
+        // Changed without a notification reaching this node
+        counts(5, 2);
+        broadcaster.tick(false);
+        broadcaster.tick(true);
+        broadcaster.tick(true);
+
+        Thread.sleep(Duration.ofMillis(200));
+        assertEquals(List.of(new PostStats(postId, 3, 1), new PostStats(postId, 5, 2)), received);
+    }
+
+    @Test
+    void relaysLocalChangesAndReloadsOnesFromOtherNodes() throws InterruptedException {
+        PostStatsRelay relay = mock(PostStatsRelay.class);
+        PostStatsBroadcaster broadcaster = broadcaster(provider(relay));
+
+        // Watched on another node only: relayed, not loaded here
+        broadcaster.countsChanged(postId);
+        broadcaster.tick(false);
+        verify(relay).publish(List.of(postId));
+        verifyNoInteractions(commentRepository, reactionRepository);
+
+        UUID watched = UUID.randomUUID();
+        List<PostStats> received = new CopyOnWriteArrayList<>();
+        broadcaster.subscribe(watched).subscribe(received::add);
+        broadcaster.tick(false);
+        when(reactionRepository.countByPostIdIn(any())).thenReturn(List.of(reactionCount(watched, 7)));
+        broadcaster.changedElsewhere(List.of(watched, postId));
+        broadcaster.tick(false);
+
+        Thread.sleep(Duration.ofMillis(200));
+        assertEquals(List.of(new PostStats(watched, 0, 0), new PostStats(watched, 7, 0)), received);
+        verify(relay, times(1)).publish(any());
+    }
+
+    @Test
+    void ignoresPostsWithoutSubscribers() {
+        PostStatsBroadcaster broadcaster = broadcaster(mock(ObjectProvider.class));
+
+        broadcaster.countsChanged(postId);
+        broadcaster.tick(true);
+
+        verifyNoInteractions(commentRepository, reactionRepository);
+        assertEquals(0, broadcaster.subscriberCount(postId));
+    }
+
+    private PostStatsBroadcaster broadcaster(ObjectProvider<PostStatsRelay> relay) {
+        return new PostStatsBroadcaster(new PostProperties(), commentRepository, reactionRepository, relay);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<PostStatsRelay> provider(PostStatsRelay relay) {
+        ObjectProvider<PostStatsRelay> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(relay);
+        doCallRealMethod().when(provider).ifAvailable(any());
+        return provider;
+    }
+
+    private void counts(int reactions, int comments) {
+        when(reactionRepository.countByPostIdIn(any())).thenReturn(List.of(reactionCount(postId, reactions)));
+        when(commentRepository.countActiveByPostIdIn(any())).thenReturn(List.of(new CommentRepository.PostCount() {
+            @Override
+            public UUID getPostId() {
+                return postId;
+            }
+
+            @Override
+            public Long getCount() {
+                return (long) comments;
+            }
+        }));
+    }
+
+    private static ReactionRepository.PostCount reactionCount(UUID postId, int reactions) {
+        return new ReactionRepository.PostCount() {
+            @Override
+            public UUID getPostId() {
+                return postId;
+            }
+
+            @Override
+            public Long getCount() {
+                return (long) reactions;
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.adepuu.blog.infrastructure.markdown;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarkdownRendererTest {
+
+    private final MarkdownRenderer renderer = new MarkdownRenderer();
+
+    @Test
+    void rendersHeadingsOnEveryLine() {
+        String html = renderer.render("# One\n\ntext\n\n## Two\n\n### Three");
+
+        assertTrue(html.contains("<h1>One</h1>"));
+        assertTrue(html.contains("<h2>Two</h2>"));
+        assertTrue(html.contains("<h3>Three</h3>"));
+    }
+
+    @Test
+    void escapesRawHtml() {
+        String html = renderer.render("Hello <script>alert(1)</script>\n\n<img src=x onerror=alert(1)>");
+
+        assertFalse(html.contains("<script>"));
+        assertFalse(html.contains("<img src=x"));
+        assertTrue(html.contains("&lt;script&gt;"));
+    }
+
+    @Test
+    void dropsUnsafeLinkTargets() {
+        String html = renderer.render("[click](javascript:alert(1)) [ok](https://example.com) ![img](data:image/png;base64,AAAA)");
+
+        assertFalse(html.contains("javascript:"));
+        assertFalse(html.contains("data:image"));
+        assertTrue(html.contains("href=\"https://example.com\""));
+        assertTrue(html.contains("rel=\"nofollow noopener noreferrer\""));
+        assertTrue(html.contains("loading=\"lazy\""));
+    }
+
+    @Test
+    void urlPolicyIgnoresWhitespaceInScheme() {
+        Set<String> allowed = Set.of("http", "https");
+
+        assertFalse(MarkdownRenderer.isAllowedUrl("java\tscript:alert(1)", allowed));
+        assertFalse(MarkdownRenderer.isAllowedUrl("JAVASCRIPT:alert(1)", allowed));
+        assertTrue(MarkdownRenderer.isAllowedUrl("HTTPS://example.com", allowed));
+        assertTrue(MarkdownRenderer.isAllowedUrl("/posts/hello", allowed));
+        assertTrue(MarkdownRenderer.isAllowedUrl("#section", allowed));
+    }
+
+    @Test
+    void blockRenderingMatchesFullRender() {
+        String markdown = largeDocument("intro");
+
+        assertEquals(renderer.renderDocument(markdown), renderer.render(markdown));
+    }
+
+    @Test
+    void editRendersOnlyChangedBlocks() {
+        renderer.render(largeDocument("intro"));
+        long missesBefore = renderer.blockCacheStats().missCount();
+
+        String edited = renderer.render(largeDocument("edited intro"));
+
+        assertEquals(1, renderer.blockCacheStats().missCount() - missesBefore);
+        assertTrue(edited.contains("edited intro"));
+    }
+
+    @Test
+    void keepsFencedCodeAndLooseListsInOneBlock() {
+        List<String> blocks = MarkdownBlockSplitter.split(
+                "# Title\n\n```\ncode\n\nmore code\n```\n\n- one\n\n- two\n\nAfter\n");
+
+        assertEquals(List.of("# Title\n\n", "```\ncode\n\nmore code\n```\n\n- one\n\n- two\n\n", "After\n"), blocks);
+    }
+
+    @Test
+    void doesNotSplitDocumentsWithReferenceDefinitions() {
+        assertFalse(MarkdownBlockSplitter.isSplittable("See [docs][1]\n\n[1]: https://example.com\n"));
+        assertTrue(MarkdownBlockSplitter.isSplittable("See [docs](https://example.com)\n"));
+    }
+
+    private static String largeDocument(String intro) {
+        StringBuilder sb = new StringBuilder("# Tutorial\n\n").append(intro).append("\n\n");
+        for (int i = 0; i < 40; i++) {
+            sb.append("## Step ").append(i).append("\n\n")
+                    .append("Some **bold** text and a [link](https://example.com/").append(i).append(").\n")
+                    .append("Second line of the paragraph.\n\n")
+                    .append("1. first\n\n2. second\n\n")
+                    .append("```java\nint x = ").append(i).append(";\n\nx++;\n```\n\n")
+                    .append("> quote ").append(i).append("\n\n")
+                    .append("| a | b |\n|---|---|\n| ").append(i).append(" | x |\n\n");
+        }
+        return sb.toString();
+    }
+}
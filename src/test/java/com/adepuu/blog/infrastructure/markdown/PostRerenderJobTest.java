@@ -0,0 +1,75 @@
+package com.adepuu.blog.infrastructure.markdown;
+
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.infrastructure.cache.PostSlugCache;
+import com.adepuu.blog.infrastructure.config.properties.MarkdownProperties;
+import com.adepuu.blog.infrastructure.service.ContentSanitizationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PostRerenderJobTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostSlugCache postSlugCache = mock(PostSlugCache.class);
+    private final MarkdownProperties properties = new MarkdownProperties();
+    private PostRerenderJob job;
+
+    @BeforeEach
+    void setUp() {
+        properties.getRerender().setChunkSize(2);
+        properties.getRerender().setMaxWritesPerSecond(1000);
+        job = new PostRerenderJob(postRepository, new ContentSanitizationService(), postSlugCache, properties);
+    }
+
+    @Test
+    void shouldRerenderOutdatedPostsChunkByChunk() throws Exception {
+        UUID first = new UUID(0L, 1L);
+        UUID second = new UUID(0L, 2L);
+        UUID third = new UUID(0L, 3L);
+        when(postRepository.findOutdatedRenders(eq(MarkdownRenderer.VERSION), eq(new UUID(0L, 0L)), any(Pageable.class)))
+                .thenReturn(List.of(source(first, "one", "# One"), source(second, "two", "**Two**")));
+        when(postRepository.findOutdatedRenders(eq(MarkdownRenderer.VERSION), eq(second), any(Pageable.class)))
+                .thenReturn(List.of(source(third, "three", "Three")));
+        when(postRepository.findOutdatedRenders(eq(MarkdownRenderer.VERSION), eq(third), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(postRepository.updateRenderedContent(any(), anyString(), eq(MarkdownRenderer.VERSION))).thenReturn(1);
+        when(postRepository.updateRenderedContent(eq(second), anyString(), anyInt())).thenReturn(0);
+
+        int updated = job.run();
+
+        assertEquals(2, updated);
+        verify(postRepository).updateRenderedContent(first, "<h1>One</h1>\n", MarkdownRenderer.VERSION);
+        verify(postRepository).updateRenderedContent(third, "<p>Three</p>\n", MarkdownRenderer.VERSION);
+        verify(postSlugCache).invalidate("one");
+        verify(postSlugCache).invalidate("three");
+        // Edited concurrently: the row was already on the current version and is left alone
+        verify(postSlugCache, never()).invalidate("two");
+    }
+
+    private static PostRepository.MarkdownSource source(UUID id, String slug, String markdown) {
+        return new PostRepository.MarkdownSource() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getSlug() {
+                return slug;
+            }
+
+            @Override
+            public String getContentMarkdown() {
+                return markdown;
+            }
+        };
+    }
+}
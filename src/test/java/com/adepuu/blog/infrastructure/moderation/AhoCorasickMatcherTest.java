@@ -0,0 +1,67 @@
+package com.adepuu.blog.infrastructure.moderation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    void matchesWholeWordsCaseInsensitively() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of("spam", "Bad Word"));
+
+        assertTrue(matcher.containsMatch("this is SPAM."));
+        assertTrue(matcher.containsMatch("a bad word here"));
+        assertFalse(matcher.containsMatch("spammer and antispam"));
+        assertFalse(matcher.containsMatch("badword"));
+        assertFalse(matcher.containsMatch(""));
+    }
+
+    @Test
+    void findsTermsReachedThroughFailureLinks() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of("he", "she", "hers", "his"));
+
+        assertTrue(matcher.containsMatch("ushers he"));
+        assertTrue(matcher.containsMatch("she"));
+        assertTrue(matcher.containsMatch("x his"));
+        assertFalse(matcher.containsMatch("ushers"));
+    }
+
+    @Test
+    void handlesTermsWithNonWordEdges() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of("c++"));
+
+        assertTrue(matcher.containsMatch("I write c++daily"));
+        assertFalse(matcher.containsMatch("abc++"));
+    }
+
+    @Test
+    void agreesWithNaiveMatchingOnLargeLists() {
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            terms.add("term" + Integer.toString(i, 36));
+        }
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(terms);
+        Set<String> termSet = Set.copyOf(terms);
+
+        for (String word : List.of("term0", "term3v", "term3w0", "termzz", "xterm1", "term1x")) {
+            assertEquals(termSet.contains(word), matcher.containsMatch("before " + word + " after"), word);
+        }
+        assertEquals(5000, matcher.termCount());
+    }
+
+    @Test
+    void blocklistSwapsTermsAtomically() {
+        Blocklist blocklist = new Blocklist();
+        assertTrue(blocklist.containsBlockedTerm("pure spam"));
+
+        blocklist.replace(List.of("scam"));
+
+        assertFalse(blocklist.containsBlockedTerm("pure spam"));
+        assertTrue(blocklist.containsBlockedTerm("a SCAM!"));
+    }
+}
@@ -0,0 +1,200 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.comment.CommentNode;
+import com.adepuu.blog.delivery.dto.comment.CommentThread;
+import com.adepuu.blog.domain.entity.Comment;
+import com.adepuu.blog.domain.repository.CommentRepository;
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.infrastructure.config.properties.CommentProperties;
+import com.adepuu.blog.infrastructure.live.CommentBroadcaster;
+import com.adepuu.blog.infrastructure.live.PostStatsBroadcaster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the thread query on H2, where branches are joined whole and trimmed while assembling
+ */
+class CommentServiceImplTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final CommentRepository commentRepository = mock(CommentRepository.class);
+    private final UUID postId = UUID.randomUUID();
+    private EmbeddedDatabase database;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private CommentServiceImpl commentService;
+    private int clock;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new NamedParameterJdbcTemplate(database);
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE comments (id UUID PRIMARY KEY, post_id UUID,"
+                + " parent_comment_id UUID, created_at TIMESTAMP WITH TIME ZONE, deleted_at TIMESTAMP WITH TIME ZONE)");
+
+        CommentProperties properties = new CommentProperties();
+        properties.setThreadDepth(2);
+        properties.setDefaultReplies(2);
+        commentService = new CommentServiceImpl(new ContentSanitizationService(), commentRepository,
+                mock(PostRepository.class), mock(UserRepository.class), jdbcTemplate, properties,
+                mock(CommentBroadcaster.class), mock(PostStatsBroadcaster.class), "jdbc:h2:mem:test");
+
+        when(commentRepository.findWithAuthorByIdIn(any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> Comment.builder().id(id).content("Comment " + id).build()).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void loadsTopLevelPageWithFirstRepliesInOneQuery() {
+        UUID first = comment(null);
+        UUID second = comment(null);
+        UUID third = comment(null);
+        UUID reply1 = comment(first);
+        UUID reply2 = comment(first);
+        UUID reply3 = comment(first);
+        UUID nested = comment(reply1);
+        UUID tooDeep = comment(nested);
+        deleted(comment(second));
+
+        CommentThread thread = commentService.getThread(postId, 2, null, null);
+
+        assertEquals(List.of(first, second), ids(thread.nodes()));
+        assertTrue(thread.hasNextPage());
+        assertEquals(3, thread.totalCount());
+
+        CommentNode firstNode = thread.nodes().get(0);
+        assertEquals(List.of(reply1, reply2), ids(firstNode.replies()));
+        assertEquals(3, firstNode.repliesCount());
+        assertTrue(firstNode.hasMoreReplies());
+        assertEquals(List.of(nested), ids(firstNode.replies().get(0).replies()));
+
+        // Cut off by the depth limit: the count says there is more, the cursor starts from the first reply
+        CommentNode nestedNode = firstNode.replies().get(0).replies().get(0);
+        assertEquals(List.of(), nestedNode.replies());
+        assertTrue(nestedNode.hasMoreReplies());
+        assertNull(nestedNode.repliesCursor());
+        assertEquals(0, thread.nodes().get(1).repliesCount());
+
+        CommentThread next = commentService.getThread(postId, 2, thread.endCursor(), null);
+        assertEquals(List.of(third), ids(next.nodes()));
+        assertFalse(next.hasNextPage());
+
+        CommentThread more = commentService.getReplyThread(first, 10, firstNode.repliesCursor(), null);
+        assertEquals(List.of(reply3), ids(more.nodes()));
+        assertEquals(3, more.totalCount());
+        assertEquals(List.of(tooDeep), ids(commentService.getReplyThread(nested, 10, null, null).nodes()));
+    }
+
+    @Test
+    void keepsDeletedCommentsWithLiveRepliesAsTombstones() {
+        UUID parent = comment(null);
+        UUID reply = comment(parent);
+        UUID deletedReply = comment(parent);
+        UUID nested = comment(deletedReply);
+        UUID emptyBranch = comment(null);
+        UUID deletedLeaf = comment(emptyBranch);
+        deleted(parent);
+        deleted(deletedReply);
+        deleted(emptyBranch);
+        deleted(deletedLeaf);
+
+        CommentThread thread = commentService.getThread(postId, 10, null, null);
+
+        assertEquals(List.of(parent), ids(thread.nodes()));
+        assertEquals(1, thread.totalCount());
+        CommentNode parentNode = thread.nodes().get(0);
+        assertTrue(parentNode.deleted());
+        assertEquals("", parentNode.comment().getContent());
+        assertEquals(List.of(reply, deletedReply), ids(parentNode.replies()));
+        assertEquals(2, parentNode.repliesCount());
+        assertFalse(parentNode.replies().get(0).deleted());
+        assertTrue(parentNode.replies().get(1).deleted());
+        assertEquals(List.of(nested), ids(parentNode.replies().get(1).replies()));
+
+        assertEquals(List.of(reply, deletedReply), ids(commentService.getReplyThread(parent, 10, null, null).nodes()));
+        assertEquals(List.of(), ids(commentService.getReplyThread(emptyBranch, 10, null, null).nodes()));
+    }
+
+    @Test
+    void countsRepliesOfManyCommentsInOneQuery() {
+        UUID withReplies = UUID.randomUUID();
+        UUID withoutReplies = UUID.randomUUID();
+        CommentRepository.ReplyCount replyCount = mock(CommentRepository.ReplyCount.class);
+        when(replyCount.getParentId()).thenReturn(withReplies);
+        when(replyCount.getCount()).thenReturn(3L);
+        when(commentRepository.countRepliesByParentIdIn(List.of(withReplies, withoutReplies)))
+                .thenReturn(List.of(replyCount));
+
+        assertEquals(Map.of(withReplies, 3), commentService.countReplies(List.of(withReplies, withoutReplies)));
+        assertEquals(Map.of(), commentService.countReplies(List.of()));
+        verify(commentRepository, times(1)).countRepliesByParentIdIn(any());
+    }
+
+    @Test
+    void countsCommentsOfManyPostsInOneQuery() {
+        UUID withComments = UUID.randomUUID();
+        UUID withoutComments = UUID.randomUUID();
+        CommentRepository.PostCount postCount = mock(CommentRepository.PostCount.class);
+        when(postCount.getPostId()).thenReturn(withComments);
+        when(postCount.getCount()).thenReturn(2L);
+        when(commentRepository.countActiveByPostIdIn(List.of(withComments, withoutComments)))
+                .thenReturn(List.of(postCount));
+
+        assertEquals(Map.of(withComments, 2), commentService.countByPost(List.of(withComments, withoutComments)));
+        assertEquals(Map.of(), commentService.countByPost(List.of()));
+        verify(commentRepository, times(1)).countActiveByPostIdIn(any());
+    }
+
+    @Test
+    void rejectsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> commentService.getThread(postId, 10, "not-a-cursor", null));
+    }
+
+    private UUID comment(UUID parentId) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO comments (id, post_id, parent_comment_id, created_at)"
+                        + " VALUES (:id, :postId, :parentId, :createdAt)",
+                new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("postId", postId)
+                        .addValue("parentId", parentId)
+                        .addValue("createdAt", T0.plusMinutes(clock++)));
+        return id;
+    }
+
+    private void deleted(UUID id) {
+        jdbcTemplate.update("UPDATE comments SET deleted_at = :now WHERE id = :id",
+                new MapSqlParameterSource().addValue("now", T0).addValue("id", id));
+    }
+
+    private static List<UUID> ids(List<CommentNode> nodes) {
+        return nodes.stream().map(node -> node.comment().getId()).toList();
+    }
+}
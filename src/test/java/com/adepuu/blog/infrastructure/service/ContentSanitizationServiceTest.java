@@ -84,6 +84,25 @@ class ContentSanitizationServiceTest {
         assertFalse(result.contains(">"));
     }
 
+    @Test
+    void testStripHtmlKeepsEscapedMarkupEscaped() {
+        String htmlContent = "<p>Never write &lt;script&gt;alert(1)&lt;/script&gt; &amp; ship it</p>";
+
+        String expected = "Never write &lt;script&gt;alert(1)&lt;/script&gt; &amp; ship it";
+        assertEquals(expected, sanitizationService.stripHtml(htmlContent));
+        assertEquals(expected, sanitizationService.sanitizeByContentType(htmlContent,
+                ContentSanitizationService.ContentType.PLAIN_TEXT));
+    }
+
+    @Test
+    void testGeneratedExcerptKeepsEscapedMarkupEscaped() {
+        String htmlContent = "<p>Never write &lt;script&gt;alert(1)&lt;/script&gt; &amp; ship it</p>";
+
+        String expected = "Never write &lt;script&gt;alert(1)&lt;/script&gt; &amp; ship it";
+        assertEquals(expected, sanitizationService.extractExcerpt(htmlContent, 200));
+        assertEquals(expected, sanitizationService.excerpt(sanitizationService.analyzeContent(htmlContent, 200)));
+    }
+
     @Test
     void testProfanityDetection() {
         assertTrue(sanitizationService.containsProfanity("This contains spam content"));
@@ -0,0 +1,150 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.feed.FeedFormat;
+import com.adepuu.blog.delivery.dto.feed.RenderedFeed;
+import com.adepuu.blog.domain.entity.Tag;
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.domain.repository.TagRepository;
+import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.domain.service.TagService;
+import com.adepuu.blog.infrastructure.cache.UserByUsernameCache;
+import com.adepuu.blog.infrastructure.config.properties.FeedProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FeedServiceImplTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final TagRepository tagRepository = mock(TagRepository.class);
+    private final TagService tagService = mock(TagService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UUID tagId = UUID.randomUUID();
+    private FeedServiceImpl feedService;
+
+    @BeforeEach
+    void setUp() {
+        FeedProperties properties = new FeedProperties();
+        properties.setTitle("Blog");
+        properties.setSiteUrl("https://blog.example");
+        properties.setBaseUrl("https://api.blog.example");
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        feedService = new FeedServiceImpl(postRepository, tagRepository, tagService,
+                new UserByUsernameCache(userRepository, cacheManager), cacheManager, properties);
+
+        when(postRepository.findFeedEntries(any())).thenReturn(List.of(
+                entry("Tips & tricks", "tips", "2024-03-01T10:00:00Z", "2024-03-05T08:30:00.500Z"),
+                entry("Older", "older", "2024-02-01T10:00:00Z", "2024-02-01T10:00:00Z")));
+        when(tagService.getTagBySlug("java")).thenReturn(Tag.builder().id(tagId).name("Java").slug("java").build());
+        when(tagRepository.findSlugsByIdIn(List.of(tagId))).thenReturn(List.of("java"));
+    }
+
+    @Test
+    void rendersFeedsWithValidatorsFromTheNewestChange() {
+        RenderedFeed rss = feedService.getSiteFeed(FeedFormat.RSS);
+        RenderedFeed atom = feedService.getSiteFeed(FeedFormat.ATOM);
+
+        String rssBody = new String(rss.body(), StandardCharsets.UTF_8);
+        assertTrue(rssBody.contains("<title>Tips &amp; tricks</title>"));
+        assertTrue(rssBody.contains("<link>https://blog.example/posts/tips</link>"));
+        assertTrue(rssBody.contains("<pubDate>Fri, 1 Mar 2024 10:00:00 GMT</pubDate>"));
+        assertTrue(rssBody.contains("href=\"https://api.blog.example/feeds/rss.xml\" rel=\"self\""));
+
+        String atomBody = new String(atom.body(), StandardCharsets.UTF_8);
+        assertTrue(atomBody.contains("<updated>2024-03-05T08:30:00Z</updated>"));
+        assertTrue(atomBody.contains("<name>Alice</name>"));
+
+        assertEquals(OffsetDateTime.parse("2024-03-05T08:30:00Z").toInstant().toEpochMilli(), rss.lastModified());
+        assertTrue(rss.etag().startsWith("\"") && rss.etag().endsWith("\""));
+        assertNotEquals(rss.etag(), atom.etag());
+    }
+
+    @Test
+    void servesCachedFeedsUntilAPostInThemChanges() {
+        RenderedFeed first = feedService.getSiteFeed(FeedFormat.RSS);
+        assertSame(first, feedService.getSiteFeed(FeedFormat.RSS));
+        assertNotNull(feedService.getTagFeed("java", FeedFormat.ATOM));
+        assertNotNull(feedService.getTagFeed("java", FeedFormat.ATOM));
+        verify(postRepository, times(1)).findFeedEntries(any());
+        verify(postRepository, times(1)).findFeedEntriesByTag(eq(tagId), any());
+
+        feedService.postsChanged("alice", List.of(tagId));
+
+        RenderedFeed second = feedService.getSiteFeed(FeedFormat.RSS);
+        feedService.getTagFeed("java", FeedFormat.ATOM);
+        assertEquals(first.etag(), second.etag());
+        verify(postRepository, times(2)).findFeedEntries(any());
+        verify(postRepository, times(2)).findFeedEntriesByTag(eq(tagId), any());
+    }
+
+    @Test
+    void doesNotCacheAFeedRenderedAcrossAChange() {
+        when(postRepository.findFeedEntries(any())).thenAnswer(invocation -> {
+            // A post changes while the feed is being rendered from the entries read before it
+            feedService.postsChanged("alice", List.of());
+            return List.of(entry("Tips & tricks", "tips", "2024-03-01T10:00:00Z", "2024-03-01T10:00:00Z"));
+        });
+
+        feedService.getSiteFeed(FeedFormat.RSS);
+        feedService.getSiteFeed(FeedFormat.RSS);
+
+        verify(postRepository, times(2)).findFeedEntries(any());
+    }
+
+    @Test
+    void returnsNothingForUnknownTagsAndAuthors() {
+        assertNull(feedService.getTagFeed("missing", FeedFormat.RSS));
+        assertNull(feedService.getAuthorFeed("nobody", FeedFormat.RSS));
+        verify(postRepository, never()).findFeedEntriesByTag(any(), any());
+        verify(postRepository, never()).findFeedEntriesByAuthor(any(), any());
+    }
+
+    private static PostRepository.FeedEntry entry(String title, String slug, String publishedAt, String updatedAt) {
+        UUID id = UUID.randomUUID();
+        return new PostRepository.FeedEntry() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getSlug() {
+                return slug;
+            }
+
+            @Override
+            public String getExcerpt() {
+                return "About " + title;
+            }
+
+            @Override
+            public OffsetDateTime getPublishedAt() {
+                return OffsetDateTime.parse(publishedAt);
+            }
+
+            @Override
+            public OffsetDateTime getUpdatedAt() {
+                return OffsetDateTime.parse(updatedAt);
+            }
+
+            @Override
+            public String getAuthorName() {
+                return "Alice";
+            }
+        };
+    }
+}
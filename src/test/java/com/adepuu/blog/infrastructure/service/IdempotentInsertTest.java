@@ -0,0 +1,84 @@
+package com.adepuu.blog.infrastructure.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against H2's unique constraints, with the insert nested in an outer transaction as callers may do
+ */
+class IdempotentInsertTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private IdempotentInsert idempotentInsert;
+
+    private final UUID follower = UUID.randomUUID();
+    private final UUID following = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE user_follows (id UUID PRIMARY KEY, follower_id UUID NOT NULL,"
+                + " following_id UUID NOT NULL, UNIQUE (follower_id, following_id))");
+        jdbcTemplate.execute("CREATE TABLE users (id UUID PRIMARY KEY, followers_count INTEGER)");
+        jdbcTemplate.update("INSERT INTO users (id, followers_count) VALUES (?, 0)", following);
+        transactionManager = new DataSourceTransactionManager(database);
+        idempotentInsert = new IdempotentInsert(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void insertsOnceAndKeepsTheCallersTransactionUsable() {
+        assertTrue(follow());
+
+        Boolean again = new TransactionTemplate(transactionManager).execute(status -> {
+            boolean inserted = follow();
+            // Still usable after the duplicate
+            jdbcTemplate.update("UPDATE users SET followers_count = followers_count + 10 WHERE id = ?", following);
+            return inserted;
+        });
+
+        assertEquals(Boolean.FALSE, again);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_follows", Integer.class));
+        // The duplicate's own counter update was rolled back with it
+        assertEquals(11, jdbcTemplate.queryForObject("SELECT followers_count FROM users", Integer.class));
+    }
+
+    @Test
+    void rethrowsViolationsThatAreNotDuplicates() {
+        assertThrows(DataIntegrityViolationException.class, () -> idempotentInsert.insert(
+                () -> jdbcTemplate.update("INSERT INTO user_follows (id, follower_id, following_id) VALUES (?, ?, NULL)",
+                        UUID.randomUUID(), follower),
+                () -> false));
+    }
+
+    private boolean follow() {
+        return idempotentInsert.insert(() -> {
+            jdbcTemplate.update("INSERT INTO user_follows (id, follower_id, following_id) VALUES (?, ?, ?)",
+                    UUID.randomUUID(), follower, following);
+            jdbcTemplate.update("UPDATE users SET followers_count = followers_count + 1 WHERE id = ?", following);
+        }, () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_follows WHERE follower_id = ?"
+                + " AND following_id = ?", Integer.class, follower, following) > 0);
+    }
+}
@@ -0,0 +1,177 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.domain.entity.Tag;
+import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.domain.service.TagService;
+import com.adepuu.blog.infrastructure.cache.PostSlugCache;
+import com.adepuu.blog.infrastructure.config.properties.ImportProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the import against H2 with the tables it writes
+ */
+class PostImporterTest {
+
+    private final TagService tagService = mock(TagService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PostSlugCache postSlugCache = mock(PostSlugCache.class);
+    private final UUID alice = UUID.randomUUID();
+    private final UUID javaTag = UUID.randomUUID();
+    private EmbeddedDatabase database;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private PostImporter importer;
+
+    private final List<Long> failedLines = new ArrayList<>();
+    private final List<String> failures = new ArrayList<>();
+    private final List<PostImporter.Summary> progress = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new NamedParameterJdbcTemplate(database);
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE users (id UUID PRIMARY KEY, deleted_at TIMESTAMP WITH TIME ZONE)");
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE posts (id UUID PRIMARY KEY, title VARCHAR(300),"
+                + " slug VARCHAR(350) UNIQUE, content TEXT, content_markdown TEXT, renderer_version INTEGER,"
+                + " excerpt TEXT, cover_image_url VARCHAR(500), canonical_url VARCHAR(500), status VARCHAR(255),"
+                + " reading_time_minutes INTEGER, author_id UUID, published_at TIMESTAMP WITH TIME ZONE,"
+                + " created_at TIMESTAMP WITH TIME ZONE, updated_at TIMESTAMP WITH TIME ZONE)");
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE post_tags (id UUID PRIMARY KEY, post_id UUID, tag_id UUID)");
+        jdbcTemplate.update("INSERT INTO users (id) VALUES (:id)", new MapSqlParameterSource("id", alice));
+        jdbcTemplate.update("INSERT INTO posts (id, title, slug) VALUES (:id, 'Hello', 'hello')",
+                new MapSqlParameterSource("id", UUID.randomUUID()));
+
+        ImportProperties properties = new ImportProperties();
+        properties.setBatchSize(2);
+        properties.setParallelism(2);
+        importer = new PostImporter(jdbcTemplate, new DataSourceTransactionManager(database),
+                new ObjectMapper().findAndRegisterModules(), new ContentSanitizationService(), tagService,
+                userRepository, properties, postSlugCache, "jdbc:h2:mem:test");
+
+        when(tagService.getTagsByNames(any())).thenReturn(List.of(Tag.builder().id(javaTag).name("java").build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        importer.destroy();
+        database.shutdown();
+    }
+
+    @Test
+    void importsValidRecordsInChunksAndReportsBadLines() throws IOException {
+        OffsetDateTime startedAt = OffsetDateTime.now().minusSeconds(1);
+        String ndjson = String.join("\n",
+                record("Hello", "PUBLISHED", "[\"java\"]").replace("}", ",\"createdAt\":\"2015-06-01T10:00:00Z\"}"),
+                record("Hello", "DRAFT", "[]"),
+                "{not json",
+                "",
+                record("", "DRAFT", "[]"),
+                record("Hello", "PUBLISHED", "[\"java\", \"java\"]")
+                        .replace(alice.toString(), UUID.randomUUID().toString()));
+
+        PostImporter.Summary summary = importer.importPosts(new StringReader(ndjson), listener());
+
+        assertEquals(new PostImporter.Summary(5, 2, 3), summary);
+        assertEquals(List.of(3L, 5L, 6L), failedLines);
+        assertTrue(failures.get(0).startsWith("Invalid JSON"));
+        assertTrue(failures.get(1).startsWith("Title must be"));
+        assertEquals("Author not found", failures.get(2));
+        assertEquals(List.of(new PostImporter.Summary(2, 2, 0), new PostImporter.Summary(4, 2, 2),
+                new PostImporter.Summary(5, 2, 3)), progress);
+
+        assertEquals(List.of("hello", "hello-1", "hello-2"),
+                jdbcTemplate.queryForList("SELECT slug FROM posts ORDER BY slug", Map.of(), String.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post_tags WHERE tag_id = :tagId",
+                Map.of("tagId", javaTag), Integer.class));
+        // Historical created_at, but updated_at marks the insert for incremental refreshes
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE created_at < :startedAt",
+                Map.of("startedAt", startedAt), Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE created_at IS NOT NULL"
+                + " AND (updated_at IS NULL OR updated_at < :startedAt)", Map.of("startedAt", startedAt), Integer.class));
+        verify(userRepository).adjustPostsCount(alice, 2);
+        verify(tagService).addPostsCounts(Map.of(javaTag, 1));
+        verify(postSlugCache).invalidate("hello-1");
+        verify(postSlugCache).invalidate("hello-2");
+        verify(postSlugCache, never()).invalidate("hello");
+        verify(tagService, never()).createTag(any(), any(), any());
+    }
+
+    @Test
+    void rejectsOnlyTheRowWithAnOversizedUrl() throws IOException {
+        String oversized = "https://example.com/" + "a".repeat(500);
+        String ndjson = String.join("\n",
+                record("Fine", "DRAFT", "[]"),
+                record("Too long", "DRAFT", "[]").replace("\"status\"", "\"canonicalUrl\":\"" + oversized + "\",\"status\""));
+
+        PostImporter.Summary summary = importer.importPosts(new StringReader(ndjson), listener());
+
+        assertEquals(new PostImporter.Summary(2, 1, 1), summary);
+        assertEquals(List.of(2L), failedLines);
+        assertEquals("Canonical URL must not exceed 500 characters", failures.get(0));
+        assertEquals(List.of("fine", "hello"),
+                jdbcTemplate.queryForList("SELECT slug FROM posts ORDER BY slug", Map.of(), String.class));
+    }
+
+    @Test
+    void retriesAFailedChunkOneRowAtATime() throws IOException {
+        UUID bob = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id) VALUES (:id)", new MapSqlParameterSource("id", bob));
+        doThrow(new IllegalStateException("counter update failed")).when(userRepository).adjustPostsCount(eq(bob), anyInt());
+        String ndjson = String.join("\n",
+                record("First", "DRAFT", "[]"),
+                record("Second", "DRAFT", "[]").replace(alice.toString(), bob.toString()));
+
+        PostImporter.Summary summary = importer.importPosts(new StringReader(ndjson), listener());
+
+        assertEquals(new PostImporter.Summary(2, 1, 1), summary);
+        assertEquals(List.of(2L), failedLines);
+        assertTrue(failures.get(0).startsWith("Insert failed"));
+        assertEquals(List.of("first", "hello"),
+                jdbcTemplate.queryForList("SELECT slug FROM posts ORDER BY slug", Map.of(), String.class));
+    }
+
+    private String record(String title, String status, String tags) {
+        return "{\"authorId\":\"" + alice + "\",\"title\":\"" + title + "\",\"content\":\"Some **markdown** body\","
+                + "\"status\":\"" + status + "\",\"tags\":" + tags + "}";
+    }
+
+    private PostImporter.Listener listener() {
+        return new PostImporter.Listener() {
+            @Override
+            public void failed(long line, String message) {
+                failedLines.add(line);
+                failures.add(message);
+            }
+
+            @Override
+            public void progress(PostImporter.Summary summary) {
+                progress.add(summary);
+            }
+        };
+    }
+}
@@ -0,0 +1,150 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.post.PostFilter;
+import com.adepuu.blog.delivery.dto.post.PostListing;
+import com.adepuu.blog.domain.entity.Post;
+import com.adepuu.blog.domain.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the listing queries on H2, where tags are filtered with EXISTS
+ */
+class PostListingServiceImplTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private EmbeddedDatabase database;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private PostListingServiceImpl listingService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new NamedParameterJdbcTemplate(database);
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE posts (id UUID PRIMARY KEY, author_id UUID,"
+                + " status VARCHAR(20), published_at TIMESTAMP WITH TIME ZONE, created_at TIMESTAMP WITH TIME ZONE,"
+                + " deleted_at TIMESTAMP WITH TIME ZONE)");
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE tags (id UUID PRIMARY KEY, slug VARCHAR(50))");
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE post_tags (post_id UUID, tag_id UUID)");
+        listingService = new PostListingServiceImpl(jdbcTemplate, postRepository, "jdbc:h2:mem:test");
+
+        when(postRepository.findWithAuthorAndTagsByIdIn(any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> Post.builder().id(id).build()).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void listsPublishedNewestFirstAndPagesByCursor() {
+        UUID oldest = post(alice, "PUBLISHED", 1);
+        UUID newest = post(bob, "PUBLISHED", 3);
+        UUID middle = post(alice, "PUBLISHED", 2);
+        post(alice, "DRAFT", 4);
+
+        PostListing first = listingService.list(null, 0, 2, null, true);
+
+        assertEquals(List.of(newest, middle), ids(first));
+        assertEquals(3, first.totalCount());
+        assertTrue(first.hasNextPage());
+
+        PostListing second = listingService.list(null, 0, 2, first.endCursor(), false);
+
+        assertEquals(List.of(oldest), ids(second));
+        assertFalse(second.hasNextPage());
+        assertNull(second.totalCount());
+        assertEquals(List.of(oldest), ids(listingService.list(null, 1, 2, null, false)));
+    }
+
+    @Test
+    void filtersByAuthorStatusAndTags() {
+        UUID java = tag("java");
+        UUID go = tag("go");
+        UUID aliceJava = post(alice, "PUBLISHED", 1, java);
+        UUID bobBoth = post(bob, "PUBLISHED", 2, java, go);
+        UUID aliceDraft = post(alice, "DRAFT", 3, java);
+
+        assertEquals(List.of(bobBoth, aliceJava), ids(list(null, null, List.of("java", "go"))));
+        assertEquals(List.of(aliceJava), ids(list(null, alice, List.of("java"))));
+        assertEquals(List.of(aliceDraft), ids(list(Post.PostStatus.DRAFT, alice, null)));
+        assertEquals(List.of(), ids(list(Post.PostStatus.ARCHIVED, alice, null)));
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> listingService.list(null, 0, 10, "not-a-cursor", false));
+        assertThrows(IllegalArgumentException.class, () -> list(null, "nope", null, null));
+    }
+
+    @Test
+    void readsTagFeedColumnWhenMaintained() {
+        PostQueryBuilder.Query query = new PostQueryBuilder(true)
+                .tags(List.of("java"))
+                .build(11, 0);
+
+        assertTrue(query.sql().startsWith("SELECT pt.post_id AS id, pt.published_at AS sort_at FROM post_tags pt"));
+        assertTrue(query.sql().contains("ORDER BY pt.published_at DESC, pt.post_id"));
+    }
+
+    private PostListing list(Post.PostStatus status, UUID authorId, List<String> tagSlugs) {
+        return list(status, authorId != null ? authorId.toString() : null, tagSlugs, null);
+    }
+
+    private PostListing list(Post.PostStatus status, String authorId, List<String> tagSlugs, String search) {
+        return listingService.list(new PostFilter(status, authorId, tagSlugs, search), 0, 10, null, false);
+    }
+
+    private static List<UUID> ids(PostListing listing) {
+        return listing.posts().stream().map(Post::getId).toList();
+    }
+
+    private UUID tag(String slug) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO tags (id, slug) VALUES (:id, :slug)", Map.of("id", id, "slug", slug));
+        return id;
+    }
+
+    private UUID post(UUID authorId, String status, int day, UUID... tagIds) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO posts (id, author_id, status, published_at, created_at)"
+                        + " VALUES (:id, :authorId, :status, :publishedAt, :createdAt)",
+                new MapSqlParameterSource("id", id)
+                        .addValue("authorId", authorId)
+                        .addValue("status", status)
+                        .addValue("publishedAt", "PUBLISHED".equals(status) ? T0.plusDays(day) : null)
+                        .addValue("createdAt", T0.plusDays(day)));
+        for (UUID tagId : tagIds) {
+            jdbcTemplate.update("INSERT INTO post_tags (post_id, tag_id) VALUES (:postId, :tagId)",
+                    Map.of("postId", id, "tagId", tagId));
+        }
+        return id;
+    }
+}
@@ -0,0 +1,143 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.post.PostSearchResult;
+import com.adepuu.blog.domain.entity.Post;
+import com.adepuu.blog.domain.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Exercises the LIKE fallback used on H2
+ */
+class PostSearchServiceImplTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private EmbeddedDatabase database;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private PostSearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new NamedParameterJdbcTemplate(database);
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE posts (id UUID PRIMARY KEY, title VARCHAR(300), excerpt TEXT,"
+                + " content TEXT, status VARCHAR(20), author_id UUID, deleted_at TIMESTAMP WITH TIME ZONE)");
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE tags (id UUID PRIMARY KEY, name VARCHAR(50), slug VARCHAR(50))");
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE post_tags (post_id UUID, tag_id UUID)");
+        searchService = new PostSearchServiceImpl(jdbcTemplate, postRepository, "jdbc:h2:mem:test");
+
+        when(postRepository.findWithAuthorAndTagsByIdIn(any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .map(id -> Post.builder().id(id).content(jdbcTemplate.queryForObject(
+                            "SELECT content FROM posts WHERE id = :id", Map.of("id", id), String.class)).build())
+                    .toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void ranksTitleMatchesFirstAndPagesByCursor() {
+        UUID java = tag("Java", "java");
+        UUID bodyMatch = post("Other", "<p>All about spring boot</p>", "PUBLISHED", java);
+        UUID titleMatch = post("Spring tips", "<p>Tips</p>", "PUBLISHED", java);
+        post("Spring draft", "<p>Draft</p>", "DRAFT");
+
+        PostSearchResult first = searchService.search("Spring", null, 1, null);
+
+        assertEquals(2, first.totalCount());
+        assertTrue(first.hasNextPage());
+        assertEquals(titleMatch, first.edges().get(0).node().getId());
+        assertEquals(List.of(new PostSearchResult.TagFacet("java", "Java", 2)), first.facets());
+
+        PostSearchResult second = searchService.search("Spring", null, 1, first.endCursor());
+
+        assertFalse(second.hasNextPage());
+        assertEquals(bodyMatch, second.edges().get(0).node().getId());
+        assertEquals("All about <mark>spring</mark> boot", second.edges().get(0).snippet());
+        assertTrue(second.facets().isEmpty());
+    }
+
+    @Test
+    void filtersByTagAndEscapesLikeWildcards() {
+        UUID java = tag("Java", "java");
+        UUID tagged = post("100% coverage", "<p>x</p>", "PUBLISHED", java);
+        post("100% other", "<p>x</p>", "PUBLISHED");
+        post("1000 things", "<p>x</p>", "PUBLISHED", java);
+
+        PostSearchResult result = searchService.search("100%", List.of("java"), 10, null);
+
+        assertEquals(1, result.totalCount());
+        assertEquals(tagged, result.edges().get(0).node().getId());
+    }
+
+    @Test
+    void filtersByStatusAndAuthor() {
+        UUID author = UUID.randomUUID();
+        UUID draft = authoredPost("Spring draft", "<p>x</p>", "DRAFT", author);
+        authoredPost("Spring other draft", "<p>x</p>", "DRAFT", UUID.randomUUID());
+        UUID published = authoredPost("Spring tips", "<p>x</p>", "PUBLISHED", author);
+        authoredPost("Spring news", "<p>x</p>", "PUBLISHED", UUID.randomUUID());
+
+        PostSearchResult drafts = searchService.search("Spring", null, Post.PostStatus.DRAFT, author, 10, null);
+        PostSearchResult byAuthor = searchService.search("Spring", null, null, author, 10, null);
+
+        assertEquals(List.of(draft), drafts.edges().stream().map(edge -> edge.node().getId()).toList());
+        assertEquals(List.of(published), byAuthor.edges().stream().map(edge -> edge.node().getId()).toList());
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("x", null, 10, "not-a-cursor"));
+    }
+
+    @Test
+    void snippetIsEscaped() {
+        assertEquals("a &lt;b&gt; <mark>term</mark>", PostSearchServiceImpl.snippet("<p>a &lt;b&gt; term</p>", "term"));
+    }
+
+    private UUID authoredPost(String title, String content, String status, UUID authorId) {
+        UUID id = post(title, content, status);
+        jdbcTemplate.update("UPDATE posts SET author_id = :authorId WHERE id = :id", Map.of("authorId", authorId, "id", id));
+        return id;
+    }
+
+    private UUID tag(String name, String slug) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO tags (id, name, slug) VALUES (:id, :name, :slug)",
+                Map.of("id", id, "name", name, "slug", slug));
+        return id;
+    }
+
+    private UUID post(String title, String content, String status, UUID... tagIds) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO posts (id, title, content, status) VALUES (:id, :title, :content, :status)",
+                Map.of("id", id, "title", title, "content", content, "status", status));
+        for (UUID tagId : tagIds) {
+            jdbcTemplate.update("INSERT INTO post_tags (post_id, tag_id) VALUES (:postId, :tagId)",
+                    Map.of("postId", id, "tagId", tagId));
+        }
+        return id;
+    }
+}
@@ -0,0 +1,147 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.post.PostFilter;
+import com.adepuu.blog.delivery.dto.post.PostListing;
+import com.adepuu.blog.domain.entity.Post;
+import com.adepuu.blog.domain.repository.PostRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs db/ddl.sql on Postgres to check the triggers that keep post_tags.published_at in step with the
+ * post, and the tag listing that reads it. Skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PostTagFeedPostgresTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+
+    @BeforeAll
+    static void createSchema() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(),
+                POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        // The driver runs the statements one by one and understands the $$-quoted function bodies
+        jdbcTemplate.getJdbcTemplate().execute(
+                new ClassPathResource("db/ddl.sql").getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void keepsTagRowsInStepWithThePostsListedState() {
+        UUID author = user();
+        UUID tag = tag();
+        UUID post = post(author, "DRAFT", null);
+        link(post, tag);
+        assertNull(tagPublishedAt(post));
+
+        update("UPDATE posts SET status = 'PUBLISHED', published_at = :at WHERE id = :id", post, T0.plusDays(1));
+        assertEquals(T0.plusDays(1).toInstant(), tagPublishedAt(post).toInstant());
+
+        update("UPDATE posts SET published_at = :at WHERE id = :id", post, T0.plusDays(2));
+        assertEquals(T0.plusDays(2).toInstant(), tagPublishedAt(post).toInstant());
+
+        update("UPDATE posts SET deleted_at = :at WHERE id = :id", post, T0.plusDays(3));
+        assertNull(tagPublishedAt(post));
+
+        // A tag added to a post that is already listed takes its published_at on insert
+        UUID listed = post(author, "PUBLISHED", T0.plusDays(4));
+        link(listed, tag());
+        assertEquals(T0.plusDays(4).toInstant(), tagPublishedAt(listed).toInstant());
+    }
+
+    @Test
+    void listsATagFeedFromTheTagRows() {
+        when(postRepository.findWithAuthorAndTagsByIdIn(any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> Post.builder().id(id).build()).toList();
+        });
+        PostListingServiceImpl listingService = new PostListingServiceImpl(jdbcTemplate, postRepository,
+                POSTGRES.getJdbcUrl());
+        UUID author = user();
+        UUID tag = tag();
+        String slug = jdbcTemplate.queryForObject("SELECT slug FROM tags WHERE id = :id", Map.of("id", tag),
+                String.class);
+        UUID older = post(author, "PUBLISHED", T0.plusDays(1));
+        UUID newer = post(author, "PUBLISHED", T0.plusDays(2));
+        UUID draft = post(author, "DRAFT", null);
+        List.of(older, newer, draft).forEach(post -> link(post, tag));
+
+        PostListing first = listingService.list(new PostFilter(null, null, List.of(slug), null), 0, 1, null, true);
+        PostListing second = listingService.list(new PostFilter(null, null, List.of(slug), null), 0, 1,
+                first.endCursor(), false);
+
+        assertEquals(List.of(newer), first.posts().stream().map(Post::getId).toList());
+        assertEquals(2, first.totalCount());
+        assertEquals(List.of(older), second.posts().stream().map(Post::getId).toList());
+        assertFalse(second.hasNextPage());
+    }
+
+    private static UUID user() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, display_name)"
+                        + " VALUES (:id, :name, :email, 'x', :name)",
+                Map.of("id", id, "name", "u" + id.toString().substring(0, 8), "email", id + "@example.com"));
+        return id;
+    }
+
+    private static UUID tag() {
+        UUID id = UUID.randomUUID();
+        String name = "t" + id.toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO tags (id, name, slug) VALUES (:id, :name, :name)",
+                Map.of("id", id, "name", name));
+        return id;
+    }
+
+    private static UUID post(UUID authorId, String status, OffsetDateTime publishedAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO posts (id, title, slug, content, status, author_id, published_at)"
+                        + " VALUES (:id, 'Title', :slug, 'Body', :status, :authorId, :publishedAt)",
+                new MapSqlParameterSource("id", id)
+                        .addValue("slug", id.toString())
+                        .addValue("status", status)
+                        .addValue("authorId", authorId)
+                        .addValue("publishedAt", publishedAt));
+        return id;
+    }
+
+    private static void link(UUID postId, UUID tagId) {
+        jdbcTemplate.update("INSERT INTO post_tags (post_id, tag_id) VALUES (:postId, :tagId)",
+                Map.of("postId", postId, "tagId", tagId));
+    }
+
+    private static void update(String sql, UUID postId, OffsetDateTime at) {
+        jdbcTemplate.update(sql, new MapSqlParameterSource("id", postId).addValue("at", at));
+    }
+
+    private static OffsetDateTime tagPublishedAt(UUID postId) {
+        return jdbcTemplate.queryForObject("SELECT published_at FROM post_tags WHERE post_id = :id",
+                Map.of("id", postId), OffsetDateTime.class);
+    }
+}
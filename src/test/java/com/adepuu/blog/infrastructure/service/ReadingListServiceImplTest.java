@@ -0,0 +1,85 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.domain.entity.Post;
+import com.adepuu.blog.domain.repository.PostRepository;
+import com.adepuu.blog.domain.repository.ReadingListRepository;
+import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.infrastructure.cache.CacheNames;
+import com.adepuu.blog.infrastructure.cache.UserIdSets;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReadingListServiceImplTest {
+
+    private final ReadingListRepository readingListRepository = mock(ReadingListRepository.class);
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    private final ReadingListServiceImpl readingListService = new ReadingListServiceImpl(readingListRepository,
+            postRepository, mock(UserRepository.class), new UserIdSets(cacheManager),
+            new IdempotentInsert(mock(PlatformTransactionManager.class)));
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void addIsIdempotentAndEvictsOnlyOnChange() {
+        Post post = post(Post.PostStatus.PUBLISHED);
+        when(postRepository.findActiveById(post.getId())).thenReturn(Optional.of(post));
+        when(readingListRepository.saveAndFlush(any()))
+                .thenReturn(null)
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(readingListRepository.existsByUserIdAndPostId(userId, post.getId())).thenReturn(true);
+        Cache cache = cacheManager.getCache(CacheNames.BOOKMARKED_POST_IDS);
+
+        cache.put(userId.toString(), Set.of());
+        assertTrue(readingListService.addToReadingList(userId, post.getId()));
+        assertNull(cache.get(userId.toString()));
+
+        cache.put(userId.toString(), Set.of(post.getId()));
+        assertTrue(readingListService.addToReadingList(userId, post.getId()));
+        assertNotNull(cache.get(userId.toString()));
+    }
+
+    @Test
+    void rejectsUnpublishedPosts() {
+        Post draft = post(Post.PostStatus.DRAFT);
+        when(postRepository.findActiveById(draft.getId())).thenReturn(Optional.of(draft));
+
+        assertThrows(IllegalArgumentException.class, () -> readingListService.addToReadingList(userId, draft.getId()));
+        verify(readingListRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void pagesInSavedOrder() {
+        Post first = post(Post.PostStatus.PUBLISHED);
+        Post second = post(Post.PostStatus.PUBLISHED);
+        PageRequest pageable = PageRequest.of(0, 2);
+        when(readingListRepository.findListedPostIdsByUserId(userId, pageable))
+                .thenReturn(new PageImpl<>(List.of(second.getId(), first.getId()), pageable, 3));
+        when(postRepository.findWithAuthorAndTagsByIdIn(any())).thenReturn(List.of(first, second));
+
+        Page<Post> page = readingListService.getReadingList(userId, pageable);
+
+        assertEquals(List.of(second, first), page.getContent());
+        assertEquals(3, page.getTotalElements());
+        assertTrue(page.hasNext());
+    }
+
+    private static Post post(Post.PostStatus status) {
+        return Post.builder().id(UUID.randomUUID()).status(status).build();
+    }
+}
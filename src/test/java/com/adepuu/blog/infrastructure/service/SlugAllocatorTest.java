@@ -0,0 +1,66 @@
+package com.adepuu.blog.infrastructure.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlugAllocatorTest {
+
+    private final SlugAllocator slugAllocator = new SlugAllocator();
+
+    @Test
+    void picksSmallestFreeSuffixFromOnePrefixQuery() {
+        assertEquals("hello", SlugAllocator.firstFree("hello", Set.of("hello-1")));
+        assertEquals("hello-2", SlugAllocator.firstFree("hello", Set.of("hello", "hello-1", "hello-3", "hello-world")));
+        assertEquals("hello-1", SlugAllocator.firstFree("hello", Set.of("hello", "hello-world", "hello-x1")));
+    }
+
+    @Test
+    void normalizesBaseToFitColumn() {
+        assertEquals(SlugAllocator.FALLBACK_BASE, SlugAllocator.normalizeBase("", 50));
+        assertEquals("a".repeat(44), SlugAllocator.normalizeBase("a".repeat(60), 50));
+        assertEquals("ab", SlugAllocator.normalizeBase("ab", 50));
+    }
+
+    @Test
+    void retriesWhenSlugIsTakenConcurrently() {
+        List<String> stored = new ArrayList<>(List.of("hello"));
+        AtomicInteger queries = new AtomicInteger();
+
+        String saved = slugAllocator.save("hello", 350,
+                base -> {
+                    queries.incrementAndGet();
+                    return List.copyOf(stored);
+                },
+                slug -> {
+                    if (slug.equals("hello-1") && !stored.contains("hello-1")) {
+                        stored.add("hello-1"); // Another writer wins the race
+                        throw new DataIntegrityViolationException("duplicate key");
+                    }
+                    stored.add(slug);
+                    return slug;
+                });
+
+        assertEquals("hello-2", saved);
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void rethrowsConflictsUnrelatedToSlug() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(DataIntegrityViolationException.class, () -> slugAllocator.save("hello", 350,
+                base -> List.of(),
+                slug -> {
+                    attempts.incrementAndGet();
+                    throw new DataIntegrityViolationException("duplicate name");
+                }));
+        assertEquals(1, attempts.get());
+    }
+}
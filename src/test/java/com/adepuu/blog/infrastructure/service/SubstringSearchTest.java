@@ -0,0 +1,88 @@
+package com.adepuu.blog.infrastructure.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises the LIKE ranking used on H2
+ */
+class SubstringSearchTest {
+
+    private EmbeddedDatabase database;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private SubstringSearch search;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new NamedParameterJdbcTemplate(database);
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE tags (id UUID PRIMARY KEY, name VARCHAR(50),"
+                + " description TEXT, deleted_at TIMESTAMP WITH TIME ZONE)");
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE users (id UUID PRIMARY KEY, username VARCHAR(50),"
+                + " is_active BOOLEAN, deleted_at TIMESTAMP WITH TIME ZONE)");
+        search = new SubstringSearch(jdbcTemplate, "jdbc:h2:mem:test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void ranksExactThenPrefixThenSubstringMatches() {
+        UUID substring = tag("GraalJava", null);
+        UUID prefix = tag("JavaScript", null);
+        UUID exact = tag("Java", null);
+        UUID description = tag("JVM", "Runs java bytecode");
+        tag("Kotlin", null);
+
+        Page<UUID> page = search.tagIds("JAVA", PageRequest.of(0, 10));
+
+        assertEquals(List.of(exact, prefix, substring, description), page.getContent());
+        assertEquals(4, page.getTotalElements());
+    }
+
+    @Test
+    void countsAcrossPagesAndEscapesWildcards() {
+        for (int i = 0; i < 3; i++) {
+            user("dev" + i, true);
+        }
+        user("dev_ops", true);
+        user("devlin", false);
+
+        Page<UUID> page = search.userIds("dev", PageRequest.of(1, 2));
+
+        assertEquals(2, page.getContent().size());
+        assertEquals(4, page.getTotalElements());
+        assertEquals(1, search.userIds("v_", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private UUID tag(String name, String description) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO tags (id, name, description) VALUES (:id, :name, :description)",
+                new MapSqlParameterSource("id", id).addValue("name", name).addValue("description", description));
+        return id;
+    }
+
+    private void user(String username, boolean active) {
+        jdbcTemplate.update("INSERT INTO users (id, username, is_active) VALUES (:id, :username, :active)",
+                Map.of("id", UUID.randomUUID(), "username", username, "active", active));
+    }
+}
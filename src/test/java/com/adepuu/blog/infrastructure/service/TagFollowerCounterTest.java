@@ -0,0 +1,82 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.domain.repository.TagRepository;
+import com.adepuu.blog.infrastructure.config.properties.TagProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TagFollowerCounterTest {
+
+    private final TagRepository tagRepository = mock(TagRepository.class);
+    private final TagStatistics tagStatistics = mock(TagStatistics.class);
+    private final TagProperties tagProperties = new TagProperties();
+    private final TagFollowerCounter counter =
+            new TagFollowerCounter(tagRepository, tagProperties, tagStatistics, new ConcurrentMapCacheManager());
+
+    @Test
+    void appliesDeltaImmediatelyByDefault() {
+        UUID tagId = UUID.randomUUID();
+
+        counter.adjust(tagId, 1);
+
+        verify(tagRepository).adjustFollowersCount(List.of(tagId), 1);
+        verify(tagStatistics).countsChanged();
+    }
+
+    @Test
+    void batchesDeltasUntilFlush() {
+        tagProperties.setFollowersFlushInterval(Duration.ofSeconds(5));
+        UUID java = UUID.randomUUID();
+        UUID go = UUID.randomUUID();
+        UUID rust = UUID.randomUUID();
+
+        counter.adjust(java, 1);
+        counter.adjust(java, 1);
+        counter.adjust(go, 1);
+        counter.adjust(go, 1);
+        counter.adjust(rust, 1);
+        counter.adjust(rust, -1);
+        verifyNoInteractions(tagRepository);
+
+        assertEquals(2, counter.flush());
+
+        verify(tagRepository).adjustFollowersCount(argThat(ids -> Set.copyOf(ids).equals(Set.of(java, go))), eq(2));
+        verify(tagRepository, never()).adjustFollowersCount(anyCollection(), eq(0));
+        assertEquals(0, counter.flush());
+    }
+
+    @Test
+    void keepsDeltasWhenFlushFails() {
+        tagProperties.setFollowersFlushInterval(Duration.ofSeconds(5));
+        UUID tagId = UUID.randomUUID();
+        counter.adjust(tagId, -1);
+        when(tagRepository.adjustFollowersCount(anyCollection(), anyInt()))
+                .thenThrow(new RuntimeException("database unavailable"))
+                .thenReturn(1);
+
+        assertThrows(RuntimeException.class, counter::flush);
+        counter.adjust(tagId, -1);
+
+        assertEquals(1, counter.flush());
+        verify(tagRepository).adjustFollowersCount(List.of(tagId), -2);
+    }
+
+    @Test
+    void reconcileRecountsAfterFlushing() {
+        when(tagRepository.recountFollowersCounts()).thenReturn(3);
+
+        counter.reconcile();
+
+        verify(tagRepository).recountFollowersCounts();
+        verify(tagStatistics).countsChanged();
+    }
+}
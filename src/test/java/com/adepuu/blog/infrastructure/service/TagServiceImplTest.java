@@ -0,0 +1,153 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.graphql.TagResolver;
+import com.adepuu.blog.domain.entity.Tag;
+import com.adepuu.blog.domain.entity.TagFollow;
+import com.adepuu.blog.domain.repository.TagFollowRepository;
+import com.adepuu.blog.domain.repository.TagRepository;
+import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.domain.service.SuggestionService;
+import com.adepuu.blog.infrastructure.cache.CacheNames;
+import com.adepuu.blog.infrastructure.cache.CachedTag;
+import com.adepuu.blog.infrastructure.cache.UserIdSets;
+import graphql.GraphQLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TagServiceImplTest {
+
+    private final TagRepository tagRepository = mock(TagRepository.class);
+    private final TagFollowRepository tagFollowRepository = mock(TagFollowRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    private final TagFollowerCounter tagFollowerCounter = mock(TagFollowerCounter.class);
+    private final TagServiceImpl tagService = new TagServiceImpl(tagRepository, tagFollowRepository, userRepository,
+            cacheManager, new SlugAllocator(), mock(SuggestionService.class), mock(SubstringSearch.class),
+            mock(TagStatistics.class), tagFollowerCounter, mock(PlatformTransactionManager.class),
+            new UserIdSets(cacheManager), new IdempotentInsert(mock(PlatformTransactionManager.class)));
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID java = UUID.randomUUID();
+    private final UUID go = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void cachesTheFollowedTagIdsPerUser() {
+        when(tagFollowRepository.findFollowedTagIdsByUserId(userId)).thenReturn(List.of(java, go));
+
+        assertEquals(Set.of(java, go), tagService.getFollowedTagIds(userId));
+        assertEquals(Set.of(java, go), tagService.getFollowedTagIds(userId));
+        assertEquals(Set.of(), tagService.getFollowedTagIds(UUID.randomUUID()));
+
+        verify(tagFollowRepository, times(1)).findFollowedTagIdsByUserId(userId);
+    }
+
+    @Test
+    void dropsTheCachedIdsOnlyOnceAFollowChangeCommits() {
+        when(tagFollowRepository.findFollowedTagIdsByUserId(userId)).thenReturn(List.of(java));
+        when(tagRepository.findById(go)).thenReturn(Optional.of(Tag.builder().id(go).name("Go").slug("go").build()));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(tagFollowRepository.changeFollowStatus(go, userId, true)).thenReturn(1);
+        tagService.getFollowedTagIds(userId);
+        Cache cache = cacheManager.getCache(CacheNames.FOLLOWED_TAG_IDS);
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(tagService.followTag(go, userId.toString()));
+        assertNotNull(cache.get(userId.toString()));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(cache.get(userId.toString()));
+    }
+
+    @Test
+    void firstFollowInsertsTheRowOnceAndCountsItOnce() {
+        when(tagRepository.findById(go)).thenReturn(Optional.of(Tag.builder().id(go).name("Go").slug("go").build()));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(tagFollowRepository.saveAndFlush(any()))
+                .thenReturn(null)
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(tagFollowRepository.findByTagIdAndUserId(go, userId)).thenReturn(Optional.of(new TagFollow()));
+
+        assertTrue(tagService.followTag(go, userId.toString()));
+        assertFalse(tagService.followTag(go, userId.toString()));
+
+        verify(tagFollowerCounter, times(1)).adjust(go, 1);
+    }
+
+    @Test
+    void followingAnUnknownTagFails() {
+        assertThrows(IllegalArgumentException.class, () -> tagService.followTag(go, userId.toString()));
+        verifyNoInteractions(tagFollowRepository);
+    }
+
+    @Test
+    void keepsTheCachedIdsWhenNothingChanged() {
+        when(tagFollowRepository.findFollowedTagIdsByUserId(userId)).thenReturn(List.of(java));
+        tagService.getFollowedTagIds(userId);
+
+        assertFalse(tagService.unfollowTag(go, userId.toString()));
+
+        assertNotNull(cacheManager.getCache(CacheNames.FOLLOWED_TAG_IDS).get(userId.toString()));
+    }
+
+    @Test
+    void cachesTagsBySlugAsSnapshotsAndHandsOutCopies() {
+        Tag tag = Tag.builder().id(go).name("Go").slug("go").postsCount(3).build();
+        when(tagRepository.findBySlug("go")).thenReturn(Optional.of(tag));
+
+        Tag first = tagService.getTagBySlug("go");
+        first.setName("Changed by a reader");
+        Tag second = tagService.getTagBySlug("go");
+
+        assertNotSame(tag, first);
+        assertEquals("Go", second.getName());
+        assertEquals(3, second.getPostsCount());
+        assertInstanceOf(CachedTag.class, cacheManager.getCache(CacheNames.TAGS_BY_SLUG).get("go").get());
+        verify(tagRepository, times(1)).findBySlug("go");
+    }
+
+    @Test
+    void resolvesIsFollowingForAWholeResponseWithOneLookup() {
+        when(tagFollowRepository.findFollowedTagIdsByUserId(userId)).thenReturn(List.of(java));
+        TagResolver resolver = new TagResolver(tagService, mock(SuggestionService.class));
+        List<Tag> tags = List.of(Tag.builder().id(java).build(), Tag.builder().id(go).build(),
+                Tag.builder().id(UUID.randomUUID()).build());
+
+        assertEquals(List.of(false, false, false), isFollowing(resolver, tags, GraphQLContext.newContext().build()));
+        verifyNoInteractions(tagFollowRepository);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                userId.toString(), null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        assertEquals(List.of(true, false, false), isFollowing(resolver, tags, GraphQLContext.newContext().build()));
+        verify(tagFollowRepository, times(1)).findFollowedTagIdsByUserId(userId);
+    }
+
+    private static List<Boolean> isFollowing(TagResolver resolver, List<Tag> tags, GraphQLContext context) {
+        return tags.stream().map(tag -> resolver.isFollowing(tag, context)).toList();
+    }
+}
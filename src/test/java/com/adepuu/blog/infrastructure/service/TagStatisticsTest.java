@@ -0,0 +1,98 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.domain.entity.Tag;
+import com.adepuu.blog.domain.repository.TagRepository;
+import com.adepuu.blog.infrastructure.cache.CacheNames;
+import com.adepuu.blog.infrastructure.config.properties.TagProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TagStatisticsTest {
+
+    private final TagRepository tagRepository = mock(TagRepository.class);
+    private final TagProperties tagProperties = new TagProperties();
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    private final TagStatistics tagStatistics = new TagStatistics(tagRepository, tagProperties, cacheManager);
+
+    @Test
+    void servesPopularTagsFromSnapshot() {
+        when(tagRepository.findPopularTags(any(Pageable.class))).thenReturn(List.of(tag("java"), tag("go"), tag("rust")));
+
+        assertEquals(List.of("java", "go"), names(tagStatistics.popularTags(2)));
+        assertEquals(3, tagStatistics.popularTags(20).size());
+        verify(tagRepository, times(1)).findPopularTags(any(Pageable.class));
+    }
+
+    @Test
+    void rebuildsSnapshotAfterCountsChange() {
+        when(tagRepository.findPopularTags(any(Pageable.class)))
+                .thenReturn(List.of(tag("java")))
+                .thenReturn(List.of(tag("go"), tag("java")));
+        tagStatistics.popularTags(10);
+
+        tagStatistics.countsChanged();
+
+        awaitSize(2);
+        assertEquals(List.of("go", "java"), names(tagStatistics.popularTags(10)));
+        verify(tagRepository, times(2)).findPopularTags(any(Pageable.class));
+    }
+
+    @Test
+    void foldsABurstOfChangesIntoOneRebuild() throws InterruptedException {
+        tagProperties.setPopularRebuildDelay(Duration.ofMillis(200));
+        when(tagRepository.findPopularTags(any(Pageable.class)))
+                .thenReturn(List.of(tag("java")))
+                .thenReturn(List.of(tag("go"), tag("java")));
+        tagStatistics.popularTags(10);
+
+        for (int i = 0; i < 20; i++) {
+            tagStatistics.countsChanged();
+        }
+
+        awaitSize(2);
+        Thread.sleep(400);
+        verify(tagRepository, times(2)).findPopularTags(any(Pageable.class));
+    }
+
+    @Test
+    void recountRebuildsAndDropsCachedTagsOnlyWhenCountsDrifted() {
+        when(tagRepository.findPopularTags(any(Pageable.class)))
+                .thenReturn(List.of(tag("java")))
+                .thenReturn(List.of(tag("go"), tag("java")));
+        tagStatistics.popularTags(10);
+        cacheManager.getCache(CacheNames.TAGS_BY_SLUG).put("java", tag("java"));
+
+        when(tagRepository.recountPostsCounts()).thenReturn(0);
+        tagStatistics.recount();
+        assertNotNull(cacheManager.getCache(CacheNames.TAGS_BY_SLUG).get("java"));
+
+        when(tagRepository.recountPostsCounts()).thenReturn(3);
+        tagStatistics.recount();
+        assertNull(cacheManager.getCache(CacheNames.TAGS_BY_SLUG).get("java"));
+        awaitSize(2);
+        verify(tagRepository, times(2)).findPopularTags(any(Pageable.class));
+    }
+
+    private void awaitSize(int size) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (tagStatistics.popularTags(10).size() < size && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Tag tag(String name) {
+        return Tag.builder().name(name).slug(name).build();
+    }
+
+    private static List<String> names(List<Tag> tags) {
+        return tags.stream().map(Tag::getName).toList();
+    }
+}
@@ -0,0 +1,145 @@
+package com.adepuu.blog.infrastructure.service;
+
+import com.adepuu.blog.delivery.dto.user.FollowStatus;
+import com.adepuu.blog.delivery.dto.user.UpdateProfileInput;
+import com.adepuu.blog.delivery.dto.user.UserStats;
+import com.adepuu.blog.domain.entity.User;
+import com.adepuu.blog.domain.repository.UserFollowRepository;
+import com.adepuu.blog.domain.repository.UserRepository;
+import com.adepuu.blog.domain.service.FeedService;
+import com.adepuu.blog.domain.service.SuggestionService;
+import com.adepuu.blog.infrastructure.cache.UserByUsernameCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserServiceImplTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserFollowRepository userFollowRepository = mock(UserFollowRepository.class);
+    private final FeedService feedService = mock(FeedService.class);
+    private final UserByUsernameCache userByUsernameCache = mock(UserByUsernameCache.class);
+    private final UserServiceImpl userService = new UserServiceImpl(userRepository, mock(SuggestionService.class),
+            mock(SubstringSearch.class), userFollowRepository,
+            new IdempotentInsert(mock(PlatformTransactionManager.class)), feedService, userByUsernameCache);
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+    @Test
+    void readsAllCountsFromStoredCounters() {
+        when(userRepository.findStatsByIdIn(any())).thenReturn(List.of(stats(alice, 3, 4, 1, 7), stats(bob, 0, 2, -1, null)));
+
+        Map<UUID, UserStats> stats = userService.getStats(Set.of(alice, bob));
+
+        assertEquals(new UserStats(alice, 3, 4, 1, 7), stats.get(alice));
+        assertEquals(new UserStats(bob, 0, 2, 0, 0), stats.get(bob));
+        verify(userRepository, times(1)).findStatsByIdIn(any());
+    }
+
+    @Test
+    void followMovesCountersOnlyWhenInserted() {
+        when(userRepository.findActiveById(bob)).thenReturn(Optional.of(User.builder().id(bob).build()));
+        when(userFollowRepository.saveAndFlush(any()))
+                .thenReturn(null)
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(userFollowRepository.existsByFollowerIdAndFollowingId(alice, bob)).thenReturn(true);
+
+        userService.followUser(alice, bob);
+        userService.followUser(alice, bob);
+
+        verify(userRepository, times(1)).adjustFollowingCount(alice, 1);
+        verify(userRepository, times(1)).adjustFollowersCount(bob, 1);
+        assertThrows(IllegalArgumentException.class, () -> userService.followUser(alice, alice));
+    }
+
+    @Test
+    void loadsFollowStatusInBothDirectionsWithOneQuery() {
+        UUID carol = UUID.randomUUID();
+        UUID dave = UUID.randomUUID();
+        when(userFollowRepository.findEdgesBetween(eq(alice), any()))
+                .thenReturn(List.of(edge(alice, bob), edge(bob, alice), edge(carol, alice)));
+        List<FollowStatus.Key> keys = Stream.of(bob, carol, dave).map(id -> new FollowStatus.Key(alice, id)).toList();
+
+        Map<FollowStatus.Key, FollowStatus> statuses = userService.getFollowStatus(keys);
+
+        assertEquals(new FollowStatus(true, true), statuses.get(keys.get(0)));
+        assertEquals(new FollowStatus(false, true), statuses.get(keys.get(1)));
+        assertEquals(FollowStatus.NONE, statuses.get(keys.get(2)));
+        verify(userFollowRepository, times(1)).findEdgesBetween(eq(alice), any());
+    }
+
+    @Test
+    void renamingDropsTheFeedsThatNameTheAuthor() {
+        User user = User.builder().id(alice).username("alice").displayName("Alice").build();
+        when(userRepository.findActiveById(alice)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        userService.updateProfile(alice, profile("Alice", "Hello"));
+        verify(feedService, never()).allChanged();
+
+        userService.updateProfile(alice, profile("Alice Liddell", null));
+        verify(feedService, times(1)).allChanged();
+        verify(userByUsernameCache, times(2)).evict("alice");
+    }
+
+    private static UpdateProfileInput profile(String displayName, String bio) {
+        return new UpdateProfileInput(displayName, bio, null, null, null, null, null, null);
+    }
+
+    private static UserFollowRepository.EdgeSource edge(UUID followerId, UUID followingId) {
+        return new UserFollowRepository.EdgeSource() {
+            @Override
+            public UUID getFollowerId() {
+                return followerId;
+            }
+
+            @Override
+            public UUID getFollowingId() {
+                return followingId;
+            }
+        };
+    }
+
+    private static UserRepository.StatsSource stats(UUID id, Integer posts, Integer followers, Integer following,
+                                                    Integer reactions) {
+        return new UserRepository.StatsSource() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getPostsCount() {
+                return posts;
+            }
+
+            @Override
+            public Integer getFollowersCount() {
+                return followers;
+            }
+
+            @Override
+            public Integer getFollowingCount() {
+                return following;
+            }
+
+            @Override
+            public Integer getReactionsReceivedCount() {
+                return reactions;
+            }
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.adepuu.blog.infrastructure.sitemap;
+
+import com.adepuu.blog.infrastructure.config.properties.SitemapProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Renders against H2 into a temporary directory
+ */
+class SitemapGeneratorTest {
+
+    // Two shards once there are more than two posts: ids starting with 0-7 and with 8-f
+    private static final UUID FIRST = UUID.fromString("10000000-0000-0000-0000-000000000000");
+    private static final UUID SECOND = UUID.fromString("20000000-0000-0000-0000-000000000000");
+    private static final UUID THIRD = UUID.fromString("c0000000-0000-0000-0000-000000000000");
+    private static final UUID FOURTH = UUID.fromString("f0000000-0000-0000-0000-000000000000");
+
+    @TempDir
+    Path cacheDir;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SitemapProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE posts (id UUID PRIMARY KEY, slug VARCHAR(350), status VARCHAR(255),"
+                + " deleted_at TIMESTAMP WITH TIME ZONE, updated_at TIMESTAMP WITH TIME ZONE)");
+        insert(FIRST, "first", "PUBLISHED");
+        insert(SECOND, "second", "PUBLISHED");
+        insert(THIRD, "third & more", "PUBLISHED");
+        insert(FOURTH, "fourth", "PUBLISHED");
+        insert(UUID.fromString("30000000-0000-0000-0000-000000000000"), "draft", "DRAFT");
+
+        properties = new SitemapProperties();
+        properties.setSiteUrl("https://blog.example");
+        properties.setBaseUrl("https://api.blog.example");
+        properties.setShardSize(2);
+        properties.setCacheDir(cacheDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void rendersShardedSitemapAndResumesFromSavedState() throws IOException {
+        SitemapGenerator generator = generator();
+
+        String index = Files.readString(generator.index());
+        assertTrue(index.contains("<loc>https://api.blog.example/sitemaps/sitemap-0.xml</loc>"
+                + "<lastmod>2024-01-01T00:00:00Z</lastmod>"));
+        assertTrue(index.contains("https://api.blog.example/sitemaps/sitemap-1.xml"));
+        assertTrue(generator.shard(2).isEmpty());
+
+        String first = Files.readString(generator.shard(0).orElseThrow());
+        String second = Files.readString(generator.shard(1).orElseThrow());
+        assertTrue(first.indexOf("https://blog.example/posts/first") < first.indexOf("/posts/second"));
+        assertFalse(first.contains("draft"));
+        assertTrue(second.contains("<loc>https://blog.example/posts/third &amp; more</loc>"));
+        assertTrue(second.contains("/posts/fourth"));
+
+        // A new instance picks up the saved state instead of rendering everything again
+        assertEquals(Set.of(), generator().refresh());
+    }
+
+    @Test
+    void leavesFilesUntouchedWhenNothingChanged() throws IOException {
+        SitemapGenerator generator = generator();
+        Path index = generator.index();
+        FileTime rendered = FileTime.fromMillis(1_000_000_000_000L);
+        Files.setLastModifiedTime(index, rendered);
+        Files.setLastModifiedTime(cacheDir.resolve(SitemapGenerator.STATE_FILE), rendered);
+
+        assertEquals(Set.of(), generator.refresh());
+
+        assertEquals(rendered, Files.getLastModifiedTime(index));
+        assertEquals(rendered, Files.getLastModifiedTime(cacheDir.resolve(SitemapGenerator.STATE_FILE)));
+    }
+
+    @Test
+    void rendersOnlyShardsWithChangedPosts() throws IOException {
+        SitemapGenerator generator = generator();
+        assertEquals(Set.of(0, 1), generator.refresh());
+
+        jdbcTemplate.update("UPDATE posts SET deleted_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP"
+                + " WHERE id = ?", FOURTH);
+
+        assertEquals(Set.of(1), generator.refresh());
+        assertFalse(Files.readString(generator.shard(1).orElseThrow()).contains("fourth"));
+        assertTrue(Files.readString(generator.shard(0).orElseThrow()).contains("first"));
+    }
+
+    private SitemapGenerator generator() {
+        return new SitemapGenerator(database, new DataSourceTransactionManager(database), properties);
+    }
+
+    private void insert(UUID id, String slug, String status) {
+        jdbcTemplate.update("INSERT INTO posts (id, slug, status, updated_at)"
+                + " VALUES (?, ?, ?, TIMESTAMP WITH TIME ZONE '2024-01-01 00:00:00+00')", id, slug, status);
+    }
+}
@@ -0,0 +1,80 @@
+package com.adepuu.blog.infrastructure.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    @Test
+    void returnsMatchesByScoreWithExactMatchFirst() {
+        PrefixIndex<String> index = PrefixIndex.of(List.of(
+                entry("Java", 5),
+                entry("JavaScript", 40),
+                entry("Jakarta", 10),
+                entry("Kotlin", 100)));
+
+        assertEquals(List.of("JavaScript", "Jakarta", "Java"), index.suggest("ja", 10));
+        assertEquals(List.of("Java", "JavaScript"), index.suggest("JAVA", 10));
+        assertEquals(List.of("JavaScript"), index.suggest("ja", 1));
+        assertEquals(List.of(), index.suggest("py", 10));
+        assertEquals(List.of(), index.suggest(" ", 10));
+    }
+
+    @Test
+    void updatesReturnNewIndexes() {
+        PrefixIndex<String> index = PrefixIndex.of(List.of(entry("spring", 1)));
+        PrefixIndex.Entry<String> boot = entry("spring-boot", 9);
+
+        PrefixIndex<String> added = index.with(boot);
+        PrefixIndex<String> renamed = added.with(new PrefixIndex.Entry<>(boot.id(), "boot", 9, "boot"));
+
+        assertEquals(List.of("spring"), index.suggest("spr", 10));
+        assertEquals(List.of("spring-boot", "spring"), added.suggest("spr", 10));
+        assertEquals(List.of("spring"), renamed.suggest("spr", 10));
+        assertEquals(List.of("boot"), renamed.suggest("b", 10));
+        assertEquals(9, renamed.scoreOf(boot.id()));
+        assertEquals(List.of("spring"), added.without(boot.id()).suggest("s", 10));
+    }
+
+    @Test
+    void matchesBruteForceTopK() {
+        Random random = new Random(42);
+        List<PrefixIndex.Entry<String>> entries = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder key = new StringBuilder();
+            int length = 1 + random.nextInt(6);
+            for (int c = 0; c < length; c++) {
+                key.append((char) ('a' + random.nextInt(3)));
+            }
+            entries.add(new PrefixIndex.Entry<>(UUID.randomUUID(), key.toString(), random.nextInt(50), key + "#" + i));
+        }
+        PrefixIndex<String> index = PrefixIndex.of(entries);
+
+        for (String prefix : List.of("a", "ab", "cab", "bbb")) {
+            List<Long> expected = entries.stream()
+                    .filter(e -> e.key().startsWith(prefix) && !e.key().equals(prefix))
+                    .map(PrefixIndex.Entry::score)
+                    .sorted(Comparator.reverseOrder())
+                    .limit(10)
+                    .toList();
+            List<Long> actual = index.suggest(prefix, 20).stream()
+                    .map(value -> entries.stream().filter(e -> e.value().equals(value)).findFirst().orElseThrow())
+                    .filter(e -> !e.key().equals(prefix))
+                    .map(PrefixIndex.Entry::score)
+                    .limit(10)
+                    .toList();
+            assertEquals(expected, actual, prefix);
+        }
+    }
+
+    private static PrefixIndex.Entry<String> entry(String key, long score) {
+        return new PrefixIndex.Entry<>(UUID.randomUUID(), key, score, key);
+    }
+}